@@ -10,6 +10,8 @@ import java.util.*;
 public class Main {
     private static final String TSP_DIR = "src/main/resources";
     private static final String OUTPUT_FILE = "results.txt";
+    // Semente das heurísticas aleatórias, para os resultados serem reprodutíveis
+    private static final long SEED = MultiStart.DEFAULT_SEED;
 
     @FunctionalInterface
     interface HeuristicRunner {
@@ -17,23 +19,50 @@ public class Main {
     }
 
     public static void main(String[] args) throws IOException {
+        // Grau do k-Opt (opcional, primeiro argumento): maior k, mais profundidade e mais tempo
+        int k = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+
         List<String> tspFiles = getTSPFiles();
         PrintWriter fileWriter = new PrintWriter(new FileWriter(OUTPUT_FILE, true));
 
-        Map<String, HeuristicRunner> constructiveHeuristics = Map.of(
-                "NearestNeighbor", NearestNeighbor::nearestNeighborTour,
-                "CheapestInsertion", CheapestInsertion::cheapestInsertion,
-                "FarthestInsertion", FarthestInsertion::farthestInsertion,
-                "RandomPathConstruction", RandomPathConstruction::randomPathTour,
-                "MinimumSpanningTreeHeuristic", MinimumSpanningTreeHeuristic::mstHeuristic
+        Map<String, HeuristicRunner> constructiveHeuristics = Map.ofEntries(
+                entry("NearestNeighbor", NearestNeighbor::nearestNeighborTour),
+                entry("MultiStartNearestNeighbor", NearestNeighbor::multiStartNearestNeighbor),
+                entry("CheapestInsertion", CheapestInsertion::cheapestInsertion),
+                entry("FarthestInsertion", FarthestInsertion::farthestInsertion),
+                entry("NearestInsertion", NearestInsertion::nearestInsertion),
+                entry("RandomInsertion", cities -> RandomInsertion.randomInsertion(cities, new Random(SEED))),
+                entry("RandomPathConstruction", cities -> RandomPathConstruction.randomPathTour(cities, new Random(SEED))),
+                entry("MinimumSpanningTreeHeuristic", MinimumSpanningTreeHeuristic::mstHeuristic),
+                entry("Christofides", Christofides::christofides),
+                entry("GreedyEdge", GreedyEdge::greedyEdge),
+                entry("SpaceFillingCurve", SpaceFillingCurve::hilbertTour),
+                entry("Savings", Savings::savings),
+                entry("ConvexHullInsertion", ConvexHullInsertion::convexHullInsertion),
+                entry("BitonicTour", BitonicTour::bitonicTour)
+        );
+
+        Map<String, HeuristicRunner> localSearchHeuristics = Map.ofEntries(
+                entry("Opt2", Opt2::twoOpt),
+                entry("Opt3", Opt3::opt3),
+                entry("OptOr", OptOr::orOpt),
+                entry("OptK", cities -> OptK.optK(cities, k)),
+                entry("Opt5", Opt5::opt5),
+                entry("Opt2Or", Opt2Or::opt2Or),
+                entry("EjectionChain", EjectionChain::ejectionChain),
+                entry("VND", VariableNeighborhoodDescent::vnd),
+                entry("LinKernighanHeuristic", LinKernighanHeuristic::linKernighan),
+                entry("IteratedLocalSearch", IteratedLocalSearch::ils),
+                entry("SimulatedAnnealing", SimulatedAnnealing::simulatedAnnealing),
+                entry("TabuSearch", TabuSearch::tabuSearch)
         );
 
-        Map<String, HeuristicRunner> localSearchHeuristics = Map.of(
-                "Opt2", Opt2::twoOpt,
-                "Opt3", Opt3::opt3,
-                "OptOr", OptOr::orOpt,
-                "OptK", cities -> OptK.optK(cities, 4),
-                "LinKernighanHeuristic", LinKernighanHeuristic::linKernighan
+        // Métodos completos (construção + pesquisa local próprias): correm uma vez por problema
+        Map<String, HeuristicRunner> drivers = Map.ofEntries(
+                entry("MultiStart", MultiStart::multiStart),
+                entry("IslandGeneticAlgorithm", IslandGeneticAlgorithm::islandGeneticAlgorithm),
+                entry("MaxMinAntSystem", MaxMinAntSystem::maxMinAntSystem),
+                entry("Grasp", Grasp::grasp)
         );
 
         for (String tsp : tspFiles) {
@@ -72,11 +101,28 @@ public class Main {
                             duration);
                 }
             }
+
+            for (Map.Entry<String, HeuristicRunner> entry : drivers.entrySet()) {
+                String methodName = entry.getKey();
+                HeuristicRunner driver = entry.getValue();
+
+                long start = System.currentTimeMillis();
+                List<City> solution = driver.run(new ArrayList<>(cities));
+                long duration = System.currentTimeMillis() - start;
+                double cost = Utils.calculatePathCost(solution);
+
+                System.out.printf("[%-30s] Solução: %.2f | Tempo: %d ms\n", methodName, cost, duration);
+                fileWriter.printf("[%-30s] Solução: %.2f | Tempo: %d ms\n", methodName, cost, duration);
+            }
         }
 
         fileWriter.close();
     }
 
+    private static Map.Entry<String, HeuristicRunner> entry(String name, HeuristicRunner runner) {
+        return Map.entry(name, runner);
+    }
+
     private static List<String> getTSPFiles() throws IOException {
         List<String> tspFiles = new ArrayList<>();
         try (DirectoryStream<Path> stream = Files.newDirectoryStream(Paths.get(TSP_DIR), "*.tsp")) {
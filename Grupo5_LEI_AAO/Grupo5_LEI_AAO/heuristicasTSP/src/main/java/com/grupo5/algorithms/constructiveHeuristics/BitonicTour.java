@@ -0,0 +1,143 @@
+package com.grupo5.algorithms.constructiveHeuristics;
+
+import com.grupo5.algorithms.utils.DistanceOracle;
+import com.grupo5.algorithms.utils.Utils;
+
+import java.util.*;
+
+import static com.grupo5.algorithms.utils.Utils.calculatePathCost;
+
+/**
+ * Constrói o tour bitónico ótimo para o Problema do Caixeiro Viajante (TSP).
+ *
+ * Um tour bitónico parte da cidade mais à esquerda, vai sempre para a direita até à cidade mais à
+ * direita e volta sempre para a esquerda. O melhor destes tours calcula-se exatamente por
+ * programação dinâmica em O(n²) depois de ordenar as cidades por x, e é um bom ponto de partida
+ * em instâncias alongadas (faixas), onde fica perto do ótimo.
+ *
+ * Sendo p[0..n-1] as cidades ordenadas e C[j] o custo mínimo de dois caminhos disjuntos que partem
+ * de p[0], cobrem p[0..j] e terminam em p[j-1] e p[j], tem-se
+ *   C[j] = min_{k &lt; j-1} ( C[k+1] + P[j-1] - P[k+1] + d(k, j) ),
+ * com P[t] o comprimento do caminho p[0], p[1], ..., p[t]. Como o custo dos caminhos em que
+ * p[j-1] e p[j] não são extremos se obtém de C e de P, basta uma linha de estado (O(n) memória)
+ * em vez da tabela O(n²) da formulação clássica.
+ */
+public class BitonicTour {
+
+    /**
+     * Constrói o tour bitónico ótimo.
+     *
+     * @param cities Lista de cidades a visitar.
+     * @return Tour resultante (ciclo fechado).
+     */
+    public static List<Utils.City> bitonicTour(List<Utils.City> cities) {
+        if (cities.isEmpty()) return Collections.emptyList();
+        int n = cities.size();
+        if (n <= 3) {
+            List<Utils.City> tour = new ArrayList<>(cities);
+            tour.add(cities.get(0));
+            return tour;
+        }
+
+        // Cidades ordenadas por x (e por y em caso de empate), em arrays primitivos
+        DistanceOracle dist = new DistanceOracle(cities);
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> dist.x(a) != dist.x(b)
+                ? Double.compare(dist.x(a), dist.x(b))
+                : Double.compare(dist.y(a), dist.y(b)));
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = dist.x(order[i]);
+            y[i] = dist.y(order[i]);
+        }
+
+        // P[t]: comprimento do caminho p[0..t]
+        double[] prefix = new double[n];
+        for (int t = 1; t < n; t++) {
+            prefix[t] = prefix[t - 1] + dist(x, y, t - 1, t);
+        }
+
+        // base[k] = C[k+1] - P[k+1], a parte de cada candidato que não depende de j
+        double[] best = new double[n];
+        double[] base = new double[n];
+        int[] choice = new int[n];
+        best[1] = prefix[1];
+        base[0] = best[1] - prefix[1];
+        for (int j = 2; j < n; j++) {
+            double min = Double.POSITIVE_INFINITY;
+            int arg = 0;
+            double xj = x[j], yj = y[j];
+            for (int k = 0; k < j - 1; k++) {
+                double dx = x[k] - xj;
+                double dy = y[k] - yj;
+                double cost = base[k] + Math.sqrt(dx * dx + dy * dy);
+                if (cost < min) {
+                    min = cost;
+                    arg = k;
+                }
+            }
+            best[j] = min + prefix[j - 1];
+            choice[j] = arg;
+            base[j - 1] = best[j] - prefix[j];
+        }
+
+        // Reconstrução: cada cidade fica no caminho de ida (true) ou no de volta (false)
+        boolean[] outward = new boolean[n];
+        boolean side = true; // lado de p[j]; p[j-1] está no outro
+        int j = n - 1;
+        while (j > 1) {
+            int k = choice[j];
+            outward[j] = side;
+            for (int t = k + 1; t < j; t++) outward[t] = !side;
+            outward[k] = side;
+            // Novo estado C[k+1]: p[k+1] está do lado oposto e p[k] do lado de p[j]
+            side = !side;
+            j = k + 1;
+        }
+
+        List<Utils.City> tour = new ArrayList<>(n + 1);
+        tour.add(cities.get(order[0]));
+        for (int i = 1; i < n - 1; i++) {
+            if (outward[i]) tour.add(cities.get(order[i]));
+        }
+        tour.add(cities.get(order[n - 1]));
+        for (int i = n - 2; i >= 1; i--) {
+            if (!outward[i]) tour.add(cities.get(order[i]));
+        }
+        tour.add(cities.get(order[0]));
+        return tour;
+    }
+
+    private static double dist(double[] x, double[] y, int a, int b) {
+        double dx = x[a] - x[b];
+        double dy = y[a] - y[b];
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * Executa a heurística com base num ficheiro .tsp e imprime o resultado.
+     *
+     * @param args Argumentos da linha de comandos (não utilizados).
+     */
+    public static void main(String[] args) {
+        List<Utils.City> cities = Utils.readTSPFile("src/main/resources/a280.tsp");
+
+        if (cities.isEmpty()) {
+            System.out.println("Nenhuma cidade encontrada no ficheiro.");
+            return;
+        }
+
+        List<Utils.City> tour = bitonicTour(cities);
+
+        System.out.println("Tour bitónico ótimo:");
+        for (Utils.City city : tour) {
+            System.out.print(city + " ");
+        }
+        System.out.println();
+
+        double cost = calculatePathCost(tour);
+        System.out.println("Custo total do tour: " + cost);
+    }
+}
@@ -0,0 +1,628 @@
+package com.grupo5.algorithms.constructiveHeuristics;
+
+import com.grupo5.algorithms.utils.DistanceOracle;
+
+import java.util.Arrays;
+
+/**
+ * Emparelhamento perfeito de custo mínimo num grafo completo (algoritmo blossom de Edmonds, na
+ * formulação primal-dual de Galil, O(m³)), usado por {@link Christofides}.
+ *
+ * O custo mínimo obtém-se como emparelhamento de cardinalidade máxima e peso máximo com pesos
+ * w(i, j) = D - d(i, j), onde D é a maior distância. Os pesos são inteiros (as distâncias são
+ * escaladas para {@link #RESOLUTION} unidades da maior delas), para que as comparações das folgas
+ * com zero sejam exatas; as variáveis duais guardam o dobro do seu valor, como é habitual nesta
+ * formulação, e mantêm-se inteiras.
+ *
+ * Os vértices são 0..m-1 e as arestas k = (i, j) de todos os pares i &lt; j; a extremidade p de uma
+ * aresta é 2k (i) ou 2k + 1 (j), e p ^ 1 é a outra. Os blossoms têm índices m..2m-1. Os pesos e as
+ * arestas já utilizáveis guardam-se também em matrizes m × m, para que a análise das arestas de um
+ * vértice, que domina o tempo de execução, percorra a memória por ordem.
+ */
+final class BlossomMatching {
+
+    /** Número de unidades inteiras em que se divide a maior distância. */
+    private static final double RESOLUTION = 1e9;
+
+    private final int m;
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+    private final long[] weight;
+    private final int[] endpoint;
+
+    private final int[] mate;
+    private final int[] label;
+    private final int[] labelEnd;
+    private final int[] inBlossom;
+    private final int[] blossomParent;
+    private final int[][] blossomChildren;
+    private final int[][] blossomEnds;
+    private final int[] blossomBase;
+    private final int[] bestEdge;
+    private final int[][] blossomBestEdges;
+    private final int[] unusedBlossoms;
+    private int unusedCount;
+    private final long[] dual;
+    private final boolean[] allowed;
+    private final int[] queue;
+    private int queueSize;
+    private final int[] leaves;
+
+    // Espaço de trabalho de scanBlossom e addBlossom (bestTo fica a -1 entre chamadas)
+    private final int[] path;
+    private final int[] pathEnds;
+    private final int[] bestTo;
+
+    private BlossomMatching(DistanceOracle dist) {
+        m = dist.size();
+        int edges = m * (m - 1) / 2;
+        edgeFrom = new int[edges];
+        edgeTo = new int[edges];
+        weight = new long[m * m];
+
+        double maxDist = 0;
+        for (int i = 0; i < m; i++) {
+            for (int j = i + 1; j < m; j++) {
+                maxDist = Math.max(maxDist, dist.dist(i, j));
+            }
+        }
+        double scale = maxDist > 0 ? RESOLUTION / maxDist : 1;
+        long maxWeight = 0;
+        endpoint = new int[2 * edges];
+        for (int i = 0, k = 0; i < m; i++) {
+            for (int j = i + 1; j < m; j++, k++) {
+                edgeFrom[k] = i;
+                edgeTo[k] = j;
+                endpoint[2 * k] = i;
+                endpoint[2 * k + 1] = j;
+                long w = (long) RESOLUTION - Math.round(dist.dist(i, j) * scale);
+                weight[i * m + j] = w;
+                weight[j * m + i] = w;
+                maxWeight = Math.max(maxWeight, w);
+            }
+        }
+
+        mate = new int[m];
+        Arrays.fill(mate, -1);
+        label = new int[2 * m];
+        labelEnd = new int[2 * m];
+        Arrays.fill(labelEnd, -1);
+        inBlossom = new int[m];
+        blossomParent = new int[2 * m];
+        Arrays.fill(blossomParent, -1);
+        blossomChildren = new int[2 * m][];
+        blossomEnds = new int[2 * m][];
+        blossomBase = new int[2 * m];
+        Arrays.fill(blossomBase, -1);
+        bestEdge = new int[2 * m];
+        blossomBestEdges = new int[2 * m][];
+        unusedBlossoms = new int[m];
+        dual = new long[2 * m];
+        for (int v = 0; v < m; v++) {
+            inBlossom[v] = v;
+            blossomBase[v] = v;
+            unusedBlossoms[unusedCount++] = m + v;
+            dual[v] = maxWeight;
+        }
+        allowed = new boolean[m * m];
+        queue = new int[m];
+        leaves = new int[m];
+        path = new int[2 * m];
+        pathEnds = new int[2 * m];
+        bestTo = new int[2 * m];
+        Arrays.fill(bestTo, -1);
+    }
+
+    /**
+     * Emparelhamento perfeito de custo mínimo entre os pontos do oráculo.
+     *
+     * @param dist Oráculo de distâncias (número par de pontos).
+     * @return mate[i] = ponto emparelhado com i.
+     */
+    static int[] minimumPerfectMatching(DistanceOracle dist) {
+        if (dist.size() == 0) return new int[0];
+        BlossomMatching matching = new BlossomMatching(dist);
+        matching.solve();
+        int[] result = new int[matching.m];
+        for (int v = 0; v < matching.m; v++) {
+            result[v] = matching.endpoint[matching.mate[v]];
+        }
+        return result;
+    }
+
+    /** Folga da aresta k (o dobro da folga dual). */
+    private long slack(int k) {
+        int i = edgeFrom[k], j = edgeTo[k];
+        return dual[i] + dual[j] - 2 * weight[i * m + j];
+    }
+
+    /**
+     * @return Extremidade de w na aresta (v, w).
+     */
+    private int endOf(int v, int w) {
+        int i = Math.min(v, w), j = Math.max(v, w);
+        int k = i * (2 * m - i - 1) / 2 + (j - i - 1);
+        return w == j ? 2 * k + 1 : 2 * k;
+    }
+
+    private void allow(int k) {
+        int i = edgeFrom[k], j = edgeTo[k];
+        allowed[i * m + j] = true;
+        allowed[j * m + i] = true;
+    }
+
+    /**
+     * Vértices contidos no blossom b, guardados em {@link #leaves}.
+     *
+     * @return Número de vértices.
+     */
+    private int leaves(int b) {
+        return collectLeaves(b, 0);
+    }
+
+    private int collectLeaves(int b, int count) {
+        if (b < m) {
+            leaves[count++] = b;
+        } else {
+            for (int child : blossomChildren[b]) {
+                count = collectLeaves(child, count);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Marca w (e o seu blossom de topo) com t (1 = S, 2 = T), alcançado pela extremidade p.
+     */
+    private void assignLabel(int w, int t, int p) {
+        int b = inBlossom[w];
+        label[w] = label[b] = t;
+        labelEnd[w] = labelEnd[b] = p;
+        bestEdge[w] = bestEdge[b] = -1;
+        if (t == 1) {
+            int count = leaves(b);
+            for (int i = 0; i < count; i++) {
+                queue[queueSize++] = leaves[i];
+            }
+        } else {
+            int base = blossomBase[b];
+            assignLabel(endpoint[mate[base]], 1, mate[base] ^ 1);
+        }
+    }
+
+    /**
+     * Sobe pelas árvores alternantes a partir de v e de w.
+     *
+     * @return Base do novo blossom, ou -1 se os caminhos chegarem a raízes diferentes (caminho de aumento).
+     */
+    private int scanBlossom(int v, int w) {
+        int pathSize = 0;
+        int base = -1;
+        while (v != -1 || w != -1) {
+            int b = inBlossom[v];
+            if ((label[b] & 4) != 0) {
+                base = blossomBase[b];
+                break;
+            }
+            path[pathSize++] = b;
+            label[b] = 5;
+            if (labelEnd[b] == -1) {
+                v = -1;
+            } else {
+                v = endpoint[labelEnd[b]];
+                b = inBlossom[v];
+                v = endpoint[labelEnd[b]];
+            }
+            if (w != -1) {
+                int t = v;
+                v = w;
+                w = t;
+            }
+        }
+        for (int i = 0; i < pathSize; i++) {
+            label[path[i]] = 1;
+        }
+        return base;
+    }
+
+    /**
+     * Cria um blossom com base base, fechado pela aresta k entre dois vértices S.
+     */
+    private void addBlossom(int base, int k) {
+        int v = edgeFrom[k], w = edgeTo[k];
+        int bb = inBlossom[base];
+        int bv = inBlossom[v];
+        int bw = inBlossom[w];
+        int b = unusedBlossoms[--unusedCount];
+        blossomBase[b] = base;
+        blossomParent[b] = -1;
+        blossomParent[bb] = b;
+
+        // Filhos pela ordem do ciclo, a começar na base, e as extremidades que os ligam
+        int[] ends = pathEnds;
+        int size = 0;
+        while (bv != bb) {
+            blossomParent[bv] = b;
+            path[size] = bv;
+            ends[size] = labelEnd[bv];
+            size++;
+            bv = inBlossom[endpoint[labelEnd[bv]]];
+        }
+        path[size++] = bb;
+        reverse(path, size);
+        reverse(ends, size - 1);
+        ends[size - 1] = 2 * k;
+        while (bw != bb) {
+            blossomParent[bw] = b;
+            path[size] = bw;
+            ends[size] = labelEnd[bw] ^ 1;
+            size++;
+            bw = inBlossom[endpoint[labelEnd[bw]]];
+        }
+        blossomChildren[b] = Arrays.copyOf(path, size);
+        blossomEnds[b] = Arrays.copyOf(ends, size);
+
+        label[b] = 1;
+        labelEnd[b] = labelEnd[bb];
+        dual[b] = 0;
+        int count = leaves(b);
+        for (int i = 0; i < count; i++) {
+            int leaf = leaves[i];
+            if (label[inBlossom[leaf]] == 2) queue[queueSize++] = leaf;
+            inBlossom[leaf] = b;
+        }
+
+        // Melhor aresta do novo blossom para cada blossom S vizinho
+        for (int c = 0; c < size; c++) {
+            int child = blossomChildren[b][c];
+            if (blossomBestEdges[child] == null) {
+                int childLeaves = leaves(child);
+                for (int i = 0; i < childLeaves; i++) {
+                    for (int x = 0; x < m; x++) {
+                        if (x != leaves[i]) considerBestEdge(b, endOf(leaves[i], x) >> 1);
+                    }
+                }
+            } else {
+                for (int e : blossomBestEdges[child]) {
+                    considerBestEdge(b, e);
+                }
+            }
+            blossomBestEdges[child] = null;
+            bestEdge[child] = -1;
+        }
+        int bestCount = 0;
+        for (int e : bestTo) {
+            if (e != -1) bestCount++;
+        }
+        int[] best = new int[bestCount];
+        bestCount = 0;
+        bestEdge[b] = -1;
+        for (int bj = 0; bj < bestTo.length; bj++) {
+            int e = bestTo[bj];
+            if (e == -1) continue;
+            bestTo[bj] = -1;
+            best[bestCount++] = e;
+            if (bestEdge[b] == -1 || slack(e) < slack(bestEdge[b])) bestEdge[b] = e;
+        }
+        blossomBestEdges[b] = best;
+    }
+
+    private void considerBestEdge(int b, int k) {
+        int j = inBlossom[edgeTo[k]] == b ? edgeFrom[k] : edgeTo[k];
+        int bj = inBlossom[j];
+        if (bj != b && label[bj] == 1 && (bestTo[bj] == -1 || slack(k) < slack(bestTo[bj]))) {
+            bestTo[bj] = k;
+        }
+    }
+
+    /**
+     * Desfaz o blossom b; a meio de uma fase (endStage = false) reetiqueta os filhos de um blossom T.
+     */
+    private void expandBlossom(int b, boolean endStage) {
+        int[] children = blossomChildren[b];
+        for (int s : children) {
+            blossomParent[s] = -1;
+            if (s < m) {
+                inBlossom[s] = s;
+            } else if (endStage && dual[s] == 0) {
+                expandBlossom(s, true);
+            } else {
+                int count = leaves(s);
+                for (int i = 0; i < count; i++) {
+                    inBlossom[leaves[i]] = s;
+                }
+            }
+        }
+
+        if (!endStage && label[b] == 2) {
+            int[] ends = blossomEnds[b];
+            int length = children.length;
+            int entryChild = inBlossom[endpoint[labelEnd[b] ^ 1]];
+            int j = indexOf(children, entryChild);
+            int jStep, endTrick;
+            if ((j & 1) != 0) {
+                j -= length;
+                jStep = 1;
+                endTrick = 0;
+            } else {
+                jStep = -1;
+                endTrick = 1;
+            }
+            // Reetiqueta os filhos no caminho par de entryChild até à base
+            int p = labelEnd[b];
+            while (j != 0) {
+                label[endpoint[p ^ 1]] = 0;
+                label[endpoint[ends[Math.floorMod(j - endTrick, length)] ^ endTrick ^ 1]] = 0;
+                assignLabel(endpoint[p ^ 1], 2, p);
+                allow(ends[Math.floorMod(j - endTrick, length)] >> 1);
+                j += jStep;
+                p = ends[Math.floorMod(j - endTrick, length)] ^ endTrick;
+                allow(p >> 1);
+                j += jStep;
+            }
+            int bv = children[Math.floorMod(j, length)];
+            label[endpoint[p ^ 1]] = label[bv] = 2;
+            labelEnd[endpoint[p ^ 1]] = labelEnd[bv] = p;
+            bestEdge[bv] = -1;
+            // Os restantes filhos só ficam etiquetados se um dos seus vértices já foi alcançado
+            j += jStep;
+            while (children[Math.floorMod(j, length)] != entryChild) {
+                bv = children[Math.floorMod(j, length)];
+                if (label[bv] == 1) {
+                    j += jStep;
+                    continue;
+                }
+                int count = leaves(bv);
+                int reached = -1;
+                for (int i = 0; i < count && reached < 0; i++) {
+                    if (label[leaves[i]] != 0) reached = leaves[i];
+                }
+                if (reached >= 0) {
+                    label[reached] = 0;
+                    label[endpoint[mate[blossomBase[bv]]]] = 0;
+                    assignLabel(reached, 2, labelEnd[reached]);
+                }
+                j += jStep;
+            }
+        }
+
+        label[b] = -1;
+        labelEnd[b] = -1;
+        blossomChildren[b] = null;
+        blossomEnds[b] = null;
+        blossomBase[b] = -1;
+        blossomBestEdges[b] = null;
+        bestEdge[b] = -1;
+        unusedBlossoms[unusedCount++] = b;
+    }
+
+    /**
+     * Troca as arestas do emparelhamento no caminho par, dentro do blossom b, entre o vértice v e
+     * a base, que passa a ser v.
+     */
+    private void augmentBlossom(int b, int v) {
+        int t = v;
+        while (blossomParent[t] != b) {
+            t = blossomParent[t];
+        }
+        if (t >= m) augmentBlossom(t, v);
+
+        int[] children = blossomChildren[b];
+        int[] ends = blossomEnds[b];
+        int length = children.length;
+        int i = indexOf(children, t);
+        int j = i;
+        int jStep, endTrick;
+        if ((i & 1) != 0) {
+            j -= length;
+            jStep = 1;
+            endTrick = 0;
+        } else {
+            jStep = -1;
+            endTrick = 1;
+        }
+        while (j != 0) {
+            j += jStep;
+            t = children[Math.floorMod(j, length)];
+            int p = ends[Math.floorMod(j - endTrick, length)] ^ endTrick;
+            if (t >= m) augmentBlossom(t, endpoint[p]);
+            j += jStep;
+            t = children[Math.floorMod(j, length)];
+            if (t >= m) augmentBlossom(t, endpoint[p ^ 1]);
+            mate[endpoint[p]] = p ^ 1;
+            mate[endpoint[p ^ 1]] = p;
+        }
+        blossomChildren[b] = rotate(children, i);
+        blossomEnds[b] = rotate(ends, i);
+        blossomBase[b] = blossomBase[blossomChildren[b][0]];
+    }
+
+    /**
+     * Aumenta o emparelhamento pelo caminho que passa pela aresta k (entre dois vértices S).
+     */
+    private void augmentMatching(int k) {
+        for (int side = 0; side < 2; side++) {
+            int s = side == 0 ? edgeFrom[k] : edgeTo[k];
+            int p = side == 0 ? 2 * k + 1 : 2 * k;
+            while (true) {
+                int bs = inBlossom[s];
+                if (bs >= m) augmentBlossom(bs, s);
+                mate[s] = p;
+                if (labelEnd[bs] == -1) break; // chegou à raiz da árvore
+                int t = endpoint[labelEnd[bs]];
+                int bt = inBlossom[t];
+                s = endpoint[labelEnd[bt]];
+                int j = endpoint[labelEnd[bt] ^ 1];
+                if (bt >= m) augmentBlossom(bt, j);
+                mate[j] = labelEnd[bt];
+                p = labelEnd[bt] ^ 1;
+            }
+        }
+    }
+
+    /**
+     * Fases do algoritmo: cada uma aumenta o emparelhamento numa aresta, até ser perfeito.
+     */
+    private void solve() {
+        for (int stage = 0; stage < m; stage++) {
+            Arrays.fill(label, 0);
+            Arrays.fill(bestEdge, -1);
+            for (int b = m; b < 2 * m; b++) {
+                blossomBestEdges[b] = null;
+            }
+            Arrays.fill(allowed, false);
+            queueSize = 0;
+            for (int v = 0; v < m; v++) {
+                if (mate[v] == -1 && label[inBlossom[v]] == 0) assignLabel(v, 1, -1);
+            }
+
+            boolean augmented = false;
+            while (true) {
+                while (queueSize > 0 && !augmented) {
+                    int v = queue[--queueSize];
+                    int row = v * m;
+                    for (int w = 0; w < m; w++) {
+                        if (w == v || inBlossom[v] == inBlossom[w]) continue;
+                        long kSlack = 0;
+                        if (!allowed[row + w]) {
+                            kSlack = dual[v] + dual[w] - 2 * weight[row + w];
+                            if (kSlack <= 0) {
+                                allowed[row + w] = true;
+                                allowed[w * m + v] = true;
+                            }
+                        }
+                        int p = endOf(v, w);
+                        int k = p >> 1;
+                        if (allowed[row + w]) {
+                            if (label[inBlossom[w]] == 0) {
+                                assignLabel(w, 2, p ^ 1);
+                            } else if (label[inBlossom[w]] == 1) {
+                                int base = scanBlossom(v, w);
+                                if (base >= 0) {
+                                    addBlossom(base, k);
+                                } else {
+                                    augmentMatching(k);
+                                    augmented = true;
+                                    break;
+                                }
+                            } else if (label[w] == 0) {
+                                label[w] = 2;
+                                labelEnd[w] = p ^ 1;
+                            }
+                        } else if (label[inBlossom[w]] == 1) {
+                            int b = inBlossom[v];
+                            if (bestEdge[b] == -1 || kSlack < slack(bestEdge[b])) bestEdge[b] = k;
+                        } else if (label[w] == 0) {
+                            if (bestEdge[w] == -1 || kSlack < slack(bestEdge[w])) bestEdge[w] = k;
+                        }
+                    }
+                }
+                if (augmented) break;
+
+                // Sem arestas apertadas utilizáveis: ajusta as variáveis duais
+                int deltaType = -1;
+                long delta = 0;
+                int deltaEdge = -1, deltaBlossom = -1;
+                for (int v = 0; v < m; v++) {
+                    if (label[inBlossom[v]] == 0 && bestEdge[v] != -1) {
+                        long d = slack(bestEdge[v]);
+                        if (deltaType == -1 || d < delta) {
+                            delta = d;
+                            deltaType = 2;
+                            deltaEdge = bestEdge[v];
+                        }
+                    }
+                }
+                for (int b = 0; b < 2 * m; b++) {
+                    if (blossomParent[b] == -1 && label[b] == 1 && bestEdge[b] != -1) {
+                        long d = slack(bestEdge[b]) / 2;
+                        if (deltaType == -1 || d < delta) {
+                            delta = d;
+                            deltaType = 3;
+                            deltaEdge = bestEdge[b];
+                        }
+                    }
+                }
+                for (int b = m; b < 2 * m; b++) {
+                    if (blossomBase[b] >= 0 && blossomParent[b] == -1 && label[b] == 2
+                            && (deltaType == -1 || dual[b] < delta)) {
+                        delta = dual[b];
+                        deltaType = 4;
+                        deltaBlossom = b;
+                    }
+                }
+                if (deltaType == -1) {
+                    // Nenhum aumento possível: o emparelhamento já tem cardinalidade máxima
+                    deltaType = 1;
+                    delta = Long.MAX_VALUE;
+                    for (int v = 0; v < m; v++) {
+                        delta = Math.min(delta, dual[v]);
+                    }
+                    delta = Math.max(0, delta);
+                }
+
+                for (int v = 0; v < m; v++) {
+                    if (label[inBlossom[v]] == 1) {
+                        dual[v] -= delta;
+                    } else if (label[inBlossom[v]] == 2) {
+                        dual[v] += delta;
+                    }
+                }
+                for (int b = m; b < 2 * m; b++) {
+                    if (blossomBase[b] >= 0 && blossomParent[b] == -1) {
+                        if (label[b] == 1) {
+                            dual[b] += delta;
+                        } else if (label[b] == 2) {
+                            dual[b] -= delta;
+                        }
+                    }
+                }
+
+                if (deltaType == 1) {
+                    break;
+                } else if (deltaType == 2) {
+                    allow(deltaEdge);
+                    int i = edgeFrom[deltaEdge];
+                    if (label[inBlossom[i]] == 0) i = edgeTo[deltaEdge];
+                    queue[queueSize++] = i;
+                } else if (deltaType == 3) {
+                    allow(deltaEdge);
+                    queue[queueSize++] = edgeFrom[deltaEdge];
+                } else {
+                    expandBlossom(deltaBlossom, false);
+                }
+            }
+            if (!augmented) break;
+
+            // Fim da fase: desfaz os blossoms S de variável dual nula
+            for (int b = m; b < 2 * m; b++) {
+                if (blossomParent[b] == -1 && blossomBase[b] >= 0 && label[b] == 1 && dual[b] == 0) {
+                    expandBlossom(b, true);
+                }
+            }
+        }
+    }
+
+    private static int indexOf(int[] values, int value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value) return i;
+        }
+        return -1;
+    }
+
+    private static void reverse(int[] values, int length) {
+        for (int i = 0, j = length - 1; i < j; i++, j--) {
+            int t = values[i];
+            values[i] = values[j];
+            values[j] = t;
+        }
+    }
+
+    private static int[] rotate(int[] values, int start) {
+        int[] rotated = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            rotated[i] = values[(start + i) % values.length];
+        }
+        return rotated;
+    }
+}
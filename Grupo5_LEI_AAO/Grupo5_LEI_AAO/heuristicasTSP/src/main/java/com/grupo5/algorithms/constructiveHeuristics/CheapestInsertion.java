@@ -26,61 +26,7 @@ public class CheapestInsertion {
      * @return Lista de cidades representando o tour (ciclo fechado).
      */
     public static List<Utils.City> cheapestInsertion(List<Utils.City> cities) {
-        if (cities.isEmpty()) return Collections.emptyList();
-
-        // Passo 1: Selecionar a cidade inicial (a primeira da lista)
-        Utils.City start = cities.get(0);
-
-        // Passo 2: Encontrar a cidade mais distante da cidade inicial
-        Utils.City farthest = null;
-        double maxDist = -1;
-        for (Utils.City city : cities) {
-            if (city == start) continue;
-            double d = start.distanceTo(city);
-            if (d > maxDist) {
-                maxDist = d;
-                farthest = city;
-            }
-        }
-
-        // Passo 3: Inicializar o tour com duas cidades: start -> farthest -> start
-        List<Utils.City> tour = new ArrayList<>();
-        tour.add(start);
-        tour.add(farthest);
-        tour.add(start); // fecha o ciclo
-
-        // Passo 4: Cidades por visitar (todas menos as já inseridas)
-        Set<Utils.City> unvisited = new HashSet<>(cities);
-        unvisited.remove(start);
-        unvisited.remove(farthest);
-
-        // Passo 5: Enquanto houver cidades por inserir
-        while (!unvisited.isEmpty()) {
-            Utils.City bestCity = null;
-            int bestInsertIndex = -1;
-            double minIncrease = Double.POSITIVE_INFINITY;
-
-            // Para cada cidade não inserida, calcular o aumento de custo em cada posição possível do tour
-            for (Utils.City city : unvisited) {
-                for (int i = 0; i < tour.size() - 1; i++) {
-                    Utils.City current = tour.get(i);
-                    Utils.City next = tour.get(i + 1);
-                    double increase = current.distanceTo(city) + city.distanceTo(next) - current.distanceTo(next);
-                    if (increase < minIncrease) {
-                        minIncrease = increase;
-                        bestCity = city;
-                        bestInsertIndex = i + 1;
-                    }
-                }
-            }
-
-            // Inserir a cidade na posição ótima encontrada
-            tour.add(bestInsertIndex, bestCity);
-            unvisited.remove(bestCity);
-        }
-
-        // Tour finalizado (ciclo fechado)
-        return tour;
+        return InsertionEngine.build(cities, InsertionEngine.Policy.CHEAPEST, null);
     }
 
     /**
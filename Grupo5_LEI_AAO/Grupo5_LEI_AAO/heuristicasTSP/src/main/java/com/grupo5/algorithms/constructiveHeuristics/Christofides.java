@@ -0,0 +1,278 @@
+package com.grupo5.algorithms.constructiveHeuristics;
+
+import com.grupo5.algorithms.utils.CandidateLists;
+import com.grupo5.algorithms.utils.DistanceOracle;
+import com.grupo5.algorithms.utils.DontLookBits;
+import com.grupo5.algorithms.utils.SpanningTree;
+import com.grupo5.algorithms.utils.Utils;
+
+import java.util.*;
+
+import static com.grupo5.algorithms.utils.Utils.calculatePathCost;
+
+/**
+ * Implementa a heurística construtiva de Christofides para o Problema do Caixeiro Viajante (TSP).
+ *
+ * 1. Constrói a Árvore Geradora Mínima (ver {@link SpanningTree}).
+ * 2. Emparelha as cidades de grau ímpar na árvore (há sempre um número par delas).
+ * 3. A árvore mais o emparelhamento formam um multigrafo em que todos os graus são pares,
+ *    logo tem um circuito Euleriano, que se constrói com o algoritmo de Hierholzer.
+ * 4. O circuito é encurtado saltando as cidades já visitadas.
+ *
+ * Até {@link #EXACT_MATCHING_LIMIT} cidades ímpares, o emparelhamento é perfeito de custo mínimo
+ * ({@link BlossomMatching}, O(m³)), o que dá a garantia de 1,5 × ótimo. Acima disso usa-se um
+ * emparelhamento guloso (pares de candidatos por ordem crescente de distância) seguido de melhoria
+ * local: para dois pares (a, b) e (c, d), troca-se para (a, c) e (b, d) se a soma baixar. Fica perto
+ * do ótimo na prática e escala para instâncias grandes, mas perde a garantia.
+ */
+public class Christofides {
+
+    /** Número máximo de cidades ímpares para o emparelhamento exato. */
+    private static final int EXACT_MATCHING_LIMIT = 400;
+
+    /** Número de candidatos por cidade ímpar usados no emparelhamento guloso. */
+    private static final int MATCHING_K = 10;
+
+    /** Tolerância numérica para considerar um ganho positivo. */
+    private static final double EPS = 1e-9;
+
+    /**
+     * Executa a heurística de Christofides sobre uma lista de cidades.
+     *
+     * @param cities Lista de cidades a visitar.
+     * @return Tour resultante (ciclo fechado).
+     */
+    public static List<Utils.City> christofides(List<Utils.City> cities) {
+        if (cities.isEmpty()) return Collections.emptyList();
+        int n = cities.size();
+        if (n <= 3) {
+            List<Utils.City> tour = new ArrayList<>(cities);
+            tour.add(cities.get(0));
+            return tour;
+        }
+
+        DistanceOracle dist = new DistanceOracle(cities);
+        SpanningTree mst = SpanningTree.build(dist);
+
+        // Cidades de grau ímpar na árvore
+        int oddCount = 0;
+        int[] odd = new int[n];
+        for (int v = 0; v < n; v++) {
+            if ((mst.degree(v) & 1) == 1) odd[oddCount++] = v;
+        }
+        odd = Arrays.copyOf(odd, oddCount);
+        int[] mate = match(cities, odd);
+
+        // Multigrafo: arestas da árvore seguidas das arestas do emparelhamento
+        int treeEdges = mst.edgeCount();
+        int edges = treeEdges + oddCount / 2;
+        int[] from = new int[edges];
+        int[] to = new int[edges];
+        for (int e = 0; e < treeEdges; e++) {
+            from[e] = mst.from(e);
+            to[e] = mst.to(e);
+        }
+        int e = treeEdges;
+        for (int i = 0; i < oddCount; i++) {
+            if (i < mate[i]) {
+                from[e] = odd[i];
+                to[e] = odd[mate[i]];
+                e++;
+            }
+        }
+
+        int[] circuit = eulerCircuit(n, from, to, 0);
+
+        // Encurta o circuito: cada cidade entra no tour na primeira vez que aparece
+        boolean[] visited = new boolean[n];
+        List<Utils.City> tour = new ArrayList<>(n + 1);
+        for (int v : circuit) {
+            if (visited[v]) continue;
+            visited[v] = true;
+            tour.add(cities.get(v));
+        }
+        tour.add(tour.get(0));
+        return tour;
+    }
+
+    /**
+     * Emparelhamento perfeito das cidades ímpares: de custo mínimo até {@link #EXACT_MATCHING_LIMIT}
+     * cidades; acima disso, guloso sobre as listas de candidatos e depois melhorado com trocas entre pares.
+     *
+     * @param cities Todas as cidades.
+     * @param odd    Índices das cidades a emparelhar (número par).
+     * @return mate[i] = posição em odd da cidade emparelhada com odd[i].
+     */
+    private static int[] match(List<Utils.City> cities, int[] odd) {
+        int m = odd.length;
+        int[] mate = new int[m];
+        Arrays.fill(mate, -1);
+        if (m == 0) return mate;
+
+        List<Utils.City> oddCities = new ArrayList<>(m);
+        for (int v : odd) oddCities.add(cities.get(v));
+        DistanceOracle dist = new DistanceOracle(oddCities);
+        if (m <= EXACT_MATCHING_LIMIT) return BlossomMatching.minimumPerfectMatching(dist);
+
+        int[][] neighbors = CandidateLists.build(dist, MATCHING_K);
+
+        // Pares candidatos (i < j) por ordem crescente de distância
+        int pairs = 0;
+        long[] pairKeys = new long[m * MATCHING_K];
+        double[] pairDist = new double[m * MATCHING_K];
+        for (int i = 0; i < m; i++) {
+            for (int j : neighbors[i]) {
+                if (i < j) {
+                    pairKeys[pairs] = ((long) i << 32) | j;
+                    pairDist[pairs] = dist.dist(i, j);
+                    pairs++;
+                }
+            }
+        }
+        Integer[] byDist = new Integer[pairs];
+        for (int p = 0; p < pairs; p++) byDist[p] = p;
+        final double[] keyDist = pairDist;
+        Arrays.sort(byDist, (p, q) -> Double.compare(keyDist[p], keyDist[q]));
+
+        for (int p : byDist) {
+            int i = (int) (pairKeys[p] >>> 32);
+            int j = (int) pairKeys[p];
+            if (mate[i] < 0 && mate[j] < 0) {
+                mate[i] = j;
+                mate[j] = i;
+            }
+        }
+
+        // Cidades cujos candidatos já estão todos emparelhados: emparelhamento guloso entre elas
+        int[] left = new int[m];
+        int leftCount = 0;
+        for (int i = 0; i < m; i++) {
+            if (mate[i] < 0) left[leftCount++] = i;
+        }
+        for (int a = 0; a < leftCount; a++) {
+            int i = left[a];
+            if (mate[i] >= 0) continue;
+            int best = -1;
+            double bestD = Double.POSITIVE_INFINITY;
+            for (int b = a + 1; b < leftCount; b++) {
+                int j = left[b];
+                if (mate[j] >= 0) continue;
+                double d = dist.dist(i, j);
+                if (d < bestD) {
+                    bestD = d;
+                    best = j;
+                }
+            }
+            mate[i] = best;
+            mate[best] = i;
+        }
+
+        improveMatching(dist, neighbors, mate);
+        return mate;
+    }
+
+    /**
+     * Melhoria local do emparelhamento: para cada cidade a (emparelhada com b) e cada candidato c
+     * (emparelhado com d), troca (a, b), (c, d) por (a, c), (b, d) se o custo baixar.
+     * As cidades tocadas por uma troca voltam a ser analisadas.
+     */
+    private static void improveMatching(DistanceOracle dist, int[][] neighbors, int[] mate) {
+        DontLookBits active = DontLookBits.allActive(mate.length);
+        while (!active.isEmpty()) {
+            int a = active.pop();
+            int b = mate[a];
+            double ab = dist.dist(a, b);
+            for (int c : neighbors[a]) {
+                double ac = dist.dist(a, c);
+                if (ac >= ab) break; // candidatos ordenados: nenhum outro pode ganhar
+                if (c == b) continue;
+                int d = mate[c];
+                double gain = ab + dist.dist(c, d) - ac - dist.dist(b, d);
+                if (gain > EPS) {
+                    mate[a] = c;
+                    mate[c] = a;
+                    mate[b] = d;
+                    mate[d] = b;
+                    active.push(a);
+                    active.push(b);
+                    active.push(c);
+                    active.push(d);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Circuito Euleriano de um multigrafo com todos os graus pares (Hierholzer iterativo).
+     *
+     * @param n     Número de vértices.
+     * @param from  Primeira extremidade de cada aresta.
+     * @param to    Segunda extremidade de cada aresta.
+     * @param start Vértice inicial.
+     * @return Vértices pela ordem do circuito (o primeiro e o último são start).
+     */
+    private static int[] eulerCircuit(int n, int[] from, int[] to, int start) {
+        int edges = from.length;
+
+        // Adjacência CSR com o índice da aresta
+        int[] adjStart = new int[n + 1];
+        for (int e = 0; e < edges; e++) {
+            adjStart[from[e] + 1]++;
+            adjStart[to[e] + 1]++;
+        }
+        for (int v = 0; v < n; v++) adjStart[v + 1] += adjStart[v];
+        int[] adjEdge = new int[2 * edges];
+        int[] fill = Arrays.copyOf(adjStart, n);
+        for (int e = 0; e < edges; e++) {
+            adjEdge[fill[from[e]]++] = e;
+            adjEdge[fill[to[e]]++] = e;
+        }
+
+        boolean[] used = new boolean[edges];
+        int[] cursor = Arrays.copyOf(adjStart, n);
+        int[] stack = new int[edges + 1];
+        int[] circuit = new int[edges + 1];
+        int top = 0;
+        int length = 0;
+        stack[top++] = start;
+        while (top > 0) {
+            int v = stack[top - 1];
+            while (cursor[v] < adjStart[v + 1] && used[adjEdge[cursor[v]]]) cursor[v]++;
+            if (cursor[v] == adjStart[v + 1]) {
+                circuit[length++] = v;
+                top--;
+            } else {
+                int e = adjEdge[cursor[v]++];
+                used[e] = true;
+                stack[top++] = from[e] == v ? to[e] : from[e];
+            }
+        }
+        return Arrays.copyOf(circuit, length);
+    }
+
+    /**
+     * Executa a heurística com base num ficheiro .tsp e imprime o resultado.
+     *
+     * @param args Argumentos da linha de comandos (não utilizados).
+     */
+    public static void main(String[] args) {
+        List<Utils.City> cities = Utils.readTSPFile("src/main/resources/a280.tsp");
+
+        if (cities.isEmpty()) {
+            System.out.println("Nenhuma cidade encontrada no ficheiro.");
+            return;
+        }
+
+        List<Utils.City> tour = christofides(cities);
+
+        System.out.println("Tour obtido pela heurística de Christofides:");
+        for (Utils.City city : tour) {
+            System.out.print(city + " ");
+        }
+        System.out.println();
+
+        double cost = calculatePathCost(tour);
+        System.out.println("Custo total do tour: " + cost);
+    }
+}
@@ -0,0 +1,55 @@
+package com.grupo5.algorithms.constructiveHeuristics;
+
+import com.grupo5.algorithms.utils.Utils;
+
+import java.util.*;
+
+import static com.grupo5.algorithms.utils.Utils.calculatePathCost;
+
+/**
+ * Implementação da heurística construtiva "Convex Hull Insertion" para o
+ * Problema do Caixeiro Viajante (TSP).
+ *
+ * Começa com o invólucro convexo das cidades como tour parcial (num tour ótimo as cidades do
+ * invólucro aparecem sempre por essa ordem) e insere as restantes pela regra da inserção mais
+ * barata (ver {@link InsertionEngine}). Comparado com começar por duas cidades arbitrárias, o
+ * tour inicial já tem a forma certa e há menos inserções a fazer.
+ */
+public class ConvexHullInsertion {
+
+    /**
+     * Executa o algoritmo de Convex Hull Insertion sobre uma lista de cidades.
+     *
+     * @param cities Lista de cidades a visitar.
+     * @return Lista de cidades representando o tour (ciclo fechado).
+     */
+    public static List<Utils.City> convexHullInsertion(List<Utils.City> cities) {
+        return InsertionEngine.build(cities, InsertionEngine.Policy.CHEAPEST,
+                InsertionEngine.Seed.CONVEX_HULL, null);
+    }
+
+    /**
+     * Função principal para executar o algoritmo a partir de um ficheiro TSP.
+     *
+     * @param args Argumentos de linha de comandos (não utilizados).
+     */
+    public static void main(String[] args) {
+        List<Utils.City> cities = Utils.readTSPFile("src/main/resources/a280.tsp");
+
+        if (cities.isEmpty()) {
+            System.out.println("Nenhuma cidade encontrada no ficheiro.");
+            return;
+        }
+
+        List<Utils.City> tour = convexHullInsertion(cities);
+
+        System.out.println("Convex Hull Insertion Tour:");
+        for (Utils.City city : tour) {
+            System.out.print(city + " ");
+        }
+        System.out.println();
+
+        double cost = calculatePathCost(tour);
+        System.out.println("Custo total do tour: " + cost);
+    }
+}
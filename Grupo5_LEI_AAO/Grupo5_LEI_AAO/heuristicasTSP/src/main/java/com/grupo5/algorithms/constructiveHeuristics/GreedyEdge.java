@@ -0,0 +1,99 @@
+package com.grupo5.algorithms.constructiveHeuristics;
+
+import com.grupo5.algorithms.utils.CandidateLists;
+import com.grupo5.algorithms.utils.DistanceOracle;
+import com.grupo5.algorithms.utils.Utils;
+
+import java.util.*;
+
+import static com.grupo5.algorithms.utils.Utils.calculatePathCost;
+
+/**
+ * Implementa a heurística construtiva "Greedy Edge" (ou multi-fragmento) para o
+ * Problema do Caixeiro Viajante (TSP).
+ *
+ * As arestas candidatas (k vizinhos mais próximos de cada cidade) são ordenadas por comprimento
+ * e aceites por essa ordem desde que nenhuma extremidade fique com grau superior a 2 e a aresta
+ * não feche um ciclo antes do tempo (verificado com union-find). O resultado é um conjunto de
+ * fragmentos (caminhos), que são depois ligados entre si pelo extremo livre mais próximo
+ * (ver {@link PathFragments}).
+ */
+public class GreedyEdge {
+
+    /** Número de candidatos por cidade. */
+    private static final int K = 10;
+
+    /**
+     * Executa a heurística Greedy Edge sobre uma lista de cidades.
+     *
+     * @param cities Lista de cidades a visitar.
+     * @return Tour resultante (ciclo fechado).
+     */
+    public static List<Utils.City> greedyEdge(List<Utils.City> cities) {
+        if (cities.isEmpty()) return Collections.emptyList();
+        int n = cities.size();
+        if (n <= 3) {
+            List<Utils.City> tour = new ArrayList<>(cities);
+            tour.add(cities.get(0));
+            return tour;
+        }
+
+        DistanceOracle dist = new DistanceOracle(cities);
+        int[][] neighbors = CandidateLists.build(dist, K);
+
+        // Vizinhos no tour de cada cidade (-1 = livre)
+        int[] link = new int[2 * n];
+        Arrays.fill(link, -1);
+        int[] degree = new int[n];
+        int[] fragment = new int[n];
+        for (int v = 0; v < n; v++) fragment[v] = v;
+
+        // Passo 1: arestas candidatas por ordem crescente de comprimento
+        int[] endA = new int[PathFragments.candidateEdgeCount(neighbors)];
+        int[] endB = new int[endA.length];
+        long[] edges = PathFragments.sortedCandidateEdges(neighbors, dist::dist, endA, endB);
+
+        int accepted = 0;
+        for (long key : edges) {
+            int e = (int) key;
+            int a = endA[e], b = endB[e];
+            if (degree[a] == 2 || degree[b] == 2) continue;
+            int ra = PathFragments.find(fragment, a), rb = PathFragments.find(fragment, b);
+            if (ra == rb) continue; // fecharia um ciclo
+            fragment[ra] = rb;
+            PathFragments.addEdge(link, degree, a, b);
+            if (++accepted == n - 1) break;
+        }
+
+        // Passo 2: liga os fragmentos pelo extremo livre mais próximo
+        PathFragments.joinFragments(dist, link, degree);
+
+        // Passo 3: percorre o ciclo a partir da cidade 0
+        return PathFragments.toTour(cities, link, 0);
+    }
+
+    /**
+     * Executa a heurística com base num ficheiro .tsp e imprime o resultado.
+     *
+     * @param args Argumentos da linha de comandos (não utilizados).
+     */
+    public static void main(String[] args) {
+        List<Utils.City> cities = Utils.readTSPFile("src/main/resources/a280.tsp");
+
+        if (cities.isEmpty()) {
+            System.out.println("Nenhuma cidade encontrada no ficheiro.");
+            return;
+        }
+
+        List<Utils.City> tour = greedyEdge(cities);
+
+        System.out.println("Greedy Edge Tour:");
+        for (Utils.City city : tour) {
+            System.out.print(city + " ");
+        }
+        System.out.println();
+
+        double cost = calculatePathCost(tour);
+        System.out.println("Custo total do tour: " + cost);
+    }
+}
@@ -0,0 +1,319 @@
+package com.grupo5.algorithms.constructiveHeuristics;
+
+import com.grupo5.algorithms.utils.DistanceKernels;
+import com.grupo5.algorithms.utils.DistanceOracle;
+import com.grupo5.algorithms.utils.Utils;
+
+import java.util.*;
+
+/**
+ * Motor comum às heurísticas de inserção (Cheapest, Farthest, Nearest e Random Insertion).
+ *
+ * O tour parcial é uma lista ligada circular (array next[]), pelo que cada inserção é O(1).
+ * Para cada cidade por inserir guarda-se, de forma incremental:
+ * - a distância mínima (ao quadrado) ao tour, atualizada com a cidade inserida;
+ * - a aresta de inserção mais barata e o respetivo custo. Quando uma aresta (a, b) é dividida
+ *   em (a, u) e (u, b), basta comparar o custo nas duas arestas novas.
+ *
+ * Se a melhor aresta de uma cidade for a que foi dividida, o seu custo antigo passa a ser apenas um
+ * limite inferior (todas as outras arestas custavam pelo menos isso) e a cidade fica "desatualizada".
+ * Só se volta a percorrer o tour para ela quando é escolhida (ou, na inserção mais barata, quando o
+ * seu limite é o menor), em vez de o fazer para todas as cidades afetadas em cada passo.
+ *
+ * As cidades por inserir ficam em arrays compactos (remoção por troca com a última), o que permite
+ * usar os núcleos em lote de {@link DistanceKernels}. Cada passo custa O(n), pelo que a construção
+ * é O(n²).
+ */
+public class InsertionEngine {
+
+    /**
+     * Regra de escolha da próxima cidade a inserir. A cidade escolhida é sempre inserida na aresta
+     * do tour onde o aumento de custo é menor.
+     */
+    public enum Policy {
+        /** Cidade com o menor aumento de custo de inserção. */
+        CHEAPEST,
+        /** Cidade cuja distância mínima ao tour é a maior. */
+        FARTHEST,
+        /** Cidade cuja distância mínima ao tour é a menor. */
+        NEAREST,
+        /** Cidade escolhida ao acaso. */
+        RANDOM
+    }
+
+    /**
+     * Tour parcial de onde parte a inserção.
+     */
+    public enum Seed {
+        /** A primeira cidade e a cidade mais distante dela. */
+        FARTHEST_PAIR,
+        /** O invólucro convexo das cidades (cadeia monótona de Andrew, O(n log n)). */
+        CONVEX_HULL
+    }
+
+    private final DistanceOracle dist;
+    private final int[] next;
+
+    // Cidades por inserir, indexadas pela posição (slot) nos arrays compactos
+    private final int[] id;
+    private final double[] x;
+    private final double[] y;
+    private final double[] minSq;
+    private final double[] bestCost;
+    private final int[] bestEdge;   // cidade a da aresta (a, next[a])
+    private final boolean[] stale;  // bestCost é só um limite inferior e bestEdge pode já não existir
+    private int remaining;
+    private int start;
+
+    private final double[] costA;
+    private final double[] costB;
+
+    private InsertionEngine(List<Utils.City> cities) {
+        int n = cities.size();
+        this.dist = new DistanceOracle(cities);
+        this.next = new int[n];
+        this.id = new int[n];
+        this.x = new double[n];
+        this.y = new double[n];
+        this.minSq = new double[n];
+        this.bestCost = new double[n];
+        this.bestEdge = new int[n];
+        this.stale = new boolean[n];
+        this.costA = new double[n];
+        this.costB = new double[n];
+        for (int c = 0; c < n; c++) {
+            id[c] = c;
+            x[c] = dist.x(c);
+            y[c] = dist.y(c);
+        }
+        Arrays.fill(minSq, Double.POSITIVE_INFINITY);
+        this.remaining = n;
+    }
+
+    /**
+     * Constrói um tour por inserção com a regra indicada.
+     *
+     * @param cities Lista de cidades a visitar.
+     * @param policy Regra de escolha da próxima cidade.
+     * @param random Gerador usado pela regra {@link Policy#RANDOM} (pode ser null nas restantes).
+     * @return Tour resultante (ciclo fechado).
+     */
+    public static List<Utils.City> build(List<Utils.City> cities, Policy policy, Random random) {
+        return build(cities, policy, Seed.FARTHEST_PAIR, random);
+    }
+
+    /**
+     * Constrói um tour por inserção com a regra indicada, a partir do tour parcial indicado.
+     *
+     * @param cities Lista de cidades a visitar.
+     * @param policy Regra de escolha da próxima cidade.
+     * @param seed   Tour parcial inicial.
+     * @param random Gerador usado pela regra {@link Policy#RANDOM} (pode ser null nas restantes).
+     * @return Tour resultante (ciclo fechado).
+     */
+    public static List<Utils.City> build(List<Utils.City> cities, Policy policy, Seed seed, Random random) {
+        if (cities.isEmpty()) return Collections.emptyList();
+        if (cities.size() == 1) return new ArrayList<>(List.of(cities.get(0), cities.get(0)));
+        InsertionEngine engine = new InsertionEngine(cities);
+        int[] hull = seed == Seed.CONVEX_HULL ? convexHull(engine.dist) : null;
+        if (hull != null && hull.length >= 3) {
+            engine.seedHull(hull);
+        } else {
+            engine.seedFarthestPair();
+        }
+        return engine.run(cities, policy, random);
+    }
+
+    /**
+     * Tour inicial: a primeira cidade e a cidade mais distante dela.
+     */
+    private void seedFarthestPair() {
+        start = 0;
+        removeSlot(start);
+        DistanceKernels.relaxMinSquared(x, y, 0, remaining, dist.x(start), dist.y(start), minSq);
+        int slot = DistanceKernels.argMax(minSq, 0, remaining);
+        int farthest = id[slot];
+        removeSlot(slot);
+        DistanceKernels.relaxMinSquared(x, y, 0, remaining, dist.x(farthest), dist.y(farthest), minSq);
+        next[start] = farthest;
+        next[farthest] = start;
+
+        // Com duas cidades as arestas (start, farthest) e (farthest, start) têm o mesmo custo
+        DistanceKernels.edgeInsertionCosts(x, y, 0, remaining, dist.x(start), dist.y(start),
+                dist.x(farthest), dist.y(farthest), bestCost);
+        Arrays.fill(bestEdge, 0, remaining, start);
+    }
+
+    /**
+     * Tour inicial: os vértices do invólucro convexo, pela ordem do invólucro.
+     */
+    private void seedHull(int[] hull) {
+        // Por ordem decrescente, o slot de cada cidade do invólucro ainda é o seu índice original
+        int[] byIndex = hull.clone();
+        Arrays.sort(byIndex);
+        for (int i = byIndex.length - 1; i >= 0; i--) removeSlot(byIndex[i]);
+
+        start = hull[0];
+        Arrays.fill(bestCost, 0, remaining, Double.POSITIVE_INFINITY);
+        for (int i = 0; i < hull.length; i++) {
+            int a = hull[i];
+            int b = hull[(i + 1) % hull.length];
+            next[a] = b;
+            DistanceKernels.relaxMinSquared(x, y, 0, remaining, dist.x(a), dist.y(a), minSq);
+            DistanceKernels.edgeInsertionCosts(x, y, 0, remaining, dist.x(a), dist.y(a),
+                    dist.x(b), dist.y(b), costA);
+            for (int s = 0; s < remaining; s++) {
+                if (costA[s] < bestCost[s]) {
+                    bestCost[s] = costA[s];
+                    bestEdge[s] = a;
+                }
+            }
+        }
+    }
+
+    /**
+     * Invólucro convexo pela cadeia monótona de Andrew: ordena as cidades por (x, y) e constrói
+     * as cadeias inferior e superior, descartando viragens que não sejam à esquerda (os pontos
+     * colineares ficam de fora).
+     *
+     * @return Vértices do invólucro, no sentido anti-horário.
+     */
+    private static int[] convexHull(DistanceOracle dist) {
+        int n = dist.size();
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> dist.x(a) != dist.x(b)
+                ? Double.compare(dist.x(a), dist.x(b))
+                : Double.compare(dist.y(a), dist.y(b)));
+
+        int[] hull = new int[2 * n];
+        int size = 0;
+        for (int i = 0; i < n; i++) {
+            while (size >= 2 && cross(dist, hull[size - 2], hull[size - 1], order[i]) <= 0) size--;
+            hull[size++] = order[i];
+        }
+        for (int i = n - 2, lower = size + 1; i >= 0; i--) {
+            while (size >= lower && cross(dist, hull[size - 2], hull[size - 1], order[i]) <= 0) size--;
+            hull[size++] = order[i];
+        }
+        // O último ponto repete o primeiro
+        return Arrays.copyOf(hull, Math.max(0, size - 1));
+    }
+
+    /**
+     * Produto vetorial (b - a) × (c - a): positivo se a, b, c fazem uma viragem à esquerda.
+     */
+    private static double cross(DistanceOracle dist, int a, int b, int c) {
+        return (dist.x(b) - dist.x(a)) * (dist.y(c) - dist.y(a))
+                - (dist.y(b) - dist.y(a)) * (dist.x(c) - dist.x(a));
+    }
+
+    private List<Utils.City> run(List<Utils.City> cities, Policy policy, Random random) {
+        while (remaining > 0) {
+            insert(select(policy, random));
+        }
+
+        List<Utils.City> tour = new ArrayList<>(cities.size() + 1);
+        int c = start;
+        do {
+            tour.add(cities.get(c));
+            c = next[c];
+        } while (c != start);
+        tour.add(cities.get(start));
+        return tour;
+    }
+
+    /**
+     * Escolhe o slot da próxima cidade a inserir segundo a regra.
+     */
+    private int select(Policy policy, Random random) {
+        int slot;
+        switch (policy) {
+            case CHEAPEST:
+                // O menor limite só é escolhido depois de confirmado pelo custo real
+                slot = DistanceKernels.argMin(bestCost, 0, remaining);
+                while (stale[slot]) {
+                    rescan(slot);
+                    slot = DistanceKernels.argMin(bestCost, 0, remaining);
+                }
+                return slot;
+            case FARTHEST:
+                slot = DistanceKernels.argMax(minSq, 0, remaining);
+                break;
+            case NEAREST:
+                slot = DistanceKernels.argMin(minSq, 0, remaining);
+                break;
+            default:
+                slot = random.nextInt(remaining);
+        }
+        if (stale[slot]) rescan(slot);
+        return slot;
+    }
+
+    /**
+     * Insere a cidade do slot na sua melhor aresta e atualiza as restantes cidades.
+     */
+    private void insert(int slot) {
+        int u = id[slot];
+        int a = bestEdge[slot];
+        int b = next[a];
+        removeSlot(slot);
+        next[a] = u;
+        next[u] = b;
+
+        DistanceKernels.relaxMinSquared(x, y, 0, remaining, dist.x(u), dist.y(u), minSq);
+        DistanceKernels.edgeInsertionCosts(x, y, 0, remaining, dist.x(a), dist.y(a), dist.x(u), dist.y(u), costA);
+        DistanceKernels.edgeInsertionCosts(x, y, 0, remaining, dist.x(u), dist.y(u), dist.x(b), dist.y(b), costB);
+        for (int s = 0; s < remaining; s++) {
+            // A melhor aresta desta cidade deixou de existir: o custo passa a limite inferior
+            if (bestEdge[s] == a) stale[s] = true;
+            // Uma aresta nova abaixo do limite é a melhor de todas
+            if (costA[s] < bestCost[s]) {
+                bestCost[s] = costA[s];
+                bestEdge[s] = a;
+                stale[s] = false;
+            }
+            if (costB[s] < bestCost[s]) {
+                bestCost[s] = costB[s];
+                bestEdge[s] = u;
+                stale[s] = false;
+            }
+        }
+    }
+
+    /**
+     * Recalcula a melhor aresta de inserção do slot percorrendo todo o tour.
+     */
+    private void rescan(int slot) {
+        int v = id[slot];
+        double best = Double.POSITIVE_INFINITY;
+        int edge = start;
+        int a = start;
+        do {
+            int b = next[a];
+            double cost = dist.dist(a, v) + dist.dist(v, b) - dist.dist(a, b);
+            if (cost < best) {
+                best = cost;
+                edge = a;
+            }
+            a = b;
+        } while (a != start);
+        bestCost[slot] = best;
+        bestEdge[slot] = edge;
+        stale[slot] = false;
+    }
+
+    /**
+     * Remove o slot dos arrays compactos, trocando-o com o último.
+     */
+    private void removeSlot(int slot) {
+        int last = --remaining;
+        id[slot] = id[last];
+        x[slot] = x[last];
+        y[slot] = y[last];
+        minSq[slot] = minSq[last];
+        bestCost[slot] = bestCost[last];
+        bestEdge[slot] = bestEdge[last];
+        stale[slot] = stale[last];
+    }
+}
@@ -1,5 +1,7 @@
 package com.grupo5.algorithms.constructiveHeuristics;
 
+import com.grupo5.algorithms.utils.DistanceOracle;
+import com.grupo5.algorithms.utils.SpanningTree;
 import com.grupo5.algorithms.utils.Utils;
 
 import java.util.*;
@@ -17,95 +19,38 @@ import static com.grupo5.algorithms.utils.Utils.calculatePathCost;
 public class MinimumSpanningTreeHeuristic {
 
     /**
-     * Constrói uma Árvore Geradora Mínima (MST) usando o algoritmo de Prim.
+     * Constrói uma Árvore Geradora Mínima (MST): Prim denso em O(n²) para instâncias pequenas e
+     * Borůvka paralelo sobre listas de candidatos para instâncias grandes (ver {@link SpanningTree}).
      *
-     * @param cities Lista de cidades a ligar.
-     * @return Mapa (grafo) que representa a MST, onde cada cidade está ligada às suas vizinhas.
+     * @param dist Oráculo de distâncias das cidades a ligar.
+     * @return Árvore geradora mínima, com adjacência em formato CSR.
      */
-    public static Map<Utils.City, List<Utils.City>> buildMST(List<Utils.City> cities) {
-        Map<Utils.City, List<Utils.City>> mst = new HashMap<>();
-        if (cities.isEmpty()) {
-            return mst;
-        }
-
-        // Inicializa o mapa da MST com listas de vizinhos vazias
-        for (Utils.City city : cities) {
-            mst.put(city, new ArrayList<>());
-        }
-
-        // Conjunto de cidades já incluídas na MST
-        Set<Utils.City> inMST = new HashSet<>();
-        Utils.City start = cities.get(0);
-        inMST.add(start);
-
-        // Enquanto houver cidades fora da MST
-        while (inMST.size() < cities.size()) {
-            Utils.City bestFrom = null;
-            Utils.City bestTo = null;
-            double minDistance = Double.POSITIVE_INFINITY;
-
-            // Procura a aresta de menor custo entre a MST atual e uma cidade fora dela
-            for (Utils.City u : inMST) {
-                for (Utils.City v : cities) {
-                    if (inMST.contains(v)) continue;
-                    double distance = u.distanceTo(v);
-                    if (distance < minDistance) {
-                        minDistance = distance;
-                        bestFrom = u;
-                        bestTo = v;
-                    }
-                }
-            }
-
-            // Adiciona a aresta à MST
-            if (bestFrom != null && bestTo != null) {
-                mst.get(bestFrom).add(bestTo);
-                mst.get(bestTo).add(bestFrom);
-                inMST.add(bestTo);
-            }
-        }
-
-        return mst;
+    public static SpanningTree buildMST(DistanceOracle dist) {
+        return SpanningTree.build(dist);
     }
 
     /**
-     * Realiza uma travessia em profundidade (DFS) na MST a partir da cidade inicial,
+     * Realiza uma travessia em pré-ordem na MST a partir da cidade inicial,
      * visitando cada cidade uma vez, e depois volta ao ponto de partida.
+     * A travessia usa uma pilha explícita, pelo que funciona em árvores com milhões de cidades.
      *
-     * @param mst   Mapa da árvore geradora mínima.
-     * @param start Cidade inicial da travessia.
+     * @param mst    Árvore geradora mínima.
+     * @param cities Lista de cidades (índices da árvore).
+     * @param start  Índice da cidade inicial da travessia.
      * @return Lista de cidades representando o tour aproximado (ciclo fechado).
      */
-    public static List<Utils.City> preorderTraversal(Map<Utils.City, List<Utils.City>> mst, Utils.City start) {
-        List<Utils.City> tour = new ArrayList<>();
-        Set<Utils.City> visited = new HashSet<>();
-        dfs(start, mst, visited, tour);
+    public static List<Utils.City> preorderTraversal(SpanningTree mst, List<Utils.City> cities, int start) {
+        int[] order = mst.preorder(start);
+        List<Utils.City> tour = new ArrayList<>(order.length + 1);
+        for (int c : order) {
+            tour.add(cities.get(c));
+        }
 
         // Fecha o ciclo voltando à cidade inicial
-        tour.add(start);
+        tour.add(cities.get(start));
         return tour;
     }
 
-    /**
-     * Função auxiliar para realizar DFS recursivo na MST.
-     *
-     * @param current Cidade atual da DFS.
-     * @param mst     Mapa da MST.
-     * @param visited Conjunto de cidades já visitadas.
-     * @param tour    Lista parcial do tour a ser construída.
-     */
-    private static void dfs(Utils.City current, Map<Utils.City, List<Utils.City>> mst,
-                            Set<Utils.City> visited, List<Utils.City> tour) {
-        visited.add(current);
-        tour.add(current);
-
-        for (Utils.City neighbor : mst.get(current)) {
-            if (!visited.contains(neighbor)) {
-                dfs(neighbor, mst, visited, tour);
-            }
-        }
-    }
-
     /**
      * Heurística principal baseada em MST: constrói a MST e gera o tour via DFS.
      *
@@ -115,8 +60,9 @@ public class MinimumSpanningTreeHeuristic {
     public static List<Utils.City> mstHeuristic(List<Utils.City> cities) {
         if (cities.isEmpty()) return Collections.emptyList();
 
-        Map<Utils.City, List<Utils.City>> mst = buildMST(cities);
-        return preorderTraversal(mst, cities.get(0));
+        DistanceOracle dist = new DistanceOracle(cities);
+        SpanningTree mst = buildMST(dist);
+        return preorderTraversal(mst, cities, 0);
     }
 
     /**
@@ -0,0 +1,51 @@
+package com.grupo5.algorithms.constructiveHeuristics;
+
+import com.grupo5.algorithms.utils.Utils;
+
+import java.util.*;
+
+import static com.grupo5.algorithms.utils.Utils.calculatePathCost;
+
+/**
+ * Implementação da heurística construtiva "Nearest Insertion" (Inserção Mais Próxima)
+ * para o Problema do Caixeiro Viajante (TSP).
+ *
+ * Começa com duas cidades (a inicial e a mais distante) e, em cada passo, escolhe a cidade
+ * mais próxima do tour atual e insere-a na posição que menos aumenta o custo total.
+ */
+public class NearestInsertion {
+
+    /**
+     * Executa o algoritmo de Nearest Insertion sobre uma lista de cidades.
+     *
+     * @param cities Lista de cidades a visitar.
+     * @return Tour final representado como lista de cidades (ciclo fechado).
+     */
+    public static List<Utils.City> nearestInsertion(List<Utils.City> cities) {
+        return InsertionEngine.build(cities, InsertionEngine.Policy.NEAREST, null);
+    }
+
+    /**
+     * Ponto de entrada para executar o algoritmo a partir de um ficheiro .tsp.
+     *
+     * @param args Argumentos da linha de comandos (não utilizados).
+     */
+    public static void main(String[] args) {
+        List<Utils.City> cities = Utils.readTSPFile("src/main/resources/a280.tsp");
+
+        if (cities.isEmpty()) {
+            System.out.println("Nenhuma cidade encontrada no ficheiro.");
+            return;
+        }
+
+        List<Utils.City> tour = nearestInsertion(cities);
+
+        System.out.println("Nearest Insertion Tour:");
+        for (Utils.City city : tour) {
+            System.out.print(city + " ");
+        }
+        System.out.println();
+        double cost = calculatePathCost(tour);
+        System.out.println("Custo total do tour: " + cost);
+    }
+}
@@ -1,8 +1,13 @@
 package com.grupo5.algorithms.constructiveHeuristics;
 
+import com.grupo5.algorithms.utils.DistanceKernels;
+import com.grupo5.algorithms.utils.DistanceOracle;
+import com.grupo5.algorithms.utils.SpatialGrid;
 import com.grupo5.algorithms.utils.Utils;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import static com.grupo5.algorithms.utils.Utils.calculatePathCost;
 
@@ -16,6 +21,9 @@ import static com.grupo5.algorithms.utils.Utils.calculatePathCost;
  */
 public class NearestNeighbor {
 
+    // Partidas por thread do pool em multiStartNearestNeighbor(List)
+    private static final int STARTS_PER_THREAD = 4;
+
     /**
      * Executa o algoritmo Nearest Neighbor sobre uma lista de cidades.
      *
@@ -25,32 +33,34 @@ public class NearestNeighbor {
     public static List<Utils.City> nearestNeighborTour(List<Utils.City> cities) {
         if (cities.isEmpty()) return Collections.emptyList();
 
-        List<Utils.City> tour = new ArrayList<>();
-        Set<Utils.City> unvisited = new HashSet<>(cities);
+        // Cidades não visitadas em arrays compactos de coordenadas (remoção por troca com a última)
+        DistanceOracle dist = new DistanceOracle(cities);
+        int remaining = cities.size();
+        double[] x = new double[remaining];
+        double[] y = new double[remaining];
+        int[] index = new int[remaining];
+        for (int i = 0; i < remaining; i++) {
+            x[i] = dist.x(i);
+            y[i] = dist.y(i);
+            index[i] = i;
+        }
+
+        List<Utils.City> tour = new ArrayList<>(remaining + 1);
 
         // Começa com a primeira cidade da lista
-        Utils.City current = cities.get(0);
-        tour.add(current);
-        unvisited.remove(current);
+        int current = 0;
+        tour.add(cities.get(current));
+        remaining = remove(x, y, index, 0, remaining);
 
         // Enquanto existirem cidades não visitadas
-        while (!unvisited.isEmpty()) {
-            Utils.City nextCity = null;
-            double minDistance = Double.POSITIVE_INFINITY;
-
-            // Procura a cidade mais próxima da atual
-            for (Utils.City candidate : unvisited) {
-                double distance = current.distanceTo(candidate);
-                if (distance < minDistance) {
-                    minDistance = distance;
-                    nextCity = candidate;
-                }
-            }
+        while (remaining > 0) {
+            // Procura a cidade mais próxima da atual (distâncias ao quadrado, em lote)
+            int nearest = DistanceKernels.nearest(x, y, 0, remaining, dist.x(current), dist.y(current));
 
             // Adiciona a cidade encontrada ao tour e atualiza a cidade atual
-            tour.add(nextCity);
-            unvisited.remove(nextCity);
-            current = nextCity;
+            current = index[nearest];
+            tour.add(cities.get(current));
+            remaining = remove(x, y, index, nearest, remaining);
         }
 
         // Fecha o ciclo, voltando à cidade inicial
@@ -58,6 +68,208 @@ public class NearestNeighbor {
         return tour;
     }
 
+    /**
+     * Executa o Nearest Neighbor a partir de algumas cidades de partida (STARTS_PER_THREAD por thread
+     * do pool fork-join comum, sem exceder n), em paralelo, e devolve o tour mais curto. O tempo fica
+     * próximo do de uma única execução; para usar todas as cidades como partida (trabalho O(n^2)),
+     * chame {@link #multiStartNearestNeighbor(List, int)} com maxStarts = n.
+     *
+     * @param cities Lista de cidades a visitar.
+     * @return Melhor tour encontrado (ciclo fechado).
+     */
+    public static List<Utils.City> multiStartNearestNeighbor(List<Utils.City> cities) {
+        int starts = STARTS_PER_THREAD * ForkJoinPool.commonPool().getParallelism();
+        return multiStartNearestNeighbor(cities, Math.min(cities.size(), starts));
+    }
+
+    /**
+     * Executa o Nearest Neighbor a partir de até maxStarts cidades de partida (igualmente espaçadas
+     * na lista), em paralelo no pool fork-join comum, e devolve o tour mais curto.
+     *
+     * Cada execução marca as cidades visitadas num bitset e procura a mais próxima na
+     * {@link SpatialGrid}, saltando as células já esgotadas. O oráculo e a grelha são partilhados
+     * (só leitura); cada tarefa guarda apenas o seu melhor tour.
+     *
+     * @param cities    Lista de cidades a visitar.
+     * @param maxStarts Número máximo de cidades de partida.
+     * @return Melhor tour encontrado (ciclo fechado).
+     */
+    public static List<Utils.City> multiStartNearestNeighbor(List<Utils.City> cities, int maxStarts) {
+        if (cities.isEmpty()) return Collections.emptyList();
+        int n = cities.size();
+        int starts = Math.max(1, Math.min(maxStarts, n));
+
+        DistanceOracle dist = new DistanceOracle(cities);
+        SpatialGrid grid = new SpatialGrid(dist);
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int grain = Math.max(1, starts / (pool.getParallelism() * 4));
+        MultiStartTask.Result best = pool.invoke(new MultiStartTask(dist, grid, starts, 0, starts, grain));
+
+        List<Utils.City> tour = new ArrayList<>(n + 1);
+        for (int c : best.order) {
+            tour.add(cities.get(c));
+        }
+        tour.add(cities.get(best.order[0]));
+        return tour;
+    }
+
+    /**
+     * Executa as partidas [from, to) (a partida i começa na cidade i * n / starts) e devolve a melhor.
+     */
+    private static final class MultiStartTask extends RecursiveTask<MultiStartTask.Result> {
+        private static final long serialVersionUID = 1L;
+
+        /** Melhor tour de um conjunto de partidas. */
+        static final class Result {
+            final int[] order;
+            final double length;
+
+            Result(int[] order, double length) {
+                this.order = order;
+                this.length = length;
+            }
+        }
+
+        private final DistanceOracle dist;
+        private final SpatialGrid grid;
+        private final int starts;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        MultiStartTask(DistanceOracle dist, SpatialGrid grid, int starts, int from, int to, int grain) {
+            this.dist = dist;
+            this.grid = grid;
+            this.starts = starts;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected Result compute() {
+            if (to - from > grain) {
+                int mid = (from + to) >>> 1;
+                MultiStartTask left = new MultiStartTask(dist, grid, starts, from, mid, grain);
+                left.fork();
+                Result right = new MultiStartTask(dist, grid, starts, mid, to, grain).compute();
+                Result leftBest = left.join();
+                return leftBest.length <= right.length ? leftBest : right;
+            }
+
+            int n = dist.size();
+            long[] visited = new long[(n + 63) >> 6];
+            int[] order = new int[n];
+            int[] bestOrder = new int[n];
+            double bestLength = Double.POSITIVE_INFINITY;
+            for (int i = from; i < to; i++) {
+                int start = (int) ((long) i * n / starts);
+                double length = run(start, visited, order);
+                if (length < bestLength) {
+                    bestLength = length;
+                    System.arraycopy(order, 0, bestOrder, 0, n);
+                }
+            }
+            return new Result(bestOrder, bestLength);
+        }
+
+        /**
+         * Uma execução do Nearest Neighbor a partir de start.
+         *
+         * @return Comprimento do tour (ciclo fechado) guardado em order.
+         */
+        private double run(int start, long[] visited, int[] order) {
+            int n = order.length;
+            Arrays.fill(visited, 0L);
+            int[] counts = grid.cellCounts();
+
+            int current = start;
+            double length = 0;
+            for (int p = 0; ; p++) {
+                order[p] = current;
+                visited[current >> 6] |= 1L << current;
+                counts[grid.cellOf(current)]--;
+                if (p == n - 1) break;
+                int next = grid.nearest(current, visited, counts);
+                length += dist.dist(current, next);
+                current = next;
+            }
+            return length + dist.dist(current, start);
+        }
+    }
+
+    /**
+     * Nearest Neighbor aleatorizado, usado como construção do GRASP: a partir de uma cidade ao acaso,
+     * em cada passo escolhe uniformemente uma cidade da lista restrita de candidatos (RCL), isto é,
+     * dos candidatos não visitados da cidade atual a distância d com
+     * d &lt;= dmin + alpha * (dmax - dmin). Com alpha = 0 é o Nearest Neighbor guloso; com alpha = 1
+     * escolhe qualquer candidato livre. Se todos os candidatos já foram visitados, segue para a
+     * cidade livre mais próxima, procurada na {@link SpatialGrid}.
+     *
+     * @param dist      Oráculo de distâncias.
+     * @param grid      Grelha sobre as cidades do oráculo (só leitura, pode ser partilhada).
+     * @param neighbors Listas de candidatos.
+     * @param alpha     Grau de aleatoriedade, em [0, 1].
+     * @param random    Gerador.
+     * @return Ordem de visita.
+     */
+    public static int[] randomizedTour(DistanceOracle dist, SpatialGrid grid, int[][] neighbors, double alpha,
+                                       SplittableRandom random) {
+        int n = dist.size();
+        long[] visited = new long[(n + 63) >> 6];
+        int[] counts = grid.cellCounts();
+        int[] order = new int[n];
+        int[] restricted = new int[neighbors.length > 0 ? maxLength(neighbors) : 0];
+
+        int current = random.nextInt(n);
+        for (int p = 0; ; p++) {
+            order[p] = current;
+            visited[current >> 6] |= 1L << current;
+            counts[grid.cellOf(current)]--;
+            if (p == n - 1) break;
+
+            double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+            for (int d : neighbors[current]) {
+                if ((visited[d >> 6] & (1L << d)) != 0) continue;
+                double length = dist.dist(current, d);
+                min = Math.min(min, length);
+                max = Math.max(max, length);
+            }
+            if (min == Double.POSITIVE_INFINITY) {
+                current = grid.nearest(current, visited, counts);
+                continue;
+            }
+            double limit = min + alpha * (max - min);
+            int size = 0;
+            for (int d : neighbors[current]) {
+                if ((visited[d >> 6] & (1L << d)) == 0 && dist.dist(current, d) <= limit) restricted[size++] = d;
+            }
+            current = restricted[random.nextInt(size)];
+        }
+        return order;
+    }
+
+    private static int maxLength(int[][] lists) {
+        int max = 0;
+        for (int[] list : lists) {
+            max = Math.max(max, list.length);
+        }
+        return max;
+    }
+
+    /**
+     * Remove a posição i dos arrays compactos, trocando-a com a última.
+     *
+     * @return Novo número de cidades não visitadas.
+     */
+    private static int remove(double[] x, double[] y, int[] index, int i, int size) {
+        int last = size - 1;
+        x[i] = x[last];
+        y[i] = y[last];
+        index[i] = index[last];
+        return last;
+    }
+
     /**
      * Ponto de entrada do programa. Lê cidades de um ficheiro TSP,
      * executa o algoritmo Nearest Neighbor e imprime o tour resultante.
@@ -0,0 +1,177 @@
+package com.grupo5.algorithms.constructiveHeuristics;
+
+import com.grupo5.algorithms.utils.DistanceOracle;
+import com.grupo5.algorithms.utils.SpatialGrid;
+import com.grupo5.algorithms.utils.Utils;
+
+import java.util.*;
+
+/**
+ * Operações comuns às heurísticas que constroem o tour por fragmentos (caminhos) que vão sendo
+ * unidos aresta a aresta: Greedy Edge e Savings.
+ *
+ * Os fragmentos são guardados em link[2 * v] e link[2 * v + 1] (vizinhos de v, -1 = livre) e em
+ * degree[v]; a verificação de ciclos prematuros é feita com union-find.
+ */
+final class PathFragments {
+
+    private PathFragments() {
+    }
+
+    /**
+     * Ordena as arestas candidatas (sem repetições) com ordenação paralela.
+     * Cada chave junta o peso (float, cujos bits preservam a ordem para valores não negativos)
+     * nos 32 bits altos e o índice da aresta nos 32 bits baixos; as extremidades da aresta e
+     * ficam em endA[e] e endB[e].
+     *
+     * @param neighbors Listas de candidatos.
+     * @param weight    Peso de cada aresta (tem de ser não negativo).
+     * @param endA      Primeira extremidade de cada aresta (preenchido aqui).
+     * @param endB      Segunda extremidade de cada aresta (preenchido aqui).
+     * @return Chaves ordenadas por peso crescente.
+     */
+    static long[] sortedCandidateEdges(int[][] neighbors, EdgeWeight weight, int[] endA, int[] endB) {
+        int e = 0;
+        for (int a = 0; a < neighbors.length; a++) {
+            for (int b : neighbors[a]) {
+                if (!isOwnedBy(neighbors, a, b)) continue;
+                endA[e] = a;
+                endB[e] = b;
+                e++;
+            }
+        }
+        long[] keys = new long[e];
+        for (int i = 0; i < e; i++) {
+            long bits = Float.floatToIntBits((float) weight.of(endA[i], endB[i]));
+            keys[i] = (bits << 32) | i;
+        }
+        Arrays.parallelSort(keys);
+        return keys;
+    }
+
+    /**
+     * @return Número de arestas candidatas distintas (tamanho necessário para endA e endB).
+     */
+    static int candidateEdgeCount(int[][] neighbors) {
+        int count = 0;
+        for (int a = 0; a < neighbors.length; a++) {
+            for (int b : neighbors[a]) {
+                if (isOwnedBy(neighbors, a, b)) count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * A aresta (a, b) é contada na lista de a se a &lt; b ou se a não estiver na lista de b.
+     */
+    private static boolean isOwnedBy(int[][] neighbors, int a, int b) {
+        if (a < b) return true;
+        for (int c : neighbors[b]) {
+            if (c == a) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Peso de uma aresta candidata.
+     */
+    @FunctionalInterface
+    interface EdgeWeight {
+        double of(int a, int b);
+    }
+
+    /**
+     * Liga os fragmentos num ciclo: partindo de um extremo, segue o fragmento até ao outro extremo
+     * e salta para o extremo livre mais próximo (procurado na {@link SpatialGrid}) de outro fragmento.
+     * Cidades com grau 2 (incluindo as marcadas assim para ficarem de fora) não recebem arestas.
+     */
+    static void joinFragments(DistanceOracle dist, int[] link, int[] degree) {
+        int n = degree.length;
+        SpatialGrid grid = new SpatialGrid(dist);
+        int[] counts = grid.cellCounts();
+        long[] excluded = new long[(n + 63) >> 6];
+
+        // Outro extremo de cada fragmento; só os extremos (grau < 2) podem receber arestas novas
+        int[] otherEnd = new int[n];
+        Arrays.fill(otherEnd, -1);
+        for (int v = 0; v < n; v++) {
+            if (degree[v] == 2) {
+                exclude(grid, excluded, counts, v);
+            } else if (otherEnd[v] < 0) {
+                int end = walkToEnd(link, v);
+                otherEnd[v] = end;
+                otherEnd[end] = v;
+            }
+        }
+
+        int first = 0;
+        while (degree[first] == 2) first++;
+        exclude(grid, excluded, counts, first);
+        int current = otherEnd[first];
+        if (current != first) exclude(grid, excluded, counts, current);
+
+        while (true) {
+            int next = grid.nearest(current, excluded, counts);
+            if (next < 0) break;
+            addEdge(link, degree, current, next);
+            exclude(grid, excluded, counts, next);
+            current = otherEnd[next];
+            if (current != next) exclude(grid, excluded, counts, current);
+        }
+        addEdge(link, degree, current, first); // fecha o ciclo
+    }
+
+    /**
+     * Percorre o fragmento a partir do extremo v e devolve o outro extremo.
+     */
+    private static int walkToEnd(int[] link, int v) {
+        int prev = -1, current = v;
+        while (true) {
+            int next = link[2 * current] != prev ? link[2 * current] : link[2 * current + 1];
+            if (next < 0) return current;
+            prev = current;
+            current = next;
+        }
+    }
+
+    private static void exclude(SpatialGrid grid, long[] excluded, int[] counts, int v) {
+        excluded[v >> 6] |= 1L << v;
+        counts[grid.cellOf(v)]--;
+    }
+
+    /**
+     * Percorre o ciclo fechado formado pelas ligações a partir da cidade start.
+     *
+     * @param cities Todas as cidades.
+     * @param link   Ligações de um ciclo que passa por todas as cidades.
+     * @param start  Cidade inicial.
+     * @return Tour resultante (ciclo fechado).
+     */
+    static List<Utils.City> toTour(List<Utils.City> cities, int[] link, int start) {
+        int n = cities.size();
+        List<Utils.City> tour = new ArrayList<>(n + 1);
+        int prev = -1, current = start;
+        for (int i = 0; i < n; i++) {
+            tour.add(cities.get(current));
+            int next = link[2 * current] != prev ? link[2 * current] : link[2 * current + 1];
+            prev = current;
+            current = next;
+        }
+        tour.add(cities.get(start));
+        return tour;
+    }
+
+    static void addEdge(int[] link, int[] degree, int a, int b) {
+        link[2 * a + degree[a]++] = b;
+        link[2 * b + degree[b]++] = a;
+    }
+
+    static int find(int[] parent, int v) {
+        while (parent[v] != v) {
+            parent[v] = parent[parent[v]];
+            v = parent[v];
+        }
+        return v;
+    }
+}
@@ -0,0 +1,62 @@
+package com.grupo5.algorithms.constructiveHeuristics;
+
+import com.grupo5.algorithms.utils.Utils;
+
+import java.util.*;
+
+import static com.grupo5.algorithms.utils.Utils.calculatePathCost;
+
+/**
+ * Implementação da heurística construtiva "Random Insertion" (Inserção Aleatória)
+ * para o Problema do Caixeiro Viajante (TSP).
+ *
+ * Começa com duas cidades (a inicial e a mais distante) e, em cada passo, escolhe uma cidade
+ * ao acaso entre as que faltam e insere-a na posição que menos aumenta o custo total.
+ */
+public class RandomInsertion {
+
+    /**
+     * Executa o algoritmo de Random Insertion sobre uma lista de cidades.
+     *
+     * @param cities Lista de cidades a visitar.
+     * @return Tour final representado como lista de cidades (ciclo fechado).
+     */
+    public static List<Utils.City> randomInsertion(List<Utils.City> cities) {
+        return randomInsertion(cities, new Random());
+    }
+
+    /**
+     * Executa o algoritmo de Random Insertion com um gerador dado (para resultados reprodutíveis).
+     *
+     * @param cities Lista de cidades a visitar.
+     * @param random Gerador de números aleatórios.
+     * @return Tour final representado como lista de cidades (ciclo fechado).
+     */
+    public static List<Utils.City> randomInsertion(List<Utils.City> cities, Random random) {
+        return InsertionEngine.build(cities, InsertionEngine.Policy.RANDOM, random);
+    }
+
+    /**
+     * Ponto de entrada para executar o algoritmo a partir de um ficheiro .tsp.
+     *
+     * @param args Argumentos da linha de comandos (não utilizados).
+     */
+    public static void main(String[] args) {
+        List<Utils.City> cities = Utils.readTSPFile("src/main/resources/a280.tsp");
+
+        if (cities.isEmpty()) {
+            System.out.println("Nenhuma cidade encontrada no ficheiro.");
+            return;
+        }
+
+        List<Utils.City> tour = randomInsertion(cities);
+
+        System.out.println("Random Insertion Tour:");
+        for (Utils.City city : tour) {
+            System.out.print(city + " ");
+        }
+        System.out.println();
+        double cost = calculatePathCost(tour);
+        System.out.println("Custo total do tour: " + cost);
+    }
+}
@@ -25,13 +25,24 @@ public class RandomPathConstruction {
      * @return Lista com as cidades organizadas num tour aleatório (ciclo fechado).
      */
     public static List<Utils.City> randomPathTour(List<Utils.City> cities) {
+        return randomPathTour(cities, new Random());
+    }
+
+    /**
+     * Gera um tour aleatório com um gerador dado (para resultados reprodutíveis).
+     *
+     * @param cities Lista de cidades a visitar.
+     * @param random Gerador de números aleatórios.
+     * @return Lista com as cidades organizadas num tour aleatório (ciclo fechado).
+     */
+    public static List<Utils.City> randomPathTour(List<Utils.City> cities, Random random) {
         if (cities.isEmpty()) return Collections.emptyList();
 
         // Cria uma cópia da lista original para não a modificar
         List<Utils.City> tour = new ArrayList<>(cities);
 
         // Embaralha aleatoriamente a ordem das cidades
-        Collections.shuffle(tour, new Random());
+        Collections.shuffle(tour, random);
 
         // Fecha o ciclo adicionando a cidade inicial no final
         tour.add(tour.get(0));
@@ -0,0 +1,152 @@
+package com.grupo5.algorithms.constructiveHeuristics;
+
+import com.grupo5.algorithms.utils.CandidateLists;
+import com.grupo5.algorithms.utils.DistanceOracle;
+import com.grupo5.algorithms.utils.Utils;
+
+import java.util.*;
+
+import static com.grupo5.algorithms.utils.Utils.calculatePathCost;
+
+/**
+ * Implementa a heurística construtiva das poupanças (Clarke–Wright) para o
+ * Problema do Caixeiro Viajante (TSP).
+ *
+ * Escolhe-se uma cidade central (hub) e parte-se de um tour em que cada cidade vai e volta ao hub.
+ * Ligar diretamente i e j poupa s(i, j) = d(h, i) + d(h, j) - d(i, j); as ligações são aceites
+ * por ordem decrescente de poupança desde que i e j sejam extremos de caminhos diferentes.
+ *
+ * As poupanças só são calculadas para os pares de candidatos (k vizinhos mais próximos), ordenados
+ * com ordenação paralela, pelo que o tempo é O(n log n) e a memória O(nk). Os caminhos que sobram
+ * são ligados pelo extremo livre mais próximo e o hub é inserido na aresta mais barata do ciclo
+ * (ver {@link PathFragments}).
+ */
+public class Savings {
+
+    /** Número de candidatos por cidade. */
+    private static final int K = 10;
+
+    /**
+     * Executa a heurística das poupanças sobre uma lista de cidades.
+     *
+     * @param cities Lista de cidades a visitar.
+     * @return Tour resultante (ciclo fechado).
+     */
+    public static List<Utils.City> savings(List<Utils.City> cities) {
+        if (cities.isEmpty()) return Collections.emptyList();
+        int n = cities.size();
+        if (n <= 3) {
+            List<Utils.City> tour = new ArrayList<>(cities);
+            tour.add(cities.get(0));
+            return tour;
+        }
+
+        DistanceOracle dist = new DistanceOracle(cities);
+        int hub = centralCity(dist);
+        int[][] neighbors = CandidateLists.build(dist, K);
+
+        // Vizinhos no caminho de cada cidade (-1 = livre); o hub fica de fora até ao fim
+        int[] link = new int[2 * n];
+        Arrays.fill(link, -1);
+        int[] degree = new int[n];
+        int[] fragment = new int[n];
+        for (int v = 0; v < n; v++) fragment[v] = v;
+
+        // Passo 1: pares candidatos por ordem crescente de poupança (percorridos do fim para o início)
+        int[] endA = new int[PathFragments.candidateEdgeCount(neighbors)];
+        int[] endB = new int[endA.length];
+        long[] edges = PathFragments.sortedCandidateEdges(neighbors,
+                (a, b) -> Math.max(0, dist.dist(hub, a) + dist.dist(hub, b) - dist.dist(a, b)), endA, endB);
+
+        int accepted = 0;
+        for (int i = edges.length - 1; i >= 0 && accepted < n - 2; i--) {
+            int e = (int) edges[i];
+            int a = endA[e], b = endB[e];
+            if (a == hub || b == hub) continue;
+            if (degree[a] == 2 || degree[b] == 2) continue;
+            int ra = PathFragments.find(fragment, a), rb = PathFragments.find(fragment, b);
+            if (ra == rb) continue; // fecharia um ciclo
+            fragment[ra] = rb;
+            PathFragments.addEdge(link, degree, a, b);
+            accepted++;
+        }
+
+        // Passo 2: liga os caminhos restantes num ciclo sem o hub
+        degree[hub] = 2;
+        PathFragments.joinFragments(dist, link, degree);
+
+        // Passo 3: insere o hub na aresta do ciclo onde fica mais barato
+        int start = hub == 0 ? 1 : 0;
+        int bestA = start, bestB = link[2 * start];
+        double bestCost = Double.POSITIVE_INFINITY;
+        int prev = -1, current = start;
+        for (int i = 0; i < n - 1; i++) {
+            int next = link[2 * current] != prev ? link[2 * current] : link[2 * current + 1];
+            double cost = dist.dist(current, hub) + dist.dist(hub, next) - dist.dist(current, next);
+            if (cost < bestCost) {
+                bestCost = cost;
+                bestA = current;
+                bestB = next;
+            }
+            prev = current;
+            current = next;
+        }
+        link[link[2 * bestA] == bestB ? 2 * bestA : 2 * bestA + 1] = hub;
+        link[link[2 * bestB] == bestA ? 2 * bestB : 2 * bestB + 1] = hub;
+        link[2 * hub] = bestA;
+        link[2 * hub + 1] = bestB;
+
+        return PathFragments.toTour(cities, link, hub);
+    }
+
+    /**
+     * @return Cidade mais próxima do centroide das cidades.
+     */
+    private static int centralCity(DistanceOracle dist) {
+        int n = dist.size();
+        double cx = 0, cy = 0;
+        for (int i = 0; i < n; i++) {
+            cx += dist.x(i);
+            cy += dist.y(i);
+        }
+        cx /= n;
+        cy /= n;
+        int best = 0;
+        double bestSq = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            double dx = dist.x(i) - cx;
+            double dy = dist.y(i) - cy;
+            double sq = dx * dx + dy * dy;
+            if (sq < bestSq) {
+                bestSq = sq;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Executa a heurística com base num ficheiro .tsp e imprime o resultado.
+     *
+     * @param args Argumentos da linha de comandos (não utilizados).
+     */
+    public static void main(String[] args) {
+        List<Utils.City> cities = Utils.readTSPFile("src/main/resources/a280.tsp");
+
+        if (cities.isEmpty()) {
+            System.out.println("Nenhuma cidade encontrada no ficheiro.");
+            return;
+        }
+
+        List<Utils.City> tour = savings(cities);
+
+        System.out.println("Savings (Clarke-Wright) Tour:");
+        for (Utils.City city : tour) {
+            System.out.print(city + " ");
+        }
+        System.out.println();
+
+        double cost = calculatePathCost(tour);
+        System.out.println("Custo total do tour: " + cost);
+    }
+}
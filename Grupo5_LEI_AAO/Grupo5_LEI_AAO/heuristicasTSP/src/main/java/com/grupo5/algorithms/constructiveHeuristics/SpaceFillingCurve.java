@@ -0,0 +1,116 @@
+package com.grupo5.algorithms.constructiveHeuristics;
+
+import com.grupo5.algorithms.utils.DistanceOracle;
+import com.grupo5.algorithms.utils.Utils;
+
+import java.util.*;
+
+import static com.grupo5.algorithms.utils.Utils.calculatePathCost;
+
+/**
+ * Implementa a heurística construtiva baseada na curva de Hilbert (curva que preenche o espaço)
+ * para o Problema do Caixeiro Viajante (TSP).
+ *
+ * As coordenadas são normalizadas para uma grelha de 2^16 × 2^16 e cada cidade recebe o índice
+ * da sua célula ao longo da curva de Hilbert. Visitar as cidades por ordem desse índice dá um
+ * tour em que cidades próximas na curva estão próximas no plano (cerca de 40% acima do ótimo em
+ * instâncias uniformes, e mais em instâncias pequenas ou agrupadas). A ordenação é paralela e o custo total é O(n log n), pelo que serve para instâncias com
+ * milhões de cidades, onde as heurísticas O(n²) não são viáveis.
+ */
+public class SpaceFillingCurve {
+
+    /** Bits por eixo da grelha (2^ORDER células por lado). */
+    private static final int ORDER = 16;
+
+    /**
+     * Constrói o tour visitando as cidades pela ordem da curva de Hilbert.
+     *
+     * @param cities Lista de cidades a visitar.
+     * @return Tour resultante (ciclo fechado).
+     */
+    public static List<Utils.City> hilbertTour(List<Utils.City> cities) {
+        if (cities.isEmpty()) return Collections.emptyList();
+        int n = cities.size();
+        DistanceOracle dist = new DistanceOracle(cities);
+
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            minX = Math.min(minX, dist.x(i));
+            maxX = Math.max(maxX, dist.x(i));
+            minY = Math.min(minY, dist.y(i));
+            maxY = Math.max(maxY, dist.y(i));
+        }
+        // Mesma escala nos dois eixos, para não deformar a curva
+        double span = Math.max(maxX - minX, maxY - minY);
+        double scale = span > 0 ? ((1 << ORDER) - 1) / span : 0;
+
+        // Chave: índice na curva (32 bits altos) e índice da cidade (32 bits baixos)
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            int x = (int) ((dist.x(i) - minX) * scale);
+            int y = (int) ((dist.y(i) - minY) * scale);
+            keys[i] = (hilbertIndex(x, y) << 32) | i;
+        }
+        Arrays.parallelSort(keys);
+
+        List<Utils.City> tour = new ArrayList<>(n + 1);
+        for (long key : keys) {
+            tour.add(cities.get((int) key));
+        }
+        tour.add(tour.get(0));
+        return tour;
+    }
+
+    /**
+     * Índice da célula (x, y) ao longo da curva de Hilbert de ordem {@link #ORDER}.
+     *
+     * @param x Coluna, em [0, 2^ORDER).
+     * @param y Linha, em [0, 2^ORDER).
+     * @return Índice na curva, em [0, 4^ORDER).
+     */
+    static long hilbertIndex(int x, int y) {
+        long d = 0;
+        for (int s = 1 << (ORDER - 1); s > 0; s >>= 1) {
+            int rx = (x & s) > 0 ? 1 : 0;
+            int ry = (y & s) > 0 ? 1 : 0;
+            d += (long) s * s * ((3 * rx) ^ ry);
+            // Roda o quadrante para que a sub-curva fique com a orientação correta
+            if (ry == 0) {
+                if (rx == 1) {
+                    x = s - 1 - x;
+                    y = s - 1 - y;
+                }
+                int t = x;
+                x = y;
+                y = t;
+            }
+        }
+        return d;
+    }
+
+    /**
+     * Executa a heurística com base num ficheiro .tsp e imprime o resultado.
+     *
+     * @param args Argumentos da linha de comandos (não utilizados).
+     */
+    public static void main(String[] args) {
+        List<Utils.City> cities = Utils.readTSPFile("src/main/resources/a280.tsp");
+
+        if (cities.isEmpty()) {
+            System.out.println("Nenhuma cidade encontrada no ficheiro.");
+            return;
+        }
+
+        List<Utils.City> tour = hilbertTour(cities);
+
+        System.out.println("Space-Filling Curve (Hilbert) Tour:");
+        for (Utils.City city : tour) {
+            System.out.print(city + " ");
+        }
+        System.out.println();
+
+        double cost = calculatePathCost(tour);
+        System.out.println("Custo total do tour: " + cost);
+    }
+}
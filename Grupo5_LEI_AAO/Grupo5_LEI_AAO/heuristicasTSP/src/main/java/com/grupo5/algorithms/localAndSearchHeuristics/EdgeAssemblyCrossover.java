@@ -0,0 +1,465 @@
+package com.grupo5.algorithms.localAndSearchHeuristics;
+
+import com.grupo5.algorithms.utils.DistanceOracle;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Cruzamento por montagem de arestas (Edge Assembly Crossover, EAX) entre dois tours guardados
+ * como arrays de adjacência: {@code adj[2c]} e {@code adj[2c + 1]} são os dois vizinhos da cidade c.
+ *
+ * 1. As arestas que estão só num dos pais (A ou B) são decompostas em ciclos AB, que alternam
+ *    arestas de A e de B. Cada ciclo é cortado do passeio aleatório alternado assim que fecha.
+ * 2. Cada filho é A com um ciclo AB aplicado (saem as suas arestas de A e entram as de B). O
+ *    resultado tem grau 2 em todas as cidades, mas pode ter vários subciclos.
+ * 3. Os subciclos são unidos, do mais pequeno para o maior, com a troca de duas arestas mais
+ *    barata que liga uma cidade do subciclo a um dos seus candidatos noutro subciclo.
+ *
+ * O filho não é copiado: o ciclo AB e as uniões são aplicados no próprio array de A, registando
+ * as cidades tocadas, e desfeitos depois de avaliar. Os subciclos identificam-se pelos segmentos
+ * do tour A entre as arestas removidas, pelo que cada filho custa O(m log m + tamanho dos
+ * subciclos unidos), com m o tamanho do ciclo AB, e não O(n). Só o passo 1 é O(n), uma vez por par.
+ *
+ * Cada instância é um espaço de trabalho reutilizável e não pode ser usada por duas threads.
+ */
+final class EdgeAssemblyCrossover {
+
+    /** Tolerância numérica na comparação de comprimentos. */
+    private static final double EPS = 1e-9;
+
+    private final DistanceOracle dist;
+    private final int[][] neighbors;
+    private final int n;
+
+    // Tour A por ordem de visita
+    private final int[] order;
+    private final int[] pos;
+
+    // Arestas só de A e só de B em cada cidade (no máximo duas de cada)
+    private final int[] onlyA;
+    private final int[] onlyB;
+    private final int[] countA;
+    private final int[] countB;
+
+    // Passeio alternado e ciclos AB (cidades de cada ciclo em cycleCities[cycleStart[i] .. cycleStart[i + 1]))
+    private final int[] path;
+    private final int[] lastPosition;
+    private final int[] cycleCities;
+    private final int[] cycleStart;
+    private final int[] cycleOrder;
+    private int cycles;
+
+    // Segmentos de A entre arestas removidas e subciclos do filho (union-find)
+    private final int[] cuts;
+    private final int[] segmentLabel;
+    private final int[] parent;
+    private final int[] subtourSize;
+    private final int[] subtourCity;
+
+    // Cidades alteradas no filho atual, com os vizinhos originais
+    private final int[] touchStamp;
+    private final int[] touched;
+    private final int[] saved;
+    private int touchedCount;
+    private int stamp;
+
+    // Alterações do melhor filho
+    private final int[] bestCities;
+    private final int[] bestAdjacency;
+    private int bestCount;
+
+    // Melhor união de subciclos: remove (u, un) e (w, wn); acrescenta (u, w) e (un, wn), ou (u, wn) e (un, w)
+    private double joinDelta;
+    private int joinU, joinUn, joinW, joinWn;
+    private boolean joinCrossed;
+
+    EdgeAssemblyCrossover(DistanceOracle dist, int[][] neighbors) {
+        this.dist = dist;
+        this.neighbors = neighbors;
+        this.n = dist.size();
+        this.order = new int[n];
+        this.pos = new int[n];
+        this.onlyA = new int[2 * n];
+        this.onlyB = new int[2 * n];
+        this.countA = new int[n];
+        this.countB = new int[n];
+        this.path = new int[2 * n + 1];
+        this.lastPosition = new int[2 * n];
+        Arrays.fill(lastPosition, -1);
+        this.cycleCities = new int[2 * n];
+        this.cycleStart = new int[n + 1];
+        this.cycleOrder = new int[n];
+        this.cuts = new int[n];
+        this.segmentLabel = new int[n];
+        this.parent = new int[n];
+        this.subtourSize = new int[n];
+        this.subtourCity = new int[n];
+        this.touchStamp = new int[n];
+        this.touched = new int[n];
+        this.saved = new int[2 * n];
+        this.bestCities = new int[n];
+        this.bestAdjacency = new int[2 * n];
+    }
+
+    /**
+     * Gera até children filhos de A e B e, se o melhor for mais curto que A, substitui A por ele.
+     *
+     * @param a        Adjacência do pai A (alterada no próprio array).
+     * @param lengthA  Comprimento de A.
+     * @param b        Adjacência do pai B (só leitura).
+     * @param children Número máximo de filhos (um por ciclo AB, escolhidos ao acaso).
+     * @param random   Gerador.
+     * @return Comprimento do melhor filho, se A foi substituído, ou lengthA.
+     */
+    double cross(int[] a, double lengthA, int[] b, int children, SplittableRandom random) {
+        buildCycles(a, b, random);
+        if (cycles == 0) return lengthA;
+
+        for (int i = 0; i < cycles; i++) {
+            cycleOrder[i] = i;
+        }
+        int tries = Math.min(children, cycles);
+        double bestLength = lengthA - EPS;
+        bestCount = -1;
+        for (int t = 0; t < tries; t++) {
+            int j = t + random.nextInt(cycles - t);
+            int cycle = cycleOrder[j];
+            cycleOrder[j] = cycleOrder[t];
+            cycleOrder[t] = cycle;
+
+            double length = lengthA + applyCycle(a, cycle);
+            if (length < bestLength) {
+                bestLength = length;
+                bestCount = touchedCount;
+                for (int i = 0; i < touchedCount; i++) {
+                    int c = touched[i];
+                    bestCities[i] = c;
+                    bestAdjacency[2 * i] = a[2 * c];
+                    bestAdjacency[2 * i + 1] = a[2 * c + 1];
+                }
+            }
+            undo(a);
+        }
+
+        if (bestCount < 0) return lengthA;
+        for (int i = 0; i < bestCount; i++) {
+            int c = bestCities[i];
+            a[2 * c] = bestAdjacency[2 * i];
+            a[2 * c + 1] = bestAdjacency[2 * i + 1];
+        }
+        return bestLength;
+    }
+
+    /**
+     * Passo 1: ordem de A e decomposição das arestas que diferem em ciclos AB.
+     */
+    private void buildCycles(int[] a, int[] b, SplittableRandom random) {
+        int previous = a[1];
+        int current = 0;
+        for (int p = 0; p < n; p++) {
+            order[p] = current;
+            pos[current] = p;
+            int next = a[2 * current] != previous ? a[2 * current] : a[2 * current + 1];
+            previous = current;
+            current = next;
+        }
+
+        for (int c = 0; c < n; c++) {
+            countA[c] = 0;
+            countB[c] = 0;
+            for (int k = 0; k < 2; k++) {
+                int x = a[2 * c + k];
+                if (b[2 * c] != x && b[2 * c + 1] != x) onlyA[2 * c + countA[c]++] = x;
+                int y = b[2 * c + k];
+                if (a[2 * c] != y && a[2 * c + 1] != y) onlyB[2 * c + countB[c]++] = y;
+            }
+        }
+
+        cycles = 0;
+        cycleStart[0] = 0;
+        int offset = random.nextInt(n);
+        for (int k = 0; k < n; k++) {
+            int start = offset + k < n ? offset + k : offset + k - n;
+            if (countA[start] > 0) walk(start, random);
+        }
+    }
+
+    /**
+     * Passeio aleatório alternado (aresta de A, aresta de B, ...) a partir de start. Quando o
+     * passeio volta a uma cidade com a mesma paridade, o troço entre as duas visitas é um ciclo AB:
+     * é guardado e retirado do caminho, e o passeio continua da cidade repetida.
+     *
+     * Como cada cidade tem tantas arestas só de A como só de B, o passeio só fica sem saída no
+     * início do caminho, quando start já não tem arestas de A.
+     */
+    private void walk(int start, SplittableRandom random) {
+        int length = 1;
+        path[0] = start;
+        lastPosition[2 * start] = 0;
+        while (true) {
+            int v = path[length - 1];
+            boolean fromA = (length & 1) == 1; // a aresta e_length é de A se length for ímpar
+            int[] edges = fromA ? onlyA : onlyB;
+            int[] counts = fromA ? countA : countB;
+            if (counts[v] == 0) break; // só acontece com length == 1
+            int w = takeEdge(edges, counts, v, random.nextInt(counts[v]));
+
+            int j = lastPosition[2 * w + (length & 1)];
+            if (j >= 0 && j < length && path[j] == w) {
+                // Ciclo path[j..length-1], a começar numa aresta de A
+                int end = cycleStart[cycles];
+                if ((j & 1) == 0) {
+                    for (int i = j; i < length; i++) cycleCities[end++] = path[i];
+                } else {
+                    for (int i = j + 1; i < length; i++) cycleCities[end++] = path[i];
+                    cycleCities[end++] = path[j];
+                }
+                cycleStart[++cycles] = end;
+                length = j + 1;
+            } else {
+                path[length] = w;
+                lastPosition[2 * w + (length & 1)] = length;
+                length++;
+            }
+        }
+    }
+
+    /**
+     * Retira a i-ésima aresta de v (e a mesma aresta na lista da outra extremidade).
+     *
+     * @return A outra extremidade.
+     */
+    private static int takeEdge(int[] edges, int[] counts, int v, int i) {
+        int w = edges[2 * v + i];
+        edges[2 * v + i] = edges[2 * v + --counts[v]];
+        int k = edges[2 * w] == v ? 0 : 1;
+        edges[2 * w + k] = edges[2 * w + --counts[w]];
+        return w;
+    }
+
+    /**
+     * Passos 2 e 3: aplica o ciclo AB a A e une os subciclos.
+     *
+     * @return Variação de comprimento em relação a A.
+     */
+    private double applyCycle(int[] a, int cycle) {
+        int from = cycleStart[cycle];
+        int to = cycleStart[cycle + 1];
+        touchedCount = 0;
+        stamp++;
+
+        double delta = 0;
+        int m = 0;
+        for (int i = from; i < to; i += 2) {
+            int u = cycleCities[i];
+            int v = cycleCities[i + 1];
+            touch(a, u);
+            touch(a, v);
+            replace(a, u, v, -1);
+            replace(a, v, u, -1);
+            delta -= dist.dist(u, v);
+            int pu = pos[u], pv = pos[v];
+            cuts[m++] = pv == pu + 1 ? pu : pu == pv + 1 ? pv : n - 1;
+        }
+        for (int i = from + 1; i < to; i += 2) {
+            int u = cycleCities[i];
+            int v = cycleCities[i + 1 < to ? i + 1 : from];
+            replace(a, u, -1, v);
+            replace(a, v, -1, u);
+            delta += dist.dist(u, v);
+        }
+
+        int subtours = labelSubtours(a, m);
+        for (int remaining = subtours; remaining > 1; remaining--) {
+            delta += joinSmallest(a, m, subtours);
+        }
+        return delta;
+    }
+
+    /**
+     * Identifica os subciclos do filho percorrendo apenas os segmentos de A entre cortes:
+     * o segmento s vai das posições cuts[s] + 1 a cuts[s + 1] e liga-se a outros pelas arestas de B.
+     *
+     * @return Número de subciclos.
+     */
+    private int labelSubtours(int[] a, int m) {
+        Arrays.sort(cuts, 0, m);
+        Arrays.fill(segmentLabel, 0, m, -1);
+        int subtours = 0;
+        for (int s = 0; s < m; s++) {
+            if (segmentLabel[s] >= 0) continue;
+            int id = subtours++;
+            int size = 0;
+            int t = s;
+            boolean forward = true;
+            int first = order[(cuts[s] + 1) % n];
+            // Entrada fictícia pela aresta de B da primeira cidade, para sair pela outra ponta
+            int entry = segmentLength(t, m) == 1 ? a[2 * first + 1] : outsideNeighbor(a, first, true);
+            while (true) {
+                segmentLabel[t] = id;
+                size += segmentLength(t, m);
+                int exit = forward ? segmentEnd(t, m) : order[(cuts[t] + 1) % n];
+                int next = segmentLength(t, m) == 1
+                        ? (a[2 * exit] != entry ? a[2 * exit] : a[2 * exit + 1])
+                        : outsideNeighbor(a, exit, !forward);
+                t = segmentOf(next, m);
+                if (segmentLabel[t] == id) break;
+                forward = next == order[(cuts[t] + 1) % n];
+                entry = exit;
+            }
+            parent[id] = id;
+            subtourSize[id] = size;
+            subtourCity[id] = first;
+        }
+        return subtours;
+    }
+
+    /**
+     * Vizinho de uma ponta de segmento (com mais de uma cidade) fora do segmento.
+     *
+     * @param atStart true se c é a primeira cidade do segmento.
+     */
+    private int outsideNeighbor(int[] a, int c, boolean atStart) {
+        int p = pos[c] + (atStart ? 1 : -1);
+        int inside = order[p == n ? 0 : p < 0 ? n - 1 : p];
+        return a[2 * c] != inside ? a[2 * c] : a[2 * c + 1];
+    }
+
+    private int segmentLength(int s, int m) {
+        return s == m - 1 ? cuts[0] + n - cuts[m - 1] : cuts[s + 1] - cuts[s];
+    }
+
+    private int segmentEnd(int s, int m) {
+        return order[s == m - 1 ? cuts[0] : cuts[s + 1]];
+    }
+
+    /**
+     * Segmento da cidade c: o último corte antes da sua posição (ou o último segmento, que dá a volta).
+     */
+    private int segmentOf(int c, int m) {
+        int p = pos[c];
+        int lo = 0, hi = m - 1;
+        if (p <= cuts[0]) return m - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (cuts[mid] < p) lo = mid;
+            else hi = mid - 1;
+        }
+        return lo;
+    }
+
+    private int subtourOf(int c, int m) {
+        int s = segmentLabel[segmentOf(c, m)];
+        while (parent[s] != s) {
+            parent[s] = parent[parent[s]];
+            s = parent[s];
+        }
+        return s;
+    }
+
+    /**
+     * Une o subciclo mais pequeno a outro com a troca de duas arestas mais barata.
+     *
+     * @return Variação de comprimento.
+     */
+    private double joinSmallest(int[] a, int m, int subtours) {
+        int smallest = -1;
+        for (int s = 0; s < subtours; s++) {
+            if (parent[s] == s && (smallest < 0 || subtourSize[s] < subtourSize[smallest])) smallest = s;
+        }
+
+        joinDelta = Double.POSITIVE_INFINITY;
+        int start = subtourCity[smallest];
+        int previous = a[2 * start + 1];
+        int u = start;
+        do {
+            for (int k = 0; k < 2; k++) {
+                int un = a[2 * u + k];
+                for (int w : neighbors[u]) {
+                    if (subtourOf(w, m) != smallest) considerJoin(a, u, un, w);
+                }
+            }
+            int next = a[2 * u] != previous ? a[2 * u] : a[2 * u + 1];
+            previous = u;
+            u = next;
+        } while (u != start);
+
+        if (joinDelta == Double.POSITIVE_INFINITY) {
+            // Nenhum candidato fora do subciclo: procura em todas as cidades
+            for (int w = 0; w < n; w++) {
+                if (subtourOf(w, m) != smallest) considerJoin(a, start, a[2 * start], w);
+            }
+        }
+
+        int other = subtourOf(joinW, m);
+        touch(a, joinU);
+        touch(a, joinUn);
+        touch(a, joinW);
+        touch(a, joinWn);
+        int x = joinCrossed ? joinWn : joinW;
+        int y = joinCrossed ? joinW : joinWn;
+        replace(a, joinU, joinUn, x);
+        replace(a, joinUn, joinU, y);
+        replace(a, x, joinCrossed ? joinW : joinWn, joinU);
+        replace(a, y, joinCrossed ? joinWn : joinW, joinUn);
+
+        parent[smallest] = other;
+        subtourSize[other] += subtourSize[smallest];
+        return joinDelta;
+    }
+
+    /**
+     * Avalia as uniões que removem (u, un) e uma das arestas (w, wn).
+     */
+    private void considerJoin(int[] a, int u, int un, int w) {
+        double removed = dist.dist(u, un);
+        for (int k = 0; k < 2; k++) {
+            int wn = a[2 * w + k];
+            double base = -removed - dist.dist(w, wn);
+            double straight = base + dist.dist(u, w) + dist.dist(un, wn);
+            double crossed = base + dist.dist(u, wn) + dist.dist(un, w);
+            if (straight < joinDelta) {
+                joinDelta = straight;
+                joinU = u;
+                joinUn = un;
+                joinW = w;
+                joinWn = wn;
+                joinCrossed = false;
+            }
+            if (crossed < joinDelta) {
+                joinDelta = crossed;
+                joinU = u;
+                joinUn = un;
+                joinW = w;
+                joinWn = wn;
+                joinCrossed = true;
+            }
+        }
+    }
+
+    /**
+     * Guarda os vizinhos originais de c antes da primeira alteração no filho atual.
+     */
+    private void touch(int[] a, int c) {
+        if (touchStamp[c] == stamp) return;
+        touchStamp[c] = stamp;
+        touched[touchedCount] = c;
+        saved[2 * touchedCount] = a[2 * c];
+        saved[2 * touchedCount + 1] = a[2 * c + 1];
+        touchedCount++;
+    }
+
+    private void undo(int[] a) {
+        for (int i = 0; i < touchedCount; i++) {
+            int c = touched[i];
+            a[2 * c] = saved[2 * i];
+            a[2 * c + 1] = saved[2 * i + 1];
+        }
+    }
+
+    private static void replace(int[] a, int c, int from, int to) {
+        if (a[2 * c] == from) a[2 * c] = to;
+        else a[2 * c + 1] = to;
+    }
+}
@@ -0,0 +1,429 @@
+package com.grupo5.algorithms.localAndSearchHeuristics;
+
+import com.grupo5.algorithms.utils.ArrayTour;
+import com.grupo5.algorithms.utils.CandidateLists;
+import com.grupo5.algorithms.utils.DistanceOracle;
+import com.grupo5.algorithms.utils.DontLookBits;
+import com.grupo5.algorithms.utils.Utils;
+
+import java.util.*;
+
+import static com.grupo5.algorithms.utils.Utils.calculatePathCost;
+
+/**
+ * Implementa cadeias de ejeção com a estrutura de referência "stem-and-cycle" (Rego, 1998)
+ * para o Problema do Caixeiro Viajante (TSP).
+ *
+ * Uma estrutura stem-and-cycle é um ciclo mais um caminho (stem) ligado ao ciclo na raiz r e
+ * terminado na ponta t. Cada ejeção acrescenta uma aresta (t, p) e remove uma aresta (p, q):
+ * - se p estiver no stem, q é o vizinho de p do lado da ponta (ejeção no stem);
+ * - se p estiver no ciclo, q é um dos seus vizinhos no ciclo (ejeção no ciclo).
+ * Em ambos os casos q passa a ser a nova ponta. Em cada nível avaliam-se as duas soluções de teste
+ * (ligar t a um dos vizinhos de r no ciclo e remover a aresta correspondente) e, no fim da cadeia,
+ * aplica-se a melhor, se melhorar o tour.
+ *
+ * A estrutura é guardada no próprio {@link ArrayTour}: o caminho Hamiltoniano s1 → ... → r → ... → t
+ * fechado pela aresta virtual (t, s1), mais a aresta (s1, r) que fecha o ciclo. Assim cada ejeção
+ * é uma troca de 2 ou 3 arestas no tour partilhado.
+ */
+public class EjectionChain {
+
+    /** Número máximo de ejeções numa cadeia. */
+    private static final int MAX_LEVELS = 15;
+
+    /** Número de alternativas testadas para a primeira aresta acrescentada. */
+    private static final int FIRST_BREADTH = 3;
+
+    /** Tolerância numérica para considerar um ganho positivo. */
+    private static final double EPS = 1e-9;
+
+    /**
+     * Aplica cadeias de ejeção até não haver mais melhorias.
+     *
+     * @param tour Tour inicial (deve estar fechado: a primeira cidade repetida no fim).
+     * @return Tour melhorado.
+     */
+    public static List<Utils.City> ejectionChain(List<Utils.City> tour) {
+        int n = tour.size() - 1;
+        if (n < 8) return new ArrayList<>(tour);
+
+        List<Utils.City> cities = new ArrayList<>(tour.subList(0, n));
+        DistanceOracle dist = new DistanceOracle(cities);
+        ArrayTour arrayTour = ArrayTour.identity(n);
+        int[][] neighbors = CandidateLists.buildWithQuadrants(dist, CandidateLists.DEFAULT_K,
+                CandidateLists.DEFAULT_QUADRANT_K);
+
+        improve(dist, arrayTour, neighbors, DontLookBits.allActive(n));
+        return arrayTour.toClosedTour(cities);
+    }
+
+    /**
+     * Aplica cadeias de ejeção ao tour (no próprio tour) enquanto houver cidades ativas.
+     *
+     * @param dist      Oráculo de distâncias.
+     * @param tour      Tour a melhorar.
+     * @param neighbors Listas de candidatos.
+     * @param active    Cidades ativas; as extremidades das arestas alteradas são reativadas.
+     * @return true se o tour foi melhorado.
+     */
+    public static boolean improve(DistanceOracle dist, ArrayTour tour, int[][] neighbors, DontLookBits active) {
+        Chain chain = new Chain(dist, tour, neighbors);
+        double cost = tour.length(dist);
+        boolean improved = false;
+        while (!active.isEmpty()) {
+            int t = active.pop();
+            double gain = chain.improveFrom(t, cost);
+            if (gain > EPS) {
+                cost -= gain;
+                improved = true;
+                active.push(t);
+                for (int i = 0; i < chain.touchedCount; i++) {
+                    active.push(chain.touched[i]);
+                }
+            }
+        }
+        return improved;
+    }
+
+    /**
+     * Estado de uma cadeia de ejeção em curso.
+     */
+    private static final class Chain {
+        private final DistanceOracle dist;
+        private final ArrayTour tour;
+        private final int[][] neighbors;
+        private final int n;
+
+        // Estrutura atual: início do caminho, raiz e ponta; custo das arestas da estrutura
+        private int s1;
+        private int root;
+        private int tip;
+        private double structCost;
+
+        // Trocas aplicadas, as suas inversões (para desfazer) e estado da estrutura depois de cada nível
+        private final int[][] moves = new int[MAX_LEVELS + 1][6];
+        private final int[] moveK = new int[MAX_LEVELS + 1];
+        private final int[][] moveFlips = new int[MAX_LEVELS + 1][8 * 3];
+        private final int[] moveFlipCount = new int[MAX_LEVELS + 1];
+        private final int[] levelS1 = new int[MAX_LEVELS + 1];
+        private final int[] levelRoot = new int[MAX_LEVELS + 1];
+        private final int[] levelTip = new int[MAX_LEVELS + 1];
+        private int levels;
+
+        // Arestas acrescentadas/removidas na cadeia (pares consecutivos)
+        private final int[] added = new int[2 * (MAX_LEVELS + 1)];
+        private final int[] removed = new int[2 * (MAX_LEVELS + 1)];
+        private int addedCount;
+        private int removedCount;
+
+        // Melhor solução de teste da cadeia
+        private double bestCost;
+        private int bestLevel;
+        private int bestTrial;
+
+        private final int[] touched = new int[6 * (MAX_LEVELS + 2)];
+        private int touchedCount;
+
+        // Candidatos da primeira ejeção
+        private final int[] firstP;
+        private final double[] firstValue;
+
+        Chain(DistanceOracle dist, ArrayTour tour, int[][] neighbors) {
+            this.dist = dist;
+            this.tour = tour;
+            this.neighbors = neighbors;
+            this.n = tour.size();
+            int k = 0;
+            for (int[] list : neighbors) k = Math.max(k, list.length);
+            this.firstP = new int[k];
+            this.firstValue = new double[k];
+        }
+
+        /**
+         * Tenta cadeias de ejeção com ponta inicial t.
+         *
+         * @param t        Cidade inicial (ponta).
+         * @param tourCost Custo atual do tour.
+         * @return Ganho obtido (0 se nenhuma cadeia melhorou o tour).
+         */
+        double improveFrom(int t, double tourCost) {
+            for (int side = 0; side < 2; side++) {
+                int first = side == 0 ? tour.next(t) : tour.prev(t);
+                double removedCost = dist.dist(t, first);
+
+                // Caminho first → ... → t; candidatos p para a aresta (t, p), ordenados por d(t,p) - d(p, pn)
+                s1 = first;
+                tip = t;
+                int count = 0;
+                for (int p : neighbors[t]) {
+                    double dtp = dist.dist(t, p);
+                    if (dtp >= removedCost - EPS) break; // critério do ganho
+                    if (p == s1 || p == pathPrev(t)) continue;
+                    double value = dtp - dist.dist(p, pathNext(p));
+                    int i = count++;
+                    while (i > 0 && firstValue[i - 1] > value) {
+                        firstP[i] = firstP[i - 1];
+                        firstValue[i] = firstValue[i - 1];
+                        i--;
+                    }
+                    firstP[i] = p;
+                    firstValue[i] = value;
+                }
+
+                for (int c = 0; c < count && c < FIRST_BREADTH; c++) {
+                    double gain = runChain(t, first, firstP[c], tourCost);
+                    if (gain > EPS) return gain;
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * Executa uma cadeia que começa por remover (t, first) e acrescentar (t, p).
+         */
+        private double runChain(int t, int first, int p, double tourCost) {
+            levels = 0;
+            addedCount = 0;
+            removedCount = 0;
+            touchedCount = 0;
+            bestCost = tourCost - EPS;
+            bestLevel = -1;
+
+            // Nível 0: o caminho first..t com a aresta (t, p) forma a primeira estrutura
+            s1 = first;
+            tip = t;
+            int pn = pathNext(p);
+            pushEdge(removed, removedCount++, t, first);
+            pushEdge(added, addedCount++, t, p);
+            structCost = tourCost - dist.dist(t, first) + dist.dist(t, p);
+            applyMove(4, p, pn, first, t, 0, 0);
+            s1 = pn;
+            root = p;
+            tip = first;
+            saveLevel();
+            evaluateTrials();
+
+            while (levels <= MAX_LEVELS && ejectBest(tourCost)) {
+                evaluateTrials();
+            }
+
+            if (bestLevel < 0) {
+                undoTo(0);
+                return 0;
+            }
+
+            // Volta à estrutura do melhor nível e aplica a solução de teste correspondente
+            undoTo(bestLevel + 1);
+            s1 = levelS1[bestLevel];
+            root = levelRoot[bestLevel];
+            tip = levelTip[bestLevel];
+            for (int l = 0; l <= bestLevel; l++) {
+                addTouched(moves[l], moveK[l]);
+            }
+            if (bestTrial == 2) {
+                // Remove (rp, r) e (t, s1), acrescenta (rp, t) e (r, s1)
+                int rp = pathPrev(root);
+                int[] trial = {rp, root, s1, tip};
+                tour.twoOptMove(rp, root, tip, s1);
+                addTouched(trial, 2);
+            }
+            return tourCost - bestCost;
+        }
+
+        /**
+         * Avalia as duas soluções de teste da estrutura atual.
+         */
+        private void evaluateTrials() {
+            // Teste 1: remove (s1, r) e liga a ponta a s1 (o próprio ArrayTour)
+            double trial1 = structCost - dist.dist(root, s1) + dist.dist(tip, s1);
+            if (trial1 < bestCost) {
+                bestCost = trial1;
+                bestLevel = levels - 1;
+                bestTrial = 1;
+            }
+            // Teste 2: remove (rp, r), com rp o vizinho de r no caminho, e liga a ponta a rp
+            int rp = pathPrev(root);
+            double trial2 = structCost - dist.dist(rp, root) + dist.dist(tip, rp);
+            if (trial2 < bestCost) {
+                bestCost = trial2;
+                bestLevel = levels - 1;
+                bestTrial = 2;
+            }
+        }
+
+        /**
+         * Escolhe e aplica a ejeção com menor custo da estrutura resultante.
+         *
+         * @return false se não houver ejeção válida que respeite o critério do ganho.
+         */
+        private boolean ejectBest(double tourCost) {
+            int m = rel(root);
+            int bestP = -1, bestQ = -1;
+            boolean bestOnCycle = false;
+            double bestDelta = tourCost - structCost - EPS;
+
+            int tipPrev = pathPrev(tip);
+            for (int p : neighbors[tip]) {
+                double dtp = dist.dist(tip, p);
+                if (dtp >= bestDelta + dist.dist(p, pathPrev(p)) + dist.dist(p, pathNext(p))) continue;
+                if (p == tipPrev) continue;
+                if (contains(removed, removedCount, tip, p)) continue;
+                int i = rel(p);
+
+                // Ejeção no stem: remove (p, q) com q do lado da ponta
+                if (i >= m) {
+                    int q = pathNext(p);
+                    double delta = dtp - dist.dist(p, q);
+                    if (delta < bestDelta && !contains(added, addedCount, p, q)) {
+                        bestDelta = delta;
+                        bestP = p;
+                        bestQ = q;
+                        bestOnCycle = false;
+                    }
+                }
+                // Ejeção no ciclo: remove (p, q) com q vizinho de p no caminho s1..r
+                if (i <= m) {
+                    if (i <= m - 2) {
+                        int q = pathNext(p);
+                        double delta = dtp - dist.dist(p, q);
+                        if (delta < bestDelta && !contains(added, addedCount, p, q)) {
+                            bestDelta = delta;
+                            bestP = p;
+                            bestQ = q;
+                            bestOnCycle = true;
+                        }
+                    }
+                    if (i >= 1) {
+                        int q = pathPrev(p);
+                        double delta = dtp - dist.dist(p, q);
+                        if (delta < bestDelta && !contains(added, addedCount, p, q)) {
+                            bestDelta = delta;
+                            bestP = p;
+                            bestQ = q;
+                            bestOnCycle = true;
+                        }
+                    }
+                }
+            }
+            if (bestP < 0 || levels > MAX_LEVELS) return false;
+
+            int p = bestP, q = bestQ;
+            if (!bestOnCycle) {
+                if (!applyMove(4, p, q, s1, tip, 0, 0)) return false;
+            } else {
+                int afterRoot = pathNext(root);
+                boolean applied = q == pathNext(p)
+                        ? applyMove(6, p, q, afterRoot, root, s1, tip)
+                        : applyMove(6, q, p, tip, s1, root, afterRoot);
+                if (!applied) return false;
+                s1 = afterRoot;
+            }
+            pushEdge(added, addedCount++, tip, p);
+            pushEdge(removed, removedCount++, p, q);
+            structCost += bestDelta;
+            tip = q;
+            saveLevel();
+            return true;
+        }
+
+        /**
+         * Aplica uma troca sequencial de size/2 arestas como sequência de inversões
+         * (ver {@link ArrayTour#applyKOpt(int[], int, int[])}), guardadas para a poder desfazer.
+         */
+        private boolean applyMove(int size, int a, int b, int c, int d, int e, int f) {
+            int[] move = moves[levels];
+            move[0] = a;
+            move[1] = b;
+            move[2] = c;
+            move[3] = d;
+            move[4] = e;
+            move[5] = f;
+            int k = size / 2;
+            if (!tour.isFeasibleKOpt(move, k)) return false;
+            moveFlipCount[levels] = tour.applyKOpt(move, k, moveFlips[levels]);
+            moveK[levels] = k;
+            return true;
+        }
+
+        private void saveLevel() {
+            levelS1[levels] = s1;
+            levelRoot[levels] = root;
+            levelTip[levels] = tip;
+            levels++;
+        }
+
+        /**
+         * Desfaz as trocas até restarem apenas keep níveis aplicados, invertendo de novo as
+         * inversões de cada nível pela ordem contrária.
+         */
+        private void undoTo(int keep) {
+            while (levels > keep) {
+                levels--;
+                tour.undoFlips(moveFlips[levels], moveFlipCount[levels]);
+            }
+        }
+
+        /** Posição de c no caminho s1 → ... → tip. */
+        private int rel(int c) {
+            int d = tour.prev(s1) == tip
+                    ? tour.position(c) - tour.position(s1)
+                    : tour.position(s1) - tour.position(c);
+            return d < 0 ? d + n : d;
+        }
+
+        private int pathNext(int c) {
+            return tour.prev(s1) == tip ? tour.next(c) : tour.prev(c);
+        }
+
+        private int pathPrev(int c) {
+            return tour.prev(s1) == tip ? tour.prev(c) : tour.next(c);
+        }
+
+        private void addTouched(int[] move, int k) {
+            for (int i = 0; i < 2 * k; i++) {
+                touched[touchedCount++] = move[i];
+            }
+        }
+
+        private static void pushEdge(int[] edges, int index, int a, int b) {
+            edges[2 * index] = a;
+            edges[2 * index + 1] = b;
+        }
+
+        private static boolean contains(int[] edges, int count, int a, int b) {
+            for (int i = 0; i < count; i++) {
+                int u = edges[2 * i], v = edges[2 * i + 1];
+                if ((u == a && v == b) || (u == b && v == a)) return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Executa as cadeias de ejeção com base num ficheiro .tsp e imprime o resultado.
+     *
+     * @param args Argumentos da linha de comandos (não utilizados).
+     */
+    public static void main(String[] args) {
+        List<Utils.City> cities = Utils.readTSPFile("src/main/resources/pr152.tsp");
+        if (cities.isEmpty()) {
+            System.out.println("Nenhuma cidade encontrada no ficheiro.");
+            return;
+        }
+
+        // Cria tour inicial (ordem original + ciclo fechado)
+        List<Utils.City> initialTour = new ArrayList<>(cities);
+        initialTour.add(cities.get(0));
+
+        System.out.println("Comprimento do tour inicial: " + calculatePathCost(initialTour));
+
+        List<Utils.City> improvedTour = ejectionChain(initialTour);
+        System.out.println("Comprimento do tour após cadeias de ejeção: " + calculatePathCost(improvedTour));
+
+        System.out.println("Tour:");
+        for (Utils.City city : improvedTour) {
+            System.out.print(city + " ");
+        }
+        System.out.println();
+    }
+}
@@ -0,0 +1,281 @@
+package com.grupo5.algorithms.localAndSearchHeuristics;
+
+import com.grupo5.algorithms.constructiveHeuristics.NearestNeighbor;
+import com.grupo5.algorithms.utils.ArrayTour;
+import com.grupo5.algorithms.utils.CandidateLists;
+import com.grupo5.algorithms.utils.DistanceOracle;
+import com.grupo5.algorithms.utils.DontLookBits;
+import com.grupo5.algorithms.utils.SpatialGrid;
+import com.grupo5.algorithms.utils.Utils;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import static com.grupo5.algorithms.utils.Utils.calculatePathCost;
+
+/**
+ * GRASP (Greedy Randomized Adaptive Search Procedure) para o Problema do Caixeiro Viajante (TSP).
+ *
+ * Cada iteração constrói um tour com o Nearest Neighbor aleatorizado por uma lista restrita de
+ * candidatos ({@link NearestNeighbor#randomizedTour}, parâmetro alpha) e melhora-o com 2-Opt +
+ * Or-Opt. As iterações correm em paralelo no pool fork-join comum e partilham as listas de
+ * candidatos e a grelha espacial (só leitura), construídas uma única vez.
+ *
+ * Os ótimos locais são oferecidos a um conjunto de elite partilhado, que guarda os melhores tours
+ * distintos (comparados na forma canónica: a começar na cidade 0 e orientados para o menor vizinho).
+ * A admissão só depende do comprimento e do índice da iteração, não da ordem de chegada, pelo
+ * que a mesma semente produz sempre o mesmo conjunto, seja qual for o número de threads. O
+ * conjunto de elite serve de fonte de tours iniciais bons e diversos para outros métodos.
+ */
+public class Grasp {
+
+    /** Número de iterações por omissão. */
+    public static final int DEFAULT_ITERATIONS = 64;
+
+    /** Grau de aleatoriedade da construção por omissão. */
+    public static final double DEFAULT_ALPHA = 0.1;
+
+    /** Tamanho do conjunto de elite por omissão. */
+    public static final int DEFAULT_ELITE_SIZE = 10;
+
+    /**
+     * Resultado do GRASP: o conjunto de elite, do melhor para o pior tour.
+     */
+    public static final class Summary {
+        /** Tours de elite (ciclos fechados), do mais curto para o mais longo. */
+        public final List<List<Utils.City>> elite;
+        /** Comprimentos dos tours de elite. */
+        public final double[] eliteCosts;
+        /** Número de iterações. */
+        public final int iterations;
+
+        Summary(List<List<Utils.City>> elite, double[] eliteCosts, int iterations) {
+            this.elite = elite;
+            this.eliteCosts = eliteCosts;
+            this.iterations = iterations;
+        }
+
+        /**
+         * @return Melhor tour encontrado (ciclo fechado).
+         */
+        public List<Utils.City> bestTour() {
+            return elite.get(0);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d iterações | elite: %d tours | melhor: %.2f | pior da elite: %.2f",
+                    iterations, elite.size(), eliteCosts[0], eliteCosts[eliteCosts.length - 1]);
+        }
+    }
+
+    /**
+     * Executa o GRASP com os valores por omissão.
+     *
+     * @param cities Lista de cidades a visitar.
+     * @return Melhor tour encontrado (ciclo fechado).
+     */
+    public static List<Utils.City> grasp(List<Utils.City> cities) {
+        if (cities.isEmpty()) return Collections.emptyList();
+        return run(cities, DEFAULT_ALPHA, DEFAULT_ITERATIONS, DEFAULT_ELITE_SIZE, MultiStart.DEFAULT_SEED).bestTour();
+    }
+
+    /**
+     * Executa o GRASP com os parâmetros indicados.
+     *
+     * @param cities     Lista de cidades a visitar (pelo menos uma).
+     * @param alpha      Grau de aleatoriedade da construção, em [0, 1].
+     * @param iterations Número de iterações (pelo menos 1).
+     * @param eliteSize  Tamanho máximo do conjunto de elite (pelo menos 1).
+     * @param seed       Semente de que derivam as sementes de cada iteração.
+     * @return Conjunto de elite.
+     */
+    public static Summary run(List<Utils.City> cities, double alpha, int iterations, int eliteSize, long seed) {
+        if (iterations < 1) throw new IllegalArgumentException("O número de iterações tem de ser pelo menos 1.");
+        if (eliteSize < 1) throw new IllegalArgumentException("O conjunto de elite tem de ter pelo menos 1 tour.");
+        if (alpha < 0 || alpha > 1) throw new IllegalArgumentException("alpha tem de estar em [0, 1].");
+        int n = cities.size();
+        if (n < 8) {
+            List<Utils.City> tour = new ArrayList<>(cities);
+            tour.add(cities.get(0));
+            return new Summary(List.of(tour), new double[]{calculatePathCost(tour)}, iterations);
+        }
+
+        List<Utils.City> shared = Collections.unmodifiableList(new ArrayList<>(cities));
+        DistanceOracle dist = new DistanceOracle(shared);
+        SpatialGrid grid = new SpatialGrid(dist);
+        int[][] neighbors = CandidateLists.build(dist, CandidateLists.DEFAULT_K);
+
+        SplittableRandom root = new SplittableRandom(seed);
+        long[] seeds = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            seeds[i] = root.nextLong();
+        }
+
+        EliteSet elite = new EliteSet(eliteSize);
+        ForkJoinPool.commonPool().invoke(new IterationTask(dist, grid, neighbors, alpha, seeds, elite, 0, iterations));
+
+        List<EliteSet.Entry> entries = elite.entries();
+        List<List<Utils.City>> tours = new ArrayList<>(entries.size());
+        double[] costs = new double[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            tours.add(new ArrayTour(entries.get(i).order).toClosedTour(shared));
+            costs[i] = entries.get(i).length;
+        }
+        return new Summary(tours, costs, iterations);
+    }
+
+    /**
+     * Melhores tours distintos, ordenados por (comprimento, iteração). Um tour entra se houver
+     * espaço ou se for melhor que o pior; se já lá estiver, fica com o menor índice de iteração.
+     */
+    private static final class EliteSet {
+
+        static final class Entry {
+            final int[] order;
+            final double length;
+            final int iteration;
+
+            Entry(int[] order, double length, int iteration) {
+                this.order = order;
+                this.length = length;
+                this.iteration = iteration;
+            }
+
+            boolean before(Entry other) {
+                return length < other.length || (length == other.length && iteration < other.iteration);
+            }
+        }
+
+        private final int capacity;
+        private final List<Entry> entries = new ArrayList<>();
+        /** Comprimento do pior tour quando o conjunto está cheio (consultado sem lock). */
+        private volatile double threshold = Double.POSITIVE_INFINITY;
+
+        EliteSet(int capacity) {
+            this.capacity = capacity;
+        }
+
+        void offer(int[] order, double length, int iteration) {
+            if (length > threshold) return;
+            synchronized (this) {
+                Entry entry = new Entry(order, length, iteration);
+                for (int i = 0; i < entries.size(); i++) {
+                    Entry other = entries.get(i);
+                    if (other.length == length && Arrays.equals(other.order, order)) {
+                        if (iteration < other.iteration) {
+                            entries.remove(i);
+                            insert(entry);
+                        }
+                        return;
+                    }
+                }
+                if (entries.size() == capacity) {
+                    if (!entry.before(entries.get(capacity - 1))) return;
+                    entries.remove(capacity - 1);
+                }
+                insert(entry);
+                if (entries.size() == capacity) threshold = entries.get(capacity - 1).length;
+            }
+        }
+
+        private void insert(Entry entry) {
+            int i = entries.size();
+            while (i > 0 && entry.before(entries.get(i - 1))) i--;
+            entries.add(i, entry);
+        }
+
+        synchronized List<Entry> entries() {
+            return new ArrayList<>(entries);
+        }
+    }
+
+    /**
+     * Executa as iterações [from, to), dividindo o intervalo ao meio até sobrar uma iteração.
+     */
+    private static final class IterationTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final DistanceOracle dist;
+        private final SpatialGrid grid;
+        private final int[][] neighbors;
+        private final double alpha;
+        private final long[] seeds;
+        private final EliteSet elite;
+        private final int from;
+        private final int to;
+
+        IterationTask(DistanceOracle dist, SpatialGrid grid, int[][] neighbors, double alpha, long[] seeds,
+                      EliteSet elite, int from, int to) {
+            this.dist = dist;
+            this.grid = grid;
+            this.neighbors = neighbors;
+            this.alpha = alpha;
+            this.seeds = seeds;
+            this.elite = elite;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new IterationTask(dist, grid, neighbors, alpha, seeds, elite, from, mid),
+                        new IterationTask(dist, grid, neighbors, alpha, seeds, elite, mid, to));
+                return;
+            }
+            SplittableRandom random = new SplittableRandom(seeds[from]);
+            ArrayTour tour = new ArrayTour(NearestNeighbor.randomizedTour(dist, grid, neighbors, alpha, random));
+            Opt2Or.improve(dist, tour, neighbors, DontLookBits.allActive(dist.size()));
+
+            int[] order = canonical(tour);
+            double length = 0;
+            for (int p = 0; p < order.length; p++) {
+                length += dist.dist(order[p], order[p + 1 == order.length ? 0 : p + 1]);
+            }
+            elite.offer(order, length, from);
+        }
+    }
+
+    /**
+     * Ordem de visita a começar na cidade 0, no sentido do seu vizinho de menor índice.
+     */
+    private static int[] canonical(ArrayTour tour) {
+        int n = tour.size();
+        boolean forward = tour.next(0) < tour.prev(0);
+        int[] order = new int[n];
+        int c = 0;
+        for (int p = 0; p < n; p++) {
+            order[p] = c;
+            c = forward ? tour.next(c) : tour.prev(c);
+        }
+        return order;
+    }
+
+    /**
+     * Executa o GRASP com base num ficheiro .tsp e imprime o resultado.
+     *
+     * @param args Argumentos da linha de comandos (não utilizados).
+     */
+    public static void main(String[] args) {
+        List<Utils.City> cities = Utils.readTSPFile("src/main/resources/a280.tsp");
+
+        if (cities.isEmpty()) {
+            System.out.println("Nenhuma cidade encontrada no ficheiro.");
+            return;
+        }
+
+        Summary summary = run(cities, DEFAULT_ALPHA, DEFAULT_ITERATIONS, DEFAULT_ELITE_SIZE, MultiStart.DEFAULT_SEED);
+
+        System.out.println("GRASP Tour:");
+        for (Utils.City city : summary.bestTour()) {
+            System.out.print(city + " ");
+        }
+        System.out.println();
+        System.out.println(summary);
+
+        System.out.println("Custo total do tour: " + summary.eliteCosts[0]);
+    }
+}
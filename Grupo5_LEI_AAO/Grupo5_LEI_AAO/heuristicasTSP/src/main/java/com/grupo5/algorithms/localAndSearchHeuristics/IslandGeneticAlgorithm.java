@@ -0,0 +1,320 @@
+package com.grupo5.algorithms.localAndSearchHeuristics;
+
+import com.grupo5.algorithms.constructiveHeuristics.RandomInsertion;
+import com.grupo5.algorithms.constructiveHeuristics.RandomPathConstruction;
+import com.grupo5.algorithms.utils.ArrayTour;
+import com.grupo5.algorithms.utils.CandidateLists;
+import com.grupo5.algorithms.utils.DistanceOracle;
+import com.grupo5.algorithms.utils.DontLookBits;
+import com.grupo5.algorithms.utils.Utils;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static com.grupo5.algorithms.utils.Utils.calculatePathCost;
+
+/**
+ * Algoritmo genético em ilhas com cruzamento EAX ({@link EdgeAssemblyCrossover}) para o
+ * Problema do Caixeiro Viajante (TSP).
+ *
+ * Cada ilha corre na sua própria thread com uma população independente, iniciada com tours das
+ * heurísticas construtivas aleatorizadas seguidos de 2-Opt. Em cada geração a população é
+ * baralhada e cada indivíduo A cruza com o seguinte B; o melhor filho substitui A se for mais curto.
+ * Os indivíduos são arrays de adjacência int[2n] e cada ilha reutiliza o seu espaço de trabalho do
+ * EAX, pelo que as ilhas não partilham nada mutável além das filas de migração.
+ *
+ * As ilhas formam um anel: a cada {@link #MIGRATION_INTERVAL} gerações cada ilha envia uma cópia do
+ * seu melhor indivíduo para a fila da seguinte ({@link ConcurrentLinkedQueue}) e espera pelas outras
+ * numa barreira ({@link Phaser}); depois recolhe os que lhe chegaram, que substituem os seus piores
+ * indivíduos, e espera de novo antes de continuar, para que nenhuma ilha envie a migração seguinte
+ * antes de todas terem recolhido a atual. Uma ilha termina ao fim do número de gerações indicado ou
+ * quando o seu melhor tour não melhora durante {@link #STAGNATION_LIMIT} gerações, e sai então da
+ * barreira. Assim cada ilha recebe sempre os mesmos migrantes nas mesmas gerações e, para a mesma
+ * semente e o mesmo número de ilhas, o resultado não depende do escalonamento das threads.
+ */
+public class IslandGeneticAlgorithm {
+
+    /** Número de ilhas por omissão (fixo, para o resultado não depender da máquina). */
+    public static final int DEFAULT_ISLANDS = 4;
+
+    /** Indivíduos por ilha por omissão. */
+    public static final int DEFAULT_POPULATION = 30;
+
+    /** Número máximo de gerações por omissão. */
+    public static final int DEFAULT_GENERATIONS = 1000;
+
+    /** Número de filhos gerados por cada par de pais. */
+    private static final int CHILDREN = 20;
+
+    /** Gerações entre migrações. */
+    private static final int MIGRATION_INTERVAL = 10;
+
+    /** Gerações sem melhoria ao fim das quais uma ilha termina. */
+    private static final int STAGNATION_LIMIT = 50;
+
+    /**
+     * Executa o algoritmo com {@link #DEFAULT_ISLANDS} ilhas, {@link #DEFAULT_POPULATION}
+     * indivíduos por ilha iniciados com Random Insertion e Random Path Construction, e a semente
+     * {@link MultiStart#DEFAULT_SEED}.
+     *
+     * @param cities Lista de cidades a visitar.
+     * @return Melhor tour encontrado (ciclo fechado).
+     */
+    public static List<Utils.City> islandGeneticAlgorithm(List<Utils.City> cities) {
+        return run(cities, List.of(RandomInsertion::randomInsertion, RandomPathConstruction::randomPathTour),
+                DEFAULT_ISLANDS, DEFAULT_POPULATION, DEFAULT_GENERATIONS, MultiStart.DEFAULT_SEED);
+    }
+
+    /**
+     * Executa o algoritmo com os parâmetros indicados.
+     *
+     * @param cities        Lista de cidades a visitar.
+     * @param constructions Construções usadas, à vez, para iniciar as populações (cada tour é
+     *                      depois melhorado com 2-Opt).
+     * @param islands       Número de ilhas (uma thread por ilha).
+     * @param population    Indivíduos por ilha (pelo menos 2).
+     * @param generations   Número máximo de gerações por ilha.
+     * @param seed          Semente de que derivam as sementes das ilhas.
+     * @return Melhor tour encontrado (ciclo fechado).
+     */
+    public static List<Utils.City> run(List<Utils.City> cities, List<MultiStart.Construction> constructions,
+                                       int islands, int population, int generations, long seed) {
+        if (islands < 1) throw new IllegalArgumentException("O número de ilhas tem de ser pelo menos 1.");
+        if (population < 2) throw new IllegalArgumentException("Cada ilha precisa de pelo menos 2 indivíduos.");
+        if (cities.isEmpty()) return Collections.emptyList();
+        int n = cities.size();
+        if (n < 8) {
+            List<Utils.City> tour = new ArrayList<>(cities);
+            tour.add(cities.get(0));
+            return tour;
+        }
+
+        List<Utils.City> shared = Collections.unmodifiableList(new ArrayList<>(cities));
+        DistanceOracle dist = new DistanceOracle(shared);
+        int[][] neighbors = CandidateLists.build(dist, CandidateLists.DEFAULT_K);
+
+        List<ConcurrentLinkedQueue<Individual>> inboxes = new ArrayList<>(islands);
+        for (int i = 0; i < islands; i++) {
+            inboxes.add(new ConcurrentLinkedQueue<>());
+        }
+        Phaser migration = new Phaser(islands);
+        SplittableRandom root = new SplittableRandom(seed);
+        List<Island> tasks = new ArrayList<>(islands);
+        for (int i = 0; i < islands; i++) {
+            tasks.add(new Island(i, dist, neighbors, constructions, population, generations, root.nextLong(),
+                    inboxes.get(i), inboxes.get((i + 1) % islands), migration));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(islands);
+        Individual best = null;
+        try {
+            for (Future<Individual> result : pool.invokeAll(tasks)) {
+                Individual individual = result.get();
+                if (best == null || individual.length < best.length) best = individual;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return toClosedTour(best.adjacency, shared);
+    }
+
+    /**
+     * Tour como array de adjacência: adjacency[2c] e adjacency[2c + 1] são os vizinhos de c.
+     */
+    private static final class Individual {
+        final int[] adjacency;
+        double length;
+
+        Individual(int[] adjacency, double length) {
+            this.adjacency = adjacency;
+            this.length = length;
+        }
+
+        Individual copy() {
+            return new Individual(adjacency.clone(), length);
+        }
+    }
+
+    /**
+     * Uma ilha: população, espaço de trabalho do EAX, filas de migração e barreira partilhada.
+     */
+    private static final class Island implements Callable<Individual> {
+        private final int id;
+        private final DistanceOracle dist;
+        private final int[][] neighbors;
+        private final List<MultiStart.Construction> constructions;
+        private final Individual[] population;
+        private final int generations;
+        private final SplittableRandom random;
+        private final Queue<Individual> inbox;
+        private final Queue<Individual> outbox;
+        private final Phaser migration;
+
+        Island(int id, DistanceOracle dist, int[][] neighbors, List<MultiStart.Construction> constructions,
+               int population, int generations, long seed, Queue<Individual> inbox, Queue<Individual> outbox,
+               Phaser migration) {
+            this.id = id;
+            this.dist = dist;
+            this.neighbors = neighbors;
+            this.constructions = constructions;
+            this.population = new Individual[population];
+            this.generations = generations;
+            this.random = new SplittableRandom(seed);
+            this.inbox = inbox;
+            this.outbox = outbox;
+            this.migration = migration;
+        }
+
+        @Override
+        public Individual call() {
+            try {
+                return evolve();
+            } finally {
+                // As restantes ilhas deixam de esperar por esta nas migrações seguintes
+                migration.arriveAndDeregister();
+            }
+        }
+
+        private Individual evolve() {
+            initialize();
+            EdgeAssemblyCrossover eax = new EdgeAssemblyCrossover(dist, neighbors);
+            int size = population.length;
+            int[] shuffle = new int[size];
+            for (int i = 0; i < size; i++) {
+                shuffle[i] = i;
+            }
+
+            Individual best = population[best()];
+            double bestLength = best.length;
+            int stagnant = 0;
+            for (int generation = 1; generation <= generations && stagnant < STAGNATION_LIMIT; generation++) {
+                for (int i = size - 1; i > 0; i--) {
+                    int j = random.nextInt(i + 1);
+                    int t = shuffle[i];
+                    shuffle[i] = shuffle[j];
+                    shuffle[j] = t;
+                }
+                for (int i = 0; i < size; i++) {
+                    Individual a = population[shuffle[i]];
+                    Individual b = population[shuffle[(i + 1) % size]];
+                    double length = eax.cross(a.adjacency, a.length, b.adjacency, CHILDREN, random);
+                    if (length < a.length) a.length = length;
+                }
+
+                if (generation % MIGRATION_INTERVAL == 0) migrate();
+                best = population[best()];
+                if (best.length < bestLength) {
+                    bestLength = best.length;
+                    stagnant = 0;
+                } else {
+                    stagnant++;
+                }
+            }
+            return best.copy();
+        }
+
+        /**
+         * População inicial: construção (uma das indicadas, à vez) seguida de 2-Opt.
+         */
+        private void initialize() {
+            int n = dist.size();
+            List<Utils.City> cities = dist.cities();
+            Map<Utils.City, Integer> index = new IdentityHashMap<>(2 * n);
+            for (int c = 0; c < n; c++) {
+                index.put(cities.get(c), c);
+            }
+
+            int[] order = new int[n];
+            for (int i = 0; i < population.length; i++) {
+                MultiStart.Construction construction = constructions.get((id * population.length + i) % constructions.size());
+                List<Utils.City> tour = construction.build(cities, new Random(random.nextLong()));
+                for (int p = 0; p < n; p++) {
+                    order[p] = index.get(tour.get(p));
+                }
+                ArrayTour arrayTour = new ArrayTour(order);
+                Opt2Or.improveTwoOpt(dist, arrayTour, neighbors, DontLookBits.allActive(n));
+
+                int[] adjacency = new int[2 * n];
+                for (int c = 0; c < n; c++) {
+                    adjacency[2 * c] = arrayTour.prev(c);
+                    adjacency[2 * c + 1] = arrayTour.next(c);
+                }
+                population[i] = new Individual(adjacency, arrayTour.length(dist));
+            }
+        }
+
+        /**
+         * Envia uma cópia do melhor indivíduo à ilha seguinte e, quando todas as ilhas ativas tiverem
+         * enviado, recebe os que chegaram, cada um no lugar do pior indivíduo (se for melhor que ele e
+         * não tiver o comprimento de nenhum outro). Só continua quando todas tiverem recebido.
+         */
+        private void migrate() {
+            outbox.offer(population[best()].copy());
+            migration.arriveAndAwaitAdvance();
+            Individual migrant;
+            while ((migrant = inbox.poll()) != null) {
+                int worst = 0;
+                boolean duplicate = false;
+                for (int i = 0; i < population.length; i++) {
+                    if (population[i].length > population[worst].length) worst = i;
+                    if (population[i].length == migrant.length) duplicate = true;
+                }
+                if (!duplicate && migrant.length < population[worst].length) population[worst] = migrant;
+            }
+            migration.arriveAndAwaitAdvance();
+        }
+
+        private int best() {
+            int best = 0;
+            for (int i = 1; i < population.length; i++) {
+                if (population[i].length < population[best].length) best = i;
+            }
+            return best;
+        }
+    }
+
+    private static List<Utils.City> toClosedTour(int[] adjacency, List<Utils.City> cities) {
+        int n = cities.size();
+        List<Utils.City> tour = new ArrayList<>(n + 1);
+        int previous = adjacency[1];
+        int current = 0;
+        for (int p = 0; p < n; p++) {
+            tour.add(cities.get(current));
+            int next = adjacency[2 * current] != previous ? adjacency[2 * current] : adjacency[2 * current + 1];
+            previous = current;
+            current = next;
+        }
+        tour.add(cities.get(0));
+        return tour;
+    }
+
+    /**
+     * Executa o algoritmo genético com base num ficheiro .tsp e imprime o resultado.
+     *
+     * @param args Argumentos da linha de comandos (não utilizados).
+     */
+    public static void main(String[] args) {
+        List<Utils.City> cities = Utils.readTSPFile("src/main/resources/a280.tsp");
+
+        if (cities.isEmpty()) {
+            System.out.println("Nenhuma cidade encontrada no ficheiro.");
+            return;
+        }
+
+        List<Utils.City> tour = islandGeneticAlgorithm(cities);
+
+        System.out.println("Island Genetic Algorithm (EAX) Tour:");
+        for (Utils.City city : tour) {
+            System.out.print(city + " ");
+        }
+        System.out.println();
+
+        double cost = calculatePathCost(tour);
+        System.out.println("Custo total do tour: " + cost);
+    }
+}
@@ -0,0 +1,214 @@
+package com.grupo5.algorithms.localAndSearchHeuristics;
+
+import com.grupo5.algorithms.utils.ArrayTour;
+import com.grupo5.algorithms.utils.CandidateLists;
+import com.grupo5.algorithms.utils.DistanceOracle;
+import com.grupo5.algorithms.utils.DontLookBits;
+import com.grupo5.algorithms.utils.Utils;
+
+import java.util.*;
+
+import static com.grupo5.algorithms.utils.Utils.calculatePathCost;
+
+/**
+ * Implementa a Pesquisa Local Iterada (ILS) para o Problema do Caixeiro Viajante (TSP).
+ *
+ * A partir de um ótimo local, repete: perturba o tour com um "double bridge" (kick), volta a
+ * otimizar só à volta das extremidades tocadas e decide se aceita o resultado.
+ *
+ * - O kick é local: escolhe-se uma cidade a e dois cortes a menos de {@link #KICK_WINDOW} posições
+ *   dela, e os dois segmentos entre os cortes trocam de ordem (A B C D passa a A C B D). Faz-se com
+ *   três inversões de no máximo KICK_WINDOW cidades, sem percorrer o tour.
+ * - A reotimização só ativa as 6 extremidades das arestas trocadas ("don't look bits"), pelo que
+ *   só a zona perturbada é analisada.
+ * - O comprimento é mantido pelo próprio tour a cada alteração e as alterações de uma iteração
+ *   rejeitada são desfeitas a partir do registo do tour (ver {@link ArrayTour#mark()}), sem cópias.
+ */
+public class IteratedLocalSearch {
+
+    /** Distância máxima (em posições) entre os cortes do kick. */
+    public static final int KICK_WINDOW = 50;
+
+    /** Número de kicks por cidade na execução por omissão. */
+    private static final int KICKS_PER_CITY = 10;
+
+    /** Tolerância numérica na comparação de comprimentos. */
+    private static final double EPS = 1e-9;
+
+    /**
+     * Critério de aceitação do tour obtido depois de um kick e da reotimização.
+     */
+    @FunctionalInterface
+    public interface Acceptance {
+        /**
+         * @param candidate Comprimento do novo tour.
+         * @param current   Comprimento do tour antes do kick.
+         * @param best      Comprimento do melhor tour encontrado.
+         * @return true se o novo tour passa a ser o atual.
+         */
+        boolean accept(double candidate, double current, double best);
+    }
+
+    /** Aceita apenas tours estritamente melhores. */
+    public static final Acceptance BETTER = (candidate, current, best) -> candidate < current - EPS;
+
+    /** Aceita tours melhores ou iguais (permite derivar entre ótimos locais com o mesmo custo). */
+    public static final Acceptance BETTER_OR_EQUAL = (candidate, current, best) -> candidate <= current + EPS;
+
+    /**
+     * Aceita qualquer tour até uma fração acima do melhor encontrado.
+     *
+     * @param fraction Fração tolerada (por exemplo 0.01 para 1%).
+     * @return Critério de aceitação.
+     */
+    public static Acceptance withinOfBest(double fraction) {
+        return (candidate, current, best) -> candidate <= best * (1 + fraction) + EPS;
+    }
+
+    /**
+     * Executa a ILS com Lin-Kernighan, {@link #KICKS_PER_CITY} kicks por cidade e aceitação
+     * {@link #BETTER_OR_EQUAL}.
+     *
+     * @param tour Tour inicial (deve estar fechado: a primeira cidade repetida no fim).
+     * @return Melhor tour encontrado.
+     */
+    public static List<Utils.City> ils(List<Utils.City> tour) {
+        int n = tour.size() - 1;
+        return ils(tour, LinKernighanHeuristic::improve, KICKS_PER_CITY * Math.max(n, 0), BETTER_OR_EQUAL,
+                new Random(MultiStart.DEFAULT_SEED));
+    }
+
+    /**
+     * Executa a ILS com os parâmetros indicados.
+     *
+     * @param tour       Tour inicial (deve estar fechado).
+     * @param operator   Pesquisa local usada depois de cada kick.
+     * @param kicks      Número de kicks.
+     * @param acceptance Critério de aceitação.
+     * @param random     Gerador usado nos kicks.
+     * @return Melhor tour encontrado.
+     */
+    public static List<Utils.City> ils(List<Utils.City> tour, LocalSearchOperator operator, int kicks,
+                                       Acceptance acceptance, Random random) {
+        int n = tour.size() - 1;
+        if (n < 8) return new ArrayList<>(tour);
+
+        List<Utils.City> cities = new ArrayList<>(tour.subList(0, n));
+        DistanceOracle dist = new DistanceOracle(cities);
+        ArrayTour arrayTour = ArrayTour.identity(n);
+        int[][] neighbors = CandidateLists.buildWithQuadrants(dist, CandidateLists.DEFAULT_K,
+                CandidateLists.DEFAULT_QUADRANT_K);
+
+        operator.improve(dist, arrayTour, neighbors, DontLookBits.allActive(n));
+        int[] best = search(dist, arrayTour, neighbors, operator, kicks, acceptance, random);
+        return new ArrayTour(best).toClosedTour(cities);
+    }
+
+    /**
+     * Aplica a ILS a um tour que já é um ótimo local do operador (no próprio tour).
+     * No fim o tour fica no estado atual da pesquisa, que pode não ser o melhor; com critérios que
+     * aceitam tours piores, cada novo melhor tour é copiado (O(n)).
+     *
+     * @param dist       Oráculo de distâncias.
+     * @param tour       Tour inicial (ótimo local).
+     * @param neighbors  Listas de candidatos.
+     * @param operator   Pesquisa local usada depois de cada kick.
+     * @param kicks      Número de kicks.
+     * @param acceptance Critério de aceitação.
+     * @param random     Gerador usado nos kicks.
+     * @return Ordem de visita do melhor tour encontrado.
+     */
+    public static int[] search(DistanceOracle dist, ArrayTour tour, int[][] neighbors, LocalSearchOperator operator,
+                               int kicks, Acceptance acceptance, Random random) {
+        int n = tour.size();
+        int window = Math.min(KICK_WINDOW, n / 2);
+        DontLookBits active = new DontLookBits(n);
+        int[] kicked = new int[6];
+
+        // Com BETTER e BETTER_OR_EQUAL o tour atual é sempre um dos melhores e não é preciso copiá-lo
+        boolean monotone = acceptance == BETTER || acceptance == BETTER_OR_EQUAL;
+        tour.trackLength(dist);
+        double current = tour.trackedLength();
+        double bestLength = current;
+        int[] best = monotone ? null : tour.toArray();
+
+        tour.mark();
+        for (int iteration = 0; iteration < kicks; iteration++) {
+            kick(tour, random, window, kicked);
+            for (int c : kicked) active.push(c);
+            operator.improve(dist, tour, neighbors, active);
+
+            double candidate = tour.trackedLength();
+            if (acceptance.accept(candidate, current, bestLength)) {
+                current = candidate;
+                tour.mark();
+                if (candidate < bestLength - EPS) {
+                    bestLength = candidate;
+                    if (!monotone) best = tour.toArray();
+                }
+            } else {
+                tour.rollback();
+            }
+        }
+        return monotone ? tour.toArray() : best;
+    }
+
+    /**
+     * Double bridge local: com a cidade a, os segmentos B (posições 1..o1 depois de a) e C
+     * (posições o1+1..o2) trocam de ordem. Como o2 não passa de metade do tour, as inversões
+     * nunca invertem o lado complementar e o sentido do tour mantém-se.
+     *
+     * @param kicked Recebe as 6 extremidades das arestas trocadas.
+     */
+    private static void kick(ArrayTour tour, Random random, int window, int[] kicked) {
+        int n = tour.size();
+        int p = random.nextInt(n);
+        int o1 = 1 + random.nextInt(window - 1);
+        int o2 = o1 + 1 + random.nextInt(window - o1);
+        int a = tour.cityAt(p);
+        int b1 = tour.cityAt((p + 1) % n);
+        int b2 = tour.cityAt((p + o1) % n);
+        int c1 = tour.cityAt((p + o1 + 1) % n);
+        int c2 = tour.cityAt((p + o2) % n);
+        int d = tour.cityAt((p + o2 + 1) % n);
+
+        // A B C D -> A C' B' D -> A C B D
+        tour.reverse(b1, c2);
+        tour.reverse(c2, c1);
+        tour.reverse(b2, b1);
+
+        kicked[0] = a;
+        kicked[1] = b1;
+        kicked[2] = b2;
+        kicked[3] = c1;
+        kicked[4] = c2;
+        kicked[5] = d;
+    }
+
+    /**
+     * Executa a ILS com base num ficheiro .tsp e imprime o resultado.
+     *
+     * @param args Argumentos da linha de comandos (não utilizados).
+     */
+    public static void main(String[] args) {
+        List<Utils.City> cities = Utils.readTSPFile("src/main/resources/a280.tsp");
+        if (cities.isEmpty()) {
+            System.out.println("Nenhuma cidade encontrada no ficheiro.");
+            return;
+        }
+
+        List<Utils.City> initialTour = new ArrayList<>(cities);
+        initialTour.add(cities.get(0));
+
+        List<Utils.City> improvedTour = ils(initialTour);
+
+        System.out.println("Iterated Local Search Tour:");
+        for (Utils.City city : improvedTour) {
+            System.out.print(city + " ");
+        }
+        System.out.println();
+
+        double cost = calculatePathCost(improvedTour);
+        System.out.println("Custo total do tour: " + cost);
+    }
+}
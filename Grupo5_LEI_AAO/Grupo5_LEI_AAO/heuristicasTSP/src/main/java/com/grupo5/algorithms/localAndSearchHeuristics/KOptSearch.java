@@ -0,0 +1,203 @@
+package com.grupo5.algorithms.localAndSearchHeuristics;
+
+import com.grupo5.algorithms.utils.ArrayTour;
+import com.grupo5.algorithms.utils.DistanceOracle;
+import com.grupo5.algorithms.utils.DontLookBits;
+
+/**
+ * Pesquisa k-opt sequencial partilhada por {@link OptK} (k &gt;= 4) e {@link Opt5}.
+ *
+ * A partir de uma aresta (t1, t2), acrescenta arestas (t2i, t2i+1) com t2i+1 nos candidatos de t2i
+ * e remove uma das duas arestas do tour em t2i+1, mantendo o ganho parcial positivo. Os estados
+ * intermédios não precisam de ser tours: em cada nível tenta-se fechar com (t2i+2, t1) e o fecho
+ * só é aceite se melhorar o tour e se a reconexão der um único ciclo
+ * ({@link ArrayTour#isFeasibleKOpt(int[], int)}). O primeiro movimento melhorador é aplicado.
+ *
+ * Com maxSteps &gt; 0, quando nenhum fecho melhora o tour, o melhor k-opt válido com maxK trocas é
+ * aplicado provisoriamente e a pesquisa continua a partir da última extremidade, até maxSteps
+ * passos sem ganho; se a cadeia não terminar numa melhoria, os passos são desfeitos invertendo as
+ * suas inversões ({@link ArrayTour#undoFlips(int[], int)}).
+ */
+final class KOptSearch {
+
+    /** Tolerância numérica para considerar um ganho positivo. */
+    private static final double EPS = 1e-9;
+
+    private final DistanceOracle dist;
+    private final ArrayTour tour;
+    private final int[][] neighbors;
+    private final int maxK;
+    private final int maxSteps;
+    private final int[] t;
+
+    // Melhor k-opt válido não lucrativo encontrado no passo atual
+    private final int[] bestT;
+    private int bestK;
+    private double bestG;
+
+    // Inversões de cada passo já aplicado na cadeia (para desfazer)
+    private final int[][] stepFlips;
+    private final int[] stepFlipCount;
+    private final int[] flips;
+
+    // Extremidades das arestas alteradas pelo último movimento aceite
+    private final int[] touched;
+    private int touchedCount;
+
+    /**
+     * @param dist      Oráculo de distâncias.
+     * @param tour      Tour a melhorar (alterado no próprio objeto).
+     * @param neighbors Listas de candidatos, por ordem crescente de distância.
+     * @param maxK      Número máximo de arestas trocadas num movimento.
+     * @param maxSteps  Número máximo de movimentos sem ganho encadeados (0 para nenhum).
+     */
+    KOptSearch(DistanceOracle dist, ArrayTour tour, int[][] neighbors, int maxK, int maxSteps) {
+        this.dist = dist;
+        this.tour = tour;
+        this.neighbors = neighbors;
+        this.maxK = maxK;
+        this.maxSteps = maxSteps;
+        this.t = new int[2 * maxK];
+        this.bestT = new int[2 * maxK];
+        this.stepFlips = new int[maxSteps][8 * maxK];
+        this.stepFlipCount = new int[maxSteps];
+        this.flips = new int[8 * maxK];
+        this.touched = new int[2 * maxK * (maxSteps + 1)];
+    }
+
+    /**
+     * Aplica movimentos enquanto houver cidades ativas; as extremidades das arestas alteradas são
+     * reativadas.
+     *
+     * @param active Cidades ativas.
+     * @return true se o tour foi melhorado.
+     */
+    boolean improve(DontLookBits active) {
+        boolean improved = false;
+        while (!active.isEmpty()) {
+            int t1 = active.pop();
+            if (improveFrom(t1)) {
+                improved = true;
+                for (int i = 0; i < touchedCount; i++) {
+                    active.push(touched[i]);
+                }
+            }
+        }
+        return improved;
+    }
+
+    /**
+     * Tenta um movimento a partir de t1, com t2 de cada um dos lados de t1.
+     *
+     * @return true se o tour foi melhorado.
+     */
+    boolean improveFrom(int t1) {
+        for (int side = 0; side < 2; side++) {
+            int t2 = side == 0 ? tour.next(t1) : tour.prev(t1);
+            if (chain(t1, t2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Cadeia de movimentos a partir da aresta (t1, t2): sem maxSteps, é uma única pesquisa.
+     */
+    private boolean chain(int t1, int t2) {
+        double g = dist.dist(t1, t2);
+        int applied = 0;
+        touchedCount = 0;
+        while (true) {
+            t[0] = t1;
+            t[1] = t2;
+            bestK = 0;
+            bestG = EPS;
+            int k = extend(1, g);
+            if (k > 0) {
+                addTouched(t, k);
+                return true;
+            }
+            if (bestK == 0 || applied == maxSteps) break;
+
+            stepFlipCount[applied] = tour.applyKOpt(bestT, bestK, stepFlips[applied]);
+            applied++;
+            addTouched(bestT, bestK);
+            g = bestG;
+            t2 = bestT[2 * bestK - 1];
+        }
+
+        // Desfaz a cadeia, do último passo para o primeiro
+        while (applied > 0) {
+            applied--;
+            tour.undoFlips(stepFlips[applied], stepFlipCount[applied]);
+        }
+        return false;
+    }
+
+    /**
+     * Acrescenta a troca número level + 1. Já existem level arestas removidas e g é o ganho
+     * acumulado (custo removido menos custo acrescentado, sem o fecho).
+     *
+     * @return k do movimento aplicado, ou 0 se nenhum fecho melhorou o tour.
+     */
+    private int extend(int level, double g) {
+        int last = t[2 * level - 1];
+        for (int next : neighbors[last]) {
+            double g1 = g - dist.dist(last, next);
+            if (g1 <= EPS) break; // listas ordenadas: os seguintes também falham
+            if (next == tour.next(last) || next == tour.prev(last)) continue;
+            if (isAdded(level, last, next)) continue;
+
+            for (int side = 0; side < 2; side++) {
+                int after = side == 0 ? tour.next(next) : tour.prev(next);
+                if (isRemoved(level, next, after)) continue;
+
+                t[2 * level] = next;
+                t[2 * level + 1] = after;
+                double g2 = g1 + dist.dist(next, after);
+                int k = level + 1;
+
+                // Tenta fechar o movimento com (after, t1)
+                boolean canClose = after != tour.next(t[0]) && after != tour.prev(t[0])
+                        && !isAdded(k, after, t[0]);
+                if (canClose && g2 - dist.dist(after, t[0]) > EPS && tour.isFeasibleKOpt(t, k)) {
+                    tour.applyKOpt(t, k, flips);
+                    return k;
+                }
+
+                if (k < maxK) {
+                    int applied = extend(k, g2);
+                    if (applied > 0) return applied;
+                } else if (maxSteps > 0 && canClose && g2 > bestG && tour.isFeasibleKOpt(t, k)) {
+                    bestG = g2;
+                    bestK = k;
+                    System.arraycopy(t, 0, bestT, 0, 2 * k);
+                }
+            }
+        }
+        return 0;
+    }
+
+    private void addTouched(int[] move, int k) {
+        for (int i = 0; i < 2 * k; i++) {
+            touched[touchedCount++] = move[i];
+        }
+    }
+
+    private boolean isRemoved(int count, int a, int b) {
+        for (int i = 0; i < count; i++) {
+            int u = t[2 * i], v = t[2 * i + 1];
+            if ((u == a && v == b) || (u == b && v == a)) return true;
+        }
+        return false;
+    }
+
+    private boolean isAdded(int count, int a, int b) {
+        for (int i = 0; i < count - 1; i++) {
+            int u = t[2 * i + 1], v = t[2 * i + 2];
+            if ((u == a && v == b) || (u == b && v == a)) return true;
+        }
+        return false;
+    }
+}
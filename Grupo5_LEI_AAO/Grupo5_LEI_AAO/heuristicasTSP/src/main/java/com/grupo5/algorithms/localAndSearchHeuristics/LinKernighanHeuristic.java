@@ -1,5 +1,10 @@
 package com.grupo5.algorithms.localAndSearchHeuristics;
 
+import com.grupo5.algorithms.utils.ArrayTour;
+import com.grupo5.algorithms.utils.CandidateLists;
+import com.grupo5.algorithms.utils.DistanceOracle;
+import com.grupo5.algorithms.utils.DontLookBits;
+import com.grupo5.algorithms.utils.SpatialGrid;
 import com.grupo5.algorithms.utils.Utils;
 
 import java.util.*;
@@ -7,62 +12,241 @@ import java.util.*;
 import static com.grupo5.algorithms.utils.Utils.calculatePathCost;
 
 /**
- * Implementação simplificada da heurística de Lin-Kernighan para o Problema do Caixeiro Viajante (TSP).
+ * Implementação da heurística de Lin-Kernighan (profundidade variável) para o Problema do Caixeiro Viajante (TSP).
  *
- * Esta versão aplica apenas melhorias com base em movimentos 2-Opt, onde se trocam dois segmentos
- * do tour para tentar reduzir o custo total. Apesar de simples, esta abordagem já permite
- * eliminar muitas arestas cruzadas e encontrar soluções significativamente melhores.
+ * Cada movimento é uma sequência de trocas de arestas: parte-se de uma aresta (t1, t2), acrescenta-se
+ * uma aresta (t2, t3) escolhida nas listas de candidatos e remove-se (t4, t3), de modo a que o fecho
+ * (t4, t1) dê sempre um tour válido. A sequência continua enquanto o ganho parcial for positivo
+ * (critério do ganho positivo) e maior que o melhor fecho já encontrado; no fim fica aplicado o
+ * prefixo da sequência com o melhor fecho, se este melhorar o tour.
+ *
+ * Nos dois primeiros níveis são testadas várias alternativas (com retrocesso); a partir daí a pesquisa
+ * segue apenas a melhor. Uma aresta acrescentada não pode voltar a ser removida no mesmo movimento,
+ * nem uma aresta removida pode ser acrescentada. As cidades a analisar são geridas com "don't look bits".
+ *
+ * As listas de candidatos podem não conter as arestas necessárias para eliminar uma aresta longa
+ * (em instâncias agrupadas, como d198). Por isso {@link #linKernighan(List)}, quando não há mais
+ * cidades ativas, faz uma passagem 2-Opt + Or-Opt pela vizinhança completa
+ * ({@link Opt2Or#improveComplete}) e retoma a pesquisa nas cidades que esta alterar: o resultado
+ * é sempre um ótimo local para o 2-Opt.
  */
 public class LinKernighanHeuristic {
 
+    /** Profundidade máxima (número de trocas) de um movimento. */
+    private static final int MAX_DEPTH = 50;
+
+    /** Número de alternativas testadas nos níveis 1 e 2; nos restantes níveis é 1. */
+    private static final int[] BREADTH = {5, 3};
+
+    /** Tolerância numérica para considerar um ganho positivo. */
+    private static final double EPS = 1e-9;
+
     /**
-     * Executa uma versão simplificada da heurística de Lin-Kernighan,
-     * utilizando apenas movimentos 2-Opt até não haver mais melhorias.
+     * Executa a heurística de Lin-Kernighan até não haver mais melhorias.
      *
      * @param initialTour Tour inicial (deve estar fechado, ou seja, a primeira cidade repetida no fim).
      * @return Tour otimizado com base em melhorias locais.
      */
     public static List<Utils.City> linKernighan(List<Utils.City> initialTour) {
-        List<Utils.City> bestTour = new ArrayList<>(initialTour);
-        boolean improvement = true;
-
-        // Repete enquanto houver melhorias no tour
-        while (improvement) {
-            improvement = false;
-
-            // Percorre todos os pares de índices para tentar aplicar 2-Opt
-            for (int i = 1; i < bestTour.size() - 2; i++) {
-                for (int j = i + 1; j < bestTour.size() - 1; j++) {
-                    double delta = - bestTour.get(i - 1).distanceTo(bestTour.get(i))
-                            - bestTour.get(j).distanceTo(bestTour.get(j + 1))
-                            + bestTour.get(i - 1).distanceTo(bestTour.get(j))
-                            + bestTour.get(i).distanceTo(bestTour.get(j + 1));
-
-                    // Se a troca reduzir o custo do tour, aplica a inversão
-                    if (delta < -1e-6) { // margem de tolerância para evitar erros numéricos
-                        reverseSegment(bestTour, i, j);
-                        improvement = true;
-                    }
+        int n = initialTour.size() - 1;
+        if (n < 5) return new ArrayList<>(initialTour);
+
+        List<Utils.City> cities = new ArrayList<>(initialTour.subList(0, n));
+        DistanceOracle dist = new DistanceOracle(cities);
+        ArrayTour tour = ArrayTour.identity(n);
+        int[][] neighbors = CandidateLists.buildWithQuadrants(dist, CandidateLists.DEFAULT_K,
+                CandidateLists.DEFAULT_QUADRANT_K);
+
+        // Quando as listas de candidatos se esgotam, uma passagem 2-Opt + Or-Opt pela vizinhança
+        // completa apanha as arestas que estão fora delas; as cidades que toca voltam a ser analisadas
+        SpatialGrid grid = new SpatialGrid(dist);
+        DontLookBits active = DontLookBits.allActive(n);
+        do {
+            improve(dist, tour, neighbors, active);
+        } while (Opt2Or.improveComplete(dist, tour, grid, active));
+        return tour.toClosedTour(cities);
+    }
+
+    /**
+     * Aplica movimentos Lin-Kernighan ao tour (no próprio tour) enquanto houver cidades ativas.
+     *
+     * @param dist      Oráculo de distâncias.
+     * @param tour      Tour a melhorar.
+     * @param neighbors Listas de candidatos.
+     * @param active    Cidades ativas; as extremidades das arestas alteradas são reativadas.
+     * @return true se o tour foi melhorado.
+     */
+    public static boolean improve(DistanceOracle dist, ArrayTour tour, int[][] neighbors, DontLookBits active) {
+        Search search = new Search(dist, tour, neighbors);
+        boolean improved = false;
+        while (!active.isEmpty()) {
+            int t1 = active.pop();
+            if (search.improveFrom(t1)) {
+                improved = true;
+                active.push(t1);
+                for (int i = 0; i < search.touchedCount; i++) {
+                    active.push(search.touched[i]);
                 }
             }
         }
-
-        return bestTour;
+        return improved;
     }
 
     /**
-     * Inverte a ordem de um segmento do tour entre os índices i e j (inclusive).
-     * Este é o movimento fundamental do 2-Opt.
-     *
-     * @param tour Lista de cidades que representa o tour.
-     * @param i Índice inicial do segmento a inverter.
-     * @param j Índice final do segmento a inverter.
+     * Estado de um movimento Lin-Kernighan em curso.
      */
-    private static void reverseSegment(List<Utils.City> tour, int i, int j) {
-        while (i < j) {
-            Collections.swap(tour, i, j);
-            i++;
-            j--;
+    private static final class Search {
+        private final DistanceOracle dist;
+        private final ArrayTour tour;
+        private final int[][] neighbors;
+
+        // Arestas removidas/acrescentadas no movimento atual (pares consecutivos)
+        private final int[] removed = new int[2 * (MAX_DEPTH + 1)];
+        private final int[] added = new int[2 * (MAX_DEPTH + 1)];
+        private int removedCount;
+        private int addedCount;
+
+        // Cidades tocadas pelo último movimento aceite
+        private final int[] touched = new int[2 * MAX_DEPTH + 2];
+        private int touchedCount;
+
+        // Melhor fecho da sequência atual (ganho e nível)
+        private double bestClose;
+        private int bestLevel;
+
+        // Buffers de candidatos por nível
+        private final int[][] candT3;
+        private final int[][] candT4;
+        private final double[][] candValue;
+
+        Search(DistanceOracle dist, ArrayTour tour, int[][] neighbors) {
+            this.dist = dist;
+            this.tour = tour;
+            this.neighbors = neighbors;
+            int k = 0;
+            for (int[] list : neighbors) k = Math.max(k, list.length);
+            this.candT3 = new int[MAX_DEPTH + 1][k];
+            this.candT4 = new int[MAX_DEPTH + 1][k];
+            this.candValue = new double[MAX_DEPTH + 1][k];
+        }
+
+        /**
+         * Tenta um movimento a partir de t1, com t2 de cada um dos lados de t1.
+         */
+        boolean improveFrom(int t1) {
+            for (int side = 0; side < 2; side++) {
+                int t2 = side == 0 ? tour.next(t1) : tour.prev(t1);
+                removedCount = 0;
+                addedCount = 0;
+                touchedCount = 0;
+                pushEdge(removed, removedCount++, t1, t2);
+                touched[touchedCount++] = t2;
+                bestClose = EPS;
+                bestLevel = 0;
+                if (step(1, t1, t2, dist.dist(t1, t2))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Um nível da pesquisa: t2 é adjacente a t1 e g é o ganho acumulado incluindo a aresta (t1, t2).
+         * Devolve true se o tour ficou melhorado; nesse caso as trocas até ao nível do melhor fecho
+         * ficam aplicadas e as mais profundas já foram desfeitas.
+         */
+        private boolean step(int level, int t1, int t2, double g) {
+            boolean fwd = tour.next(t1) == t2;
+            int succT2 = fwd ? tour.next(t2) : tour.prev(t2);
+
+            // Recolhe os candidatos válidos (t3, t4) com ganho parcial positivo
+            int count = 0;
+            int[] t3s = candT3[level];
+            int[] t4s = candT4[level];
+            double[] values = candValue[level];
+            for (int t3 : neighbors[t2]) {
+                double g1 = g - dist.dist(t2, t3);
+                if (g1 <= EPS) break; // listas ordenadas: os seguintes também falham
+                if (t3 == t1 || t3 == succT2) continue;
+                int t4 = fwd ? tour.prev(t3) : tour.next(t3);
+                if (contains(added, addedCount, t4, t3) || contains(removed, removedCount, t2, t3)) continue;
+
+                // Ordena por d(t3, t4) - d(t2, t3), decrescente (inserção)
+                double value = dist.dist(t3, t4) - dist.dist(t2, t3);
+                int p = count++;
+                while (p > 0 && values[p - 1] < value) {
+                    t3s[p] = t3s[p - 1];
+                    t4s[p] = t4s[p - 1];
+                    values[p] = values[p - 1];
+                    p--;
+                }
+                t3s[p] = t3;
+                t4s[p] = t4;
+                values[p] = value;
+            }
+
+            int breadth = level <= BREADTH.length ? BREADTH[level - 1] : 1;
+            for (int c = 0; c < count && c < breadth; c++) {
+                int t3 = t3s[c];
+                int t4 = t4s[c];
+
+                // Remove (t1, t2) e (t4, t3); acrescenta (t2, t3) e fecha com (t4, t1)
+                flip(t1, t2, t4);
+                pushEdge(added, addedCount++, t2, t3);
+                pushEdge(removed, removedCount++, t4, t3);
+                touched[touchedCount++] = t3;
+                touched[touchedCount++] = t4;
+
+                double gNew = g - dist.dist(t2, t3) + dist.dist(t4, t3);
+                double close = gNew - dist.dist(t4, t1);
+                if (close > bestClose) {
+                    bestClose = close;
+                    bestLevel = level;
+                }
+                if (level < MAX_DEPTH && gNew > bestClose && step(level + 1, t1, t4, gNew)) {
+                    return true;
+                }
+                if (bestLevel == level) {
+                    return true;
+                }
+
+                // Retrocesso: desfaz a troca
+                touchedCount -= 2;
+                removedCount--;
+                addedCount--;
+                flip(t1, t4, t2);
+
+                // O melhor fecho está num nível anterior: não se tentam alternativas neste
+                if (bestLevel > 0) {
+                    return false;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Inverte o caminho que começa em a (adjacente a t1) e termina em b, de modo a que
+         * b passe a ser adjacente a t1.
+         */
+        private void flip(int t1, int a, int b) {
+            if (tour.next(t1) == a) {
+                tour.reverse(a, b);
+            } else {
+                tour.reverse(b, a);
+            }
+        }
+
+        private static void pushEdge(int[] edges, int index, int a, int b) {
+            edges[2 * index] = a;
+            edges[2 * index + 1] = b;
+        }
+
+        private static boolean contains(int[] edges, int count, int a, int b) {
+            for (int i = 0; i < count; i++) {
+                int u = edges[2 * i], v = edges[2 * i + 1];
+                if ((u == a && v == b) || (u == b && v == a)) return true;
+            }
+            return false;
         }
     }
 
@@ -83,11 +267,11 @@ public class LinKernighanHeuristic {
         List<Utils.City> initialTour = new ArrayList<>(cities);
         initialTour.add(cities.get(0)); // Fecha o ciclo
 
-        // Aplica a heurística (versão simplificada de Lin-Kernighan baseada em 2-Opt)
+        // Aplica a heurística de Lin-Kernighan
         List<Utils.City> improvedTour = linKernighan(initialTour);
 
         // Imprime o tour resultante
-        System.out.println("Lin-Kernighan Heuristic (simplified) Tour:");
+        System.out.println("Lin-Kernighan Heuristic Tour:");
         for (Utils.City city : improvedTour) {
             System.out.print(city + " ");
         }
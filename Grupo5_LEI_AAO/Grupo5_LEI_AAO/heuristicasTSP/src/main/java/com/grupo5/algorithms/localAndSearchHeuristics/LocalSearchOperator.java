@@ -0,0 +1,25 @@
+package com.grupo5.algorithms.localAndSearchHeuristics;
+
+import com.grupo5.algorithms.utils.ArrayTour;
+import com.grupo5.algorithms.utils.DistanceOracle;
+import com.grupo5.algorithms.utils.DontLookBits;
+
+/**
+ * Operador de pesquisa local que trabalha sobre o estado partilhado: o tour em array,
+ * o oráculo de distâncias, as listas de candidatos e as cidades ativas.
+ *
+ * O operador altera o tour no próprio objeto, consome as cidades ativas e reativa as extremidades
+ * das arestas que altera, até a fila ficar vazia.
+ */
+@FunctionalInterface
+public interface LocalSearchOperator {
+
+    /**
+     * @param dist      Oráculo de distâncias.
+     * @param tour      Tour a melhorar.
+     * @param neighbors Listas de candidatos.
+     * @param active    Cidades ativas.
+     * @return true se o tour foi melhorado.
+     */
+    boolean improve(DistanceOracle dist, ArrayTour tour, int[][] neighbors, DontLookBits active);
+}
@@ -0,0 +1,387 @@
+package com.grupo5.algorithms.localAndSearchHeuristics;
+
+import com.grupo5.algorithms.constructiveHeuristics.NearestNeighbor;
+import com.grupo5.algorithms.utils.ArrayTour;
+import com.grupo5.algorithms.utils.CandidateLists;
+import com.grupo5.algorithms.utils.DistanceOracle;
+import com.grupo5.algorithms.utils.DontLookBits;
+import com.grupo5.algorithms.utils.SpatialGrid;
+import com.grupo5.algorithms.utils.Utils;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+import static com.grupo5.algorithms.utils.Utils.calculatePathCost;
+
+/**
+ * Implementa o MAX-MIN Ant System (MMAS) para o Problema do Caixeiro Viajante (TSP).
+ *
+ * Em cada iteração, cada formiga constrói um tour escolhendo a próxima cidade entre os candidatos
+ * ainda não visitados da cidade atual, com probabilidade proporcional a feromona × (1 / d)^β; se
+ * todos os candidatos já foram visitados, segue para a cidade livre mais próxima (procurada na
+ * {@link SpatialGrid}). Cada tour é depois melhorado com 2-Opt. Só a melhor formiga da iteração
+ * (ou, a cada {@link #BEST_SO_FAR_INTERVAL} iterações, o melhor tour encontrado) deposita
+ * feromona, que fica sempre entre τmin e τmax; sem melhorias durante {@link #RESTART_AFTER}
+ * iterações, a feromona é reposta em τmax.
+ *
+ * A feromona só existe nas arestas candidatas: pheromone[c * k + i] é a da aresta entre c e o
+ * seu i-ésimo candidato, num float[n * k], o que gasta O(nk) memória em vez de O(n²).
+ *
+ * As formigas de uma iteração correm em paralelo no pool fork-join comum, cada uma com o seu
+ * gerador (sementes tiradas antes de as lançar) e sem escrever em estado partilhado: as tarefas
+ * devolvem apenas a melhor formiga (redução, com empates para a de menor índice), pelo que o
+ * resultado não depende do número de threads. A evaporação e a atualização dos pesos dividem-se
+ * por intervalos de cidades disjuntos, e o depósito (n arestas) é feito por uma só thread.
+ */
+public class MaxMinAntSystem {
+
+    /** Número de formigas por omissão. */
+    public static final int DEFAULT_ANTS = 25;
+
+    /** Número de iterações por omissão. */
+    public static final int DEFAULT_ITERATIONS = 200;
+
+    /** Candidatos por cidade (arestas com feromona). */
+    private static final int CANDIDATES = 10;
+
+    /** Peso da heurística 1 / d (a feromona tem peso 1). */
+    private static final double BETA = 2.0;
+
+    /** Fração da feromona que evapora em cada iteração. */
+    private static final double EVAPORATION = 0.2;
+
+    /** Probabilidade de uma formiga reconstruir o melhor tour quando o sistema converge (define τmin). */
+    private static final double P_BEST = 0.05;
+
+    /** Período com que o melhor tour encontrado deposita feromona em vez do melhor da iteração. */
+    private static final int BEST_SO_FAR_INTERVAL = 5;
+
+    /** Iterações sem melhoria ao fim das quais a feromona é reposta. */
+    private static final int RESTART_AFTER = 50;
+
+    /** Número mínimo de cidades por bloco nas atualizações da feromona em paralelo. */
+    private static final int MIN_STRIPE = 1024;
+
+    /**
+     * Executa o MMAS com {@link #DEFAULT_ANTS} formigas, {@link #DEFAULT_ITERATIONS} iterações e
+     * a semente {@link MultiStart#DEFAULT_SEED}.
+     *
+     * @param cities Lista de cidades a visitar.
+     * @return Melhor tour encontrado (ciclo fechado).
+     */
+    public static List<Utils.City> maxMinAntSystem(List<Utils.City> cities) {
+        return run(cities, DEFAULT_ANTS, DEFAULT_ITERATIONS, MultiStart.DEFAULT_SEED);
+    }
+
+    /**
+     * Executa o MMAS com os parâmetros indicados.
+     *
+     * @param cities     Lista de cidades a visitar.
+     * @param ants       Número de formigas por iteração (pelo menos 1).
+     * @param iterations Número de iterações.
+     * @param seed       Semente de que derivam as sementes de cada formiga.
+     * @return Melhor tour encontrado (ciclo fechado).
+     */
+    public static List<Utils.City> run(List<Utils.City> cities, int ants, int iterations, long seed) {
+        if (ants < 1) throw new IllegalArgumentException("O número de formigas tem de ser pelo menos 1.");
+        if (cities.isEmpty()) return Collections.emptyList();
+        int n = cities.size();
+        if (n < 8) {
+            List<Utils.City> tour = new ArrayList<>(cities);
+            tour.add(cities.get(0));
+            return tour;
+        }
+
+        List<Utils.City> shared = Collections.unmodifiableList(new ArrayList<>(cities));
+        Colony colony = new Colony(new DistanceOracle(shared));
+        colony.reset(calculatePathCost(NearestNeighbor.multiStartNearestNeighbor(shared, 1)));
+
+        SplittableRandom root = new SplittableRandom(seed);
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        long[] seeds = new long[ants];
+        Ant best = null;
+        int stagnant = 0;
+        for (int iteration = 1; iteration <= iterations; iteration++) {
+            for (int i = 0; i < ants; i++) {
+                seeds[i] = root.nextLong();
+            }
+            Ant iterationBest = pool.invoke(new AntTask(colony, seeds, 0, ants));
+            if (best == null || iterationBest.length < best.length) {
+                best = iterationBest;
+                colony.setBounds(best.length);
+                stagnant = 0;
+            } else {
+                stagnant++;
+            }
+
+            if (stagnant >= RESTART_AFTER) {
+                colony.reset(best.length);
+                stagnant = 0;
+            } else {
+                colony.update(iteration % BEST_SO_FAR_INTERVAL == 0 ? best : iterationBest, pool);
+            }
+        }
+        return new ArrayTour(best.order).toClosedTour(shared);
+    }
+
+    /**
+     * Tour de uma formiga (depois do 2-Opt).
+     */
+    private static final class Ant {
+        final int[] order;
+        final double length;
+        final int index;
+
+        Ant(int[] order, double length, int index) {
+            this.order = order;
+            this.length = length;
+            this.index = index;
+        }
+
+        Ant better(Ant other) {
+            if (other.length < length || (other.length == length && other.index < index)) return other;
+            return this;
+        }
+    }
+
+    /**
+     * Feromona e pesos de escolha nas arestas candidatas, e estruturas só de leitura partilhadas
+     * pelas formigas.
+     */
+    private static final class Colony {
+        final DistanceOracle dist;
+        final int[][] neighbors;
+        final SpatialGrid grid;
+        final int n;
+        final int k;
+
+        final float[] pheromone;
+        /** (1 / d)^β de cada aresta candidata. */
+        final float[] heuristic;
+        /** Peso de escolha: pheromone × heuristic. */
+        final float[] weight;
+        float tauMax;
+        float tauMin;
+
+        Colony(DistanceOracle dist) {
+            this.dist = dist;
+            this.neighbors = CandidateLists.build(dist, CANDIDATES);
+            this.grid = new SpatialGrid(dist);
+            this.n = dist.size();
+            this.k = CANDIDATES;
+            this.pheromone = new float[n * k];
+            this.heuristic = new float[n * k];
+            this.weight = new float[n * k];
+            for (int c = 0; c < n; c++) {
+                int[] list = neighbors[c];
+                for (int i = 0; i < list.length; i++) {
+                    double d = Math.max(dist.dist(c, list[i]), 1e-9);
+                    heuristic[c * k + i] = (float) Math.pow(1.0 / d, BETA);
+                }
+            }
+        }
+
+        /**
+         * τmax = 1 / (ρ L) e τmin tal que, com o sistema convergido, o melhor tour seja reconstruído
+         * com probabilidade {@link #P_BEST}.
+         */
+        void setBounds(double bestLength) {
+            double max = 1.0 / (EVAPORATION * bestLength);
+            double px = Math.exp(Math.log(P_BEST) / n);
+            double min = max * (1 - px) / (px * ((k + 1) / 2.0));
+            tauMax = (float) max;
+            tauMin = (float) Math.min(min, max);
+        }
+
+        /**
+         * Repõe toda a feromona em τmax.
+         */
+        void reset(double bestLength) {
+            setBounds(bestLength);
+            Arrays.fill(pheromone, tauMax);
+            for (int s = 0; s < weight.length; s++) {
+                weight[s] = tauMax * heuristic[s];
+            }
+        }
+
+        /**
+         * Evaporação, depósito pelo tour da formiga dada e atualização dos pesos.
+         */
+        void update(Ant ant, ForkJoinPool pool) {
+            float keep = (float) (1 - EVAPORATION);
+            pool.invoke(new StripeTask(0, n, (from, to) -> {
+                for (int s = from * k; s < to * k; s++) {
+                    pheromone[s] *= keep;
+                }
+            }));
+
+            float deposit = (float) (1.0 / ant.length);
+            int[] order = ant.order;
+            for (int p = 0; p < n; p++) {
+                int a = order[p];
+                int b = order[p + 1 == n ? 0 : p + 1];
+                deposit(a, b, deposit);
+                deposit(b, a, deposit);
+            }
+
+            pool.invoke(new StripeTask(0, n, (from, to) -> {
+                for (int s = from * k; s < to * k; s++) {
+                    float tau = Math.max(tauMin, Math.min(tauMax, pheromone[s]));
+                    pheromone[s] = tau;
+                    weight[s] = tau * heuristic[s];
+                }
+            }));
+        }
+
+        private void deposit(int a, int b, float amount) {
+            int[] list = neighbors[a];
+            for (int i = 0; i < list.length; i++) {
+                if (list[i] == b) {
+                    pheromone[a * k + i] += amount;
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Constrói o tour de uma formiga e melhora-o com 2-Opt.
+         */
+        Ant construct(int index, long seed) {
+            SplittableRandom random = new SplittableRandom(seed);
+            long[] visited = new long[(n + 63) >> 6];
+            int[] counts = grid.cellCounts();
+            int[] order = new int[n];
+
+            int current = random.nextInt(n);
+            for (int p = 0; ; p++) {
+                order[p] = current;
+                visited[current >> 6] |= 1L << current;
+                counts[grid.cellOf(current)]--;
+                if (p == n - 1) break;
+                current = next(current, visited, counts, random);
+            }
+
+            ArrayTour tour = new ArrayTour(order);
+            Opt2Or.improveTwoOpt(dist, tour, neighbors, DontLookBits.allActive(n));
+            return new Ant(tour.toArray(), tour.length(dist), index);
+        }
+
+        /**
+         * Escolha aleatória proporcional ao peso entre os candidatos livres, ou a cidade livre mais próxima.
+         */
+        private int next(int c, long[] visited, int[] counts, SplittableRandom random) {
+            int[] list = neighbors[c];
+            int base = c * k;
+            double sum = 0;
+            for (int i = 0; i < list.length; i++) {
+                int d = list[i];
+                if ((visited[d >> 6] & (1L << d)) == 0) sum += weight[base + i];
+            }
+            if (sum == 0) return grid.nearest(c, visited, counts);
+
+            double r = random.nextDouble() * sum;
+            int chosen = -1;
+            for (int i = 0; i < list.length; i++) {
+                int d = list[i];
+                if ((visited[d >> 6] & (1L << d)) != 0) continue;
+                chosen = d;
+                r -= weight[base + i];
+                if (r <= 0) break;
+            }
+            return chosen;
+        }
+    }
+
+    /**
+     * Constrói as formigas [from, to), dividindo o intervalo ao meio até sobrar uma, e devolve a melhor.
+     */
+    private static final class AntTask extends RecursiveTask<Ant> {
+        private static final long serialVersionUID = 1L;
+
+        private final Colony colony;
+        private final long[] seeds;
+        private final int from;
+        private final int to;
+
+        AntTask(Colony colony, long[] seeds, int from, int to) {
+            this.colony = colony;
+            this.seeds = seeds;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Ant compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                AntTask left = new AntTask(colony, seeds, from, mid);
+                left.fork();
+                Ant right = new AntTask(colony, seeds, mid, to).compute();
+                return left.join().better(right);
+            }
+            return colony.construct(from, seeds[from]);
+        }
+    }
+
+    /**
+     * Ação sobre um intervalo de cidades [from, to).
+     */
+    @FunctionalInterface
+    private interface RangeAction {
+        void run(int from, int to);
+    }
+
+    /**
+     * Aplica uma {@link RangeAction} em paralelo, em blocos disjuntos de pelo menos {@link #MIN_STRIPE} cidades.
+     */
+    private static final class StripeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final RangeAction action;
+
+        StripeTask(int from, int to, RangeAction action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > MIN_STRIPE) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new StripeTask(from, mid, action), new StripeTask(mid, to, action));
+            } else {
+                action.run(from, to);
+            }
+        }
+    }
+
+    /**
+     * Executa o MMAS com base num ficheiro .tsp e imprime o resultado.
+     *
+     * @param args Argumentos da linha de comandos (não utilizados).
+     */
+    public static void main(String[] args) {
+        List<Utils.City> cities = Utils.readTSPFile("src/main/resources/a280.tsp");
+
+        if (cities.isEmpty()) {
+            System.out.println("Nenhuma cidade encontrada no ficheiro.");
+            return;
+        }
+
+        List<Utils.City> tour = maxMinAntSystem(cities);
+
+        System.out.println("MAX-MIN Ant System Tour:");
+        for (Utils.City city : tour) {
+            System.out.print(city + " ");
+        }
+        System.out.println();
+
+        double cost = calculatePathCost(tour);
+        System.out.println("Custo total do tour: " + cost);
+    }
+}
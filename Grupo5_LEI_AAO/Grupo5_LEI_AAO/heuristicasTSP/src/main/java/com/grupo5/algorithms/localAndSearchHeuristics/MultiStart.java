@@ -0,0 +1,209 @@
+package com.grupo5.algorithms.localAndSearchHeuristics;
+
+import com.grupo5.algorithms.constructiveHeuristics.RandomInsertion;
+import com.grupo5.algorithms.utils.Utils;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.UnaryOperator;
+
+import static com.grupo5.algorithms.utils.Utils.calculatePathCost;
+
+/**
+ * Multi-start paralelo: N execuções independentes de (construção aleatória → pesquisa local),
+ * distribuídas pelo pool fork-join comum, das quais se guarda apenas o melhor tour e estatísticas
+ * resumidas (mínimo, máximo, média e desvio-padrão dos custos).
+ *
+ * As sementes das execuções derivam de uma única semente por um {@link SplittableRandom}, antes
+ * de qualquer tarefa arrancar: a execução i usa sempre a i-ésima semente, seja qual for a thread
+ * ou a ordem em que corre. Em caso de empate ganha a execução de menor índice, pelo que a mesma
+ * semente reproduz sempre o mesmo resultado.
+ */
+public class MultiStart {
+
+    /** Número de execuções por omissão. */
+    public static final int DEFAULT_RUNS = 32;
+
+    /** Semente por omissão. */
+    public static final long DEFAULT_SEED = 42L;
+
+    /**
+     * Construção aleatorizada: o tour só pode depender das cidades e do gerador dado.
+     */
+    @FunctionalInterface
+    public interface Construction {
+        List<Utils.City> build(List<Utils.City> cities, Random random);
+    }
+
+    /**
+     * Melhor tour e estatísticas de um multi-start.
+     */
+    public static final class Summary {
+        /** Melhor tour encontrado (ciclo fechado). */
+        public final List<Utils.City> bestTour;
+        /** Índice da execução que encontrou o melhor tour. */
+        public final int bestRun;
+        /** Número de execuções. */
+        public final int runs;
+        public final double minCost;
+        public final double maxCost;
+        public final double meanCost;
+        public final double stdDevCost;
+
+        Summary(List<Utils.City> bestTour, int bestRun, int runs, double minCost, double maxCost,
+                double meanCost, double stdDevCost) {
+            this.bestTour = bestTour;
+            this.bestRun = bestRun;
+            this.runs = runs;
+            this.minCost = minCost;
+            this.maxCost = maxCost;
+            this.meanCost = meanCost;
+            this.stdDevCost = stdDevCost;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d execuções | melhor: %.2f (execução %d) | pior: %.2f | média: %.2f | desvio-padrão: %.2f",
+                    runs, minCost, bestRun, maxCost, meanCost, stdDevCost);
+        }
+    }
+
+    /**
+     * Multi-start com Random Insertion seguido de 2-Opt + Or-Opt, com os valores por omissão.
+     *
+     * @param cities Lista de cidades a visitar.
+     * @return Melhor tour encontrado (ciclo fechado).
+     */
+    public static List<Utils.City> multiStart(List<Utils.City> cities) {
+        if (cities.isEmpty()) return Collections.emptyList();
+        return run(cities, RandomInsertion::randomInsertion, Opt2Or::opt2Or, DEFAULT_RUNS, DEFAULT_SEED).bestTour;
+    }
+
+    /**
+     * Executa runs pares (construção → pesquisa local) em paralelo.
+     *
+     * @param cities       Lista de cidades a visitar.
+     * @param construction Construção aleatorizada.
+     * @param improvement  Pesquisa local aplicada a cada tour construído (tem de poder correr em
+     *                     várias threads ao mesmo tempo).
+     * @param runs         Número de execuções (pelo menos 1).
+     * @param seed         Semente de que derivam as sementes de cada execução.
+     * @return Melhor tour e estatísticas.
+     */
+    public static Summary run(List<Utils.City> cities, Construction construction,
+                              UnaryOperator<List<Utils.City>> improvement, int runs, long seed) {
+        if (runs < 1) throw new IllegalArgumentException("O número de execuções tem de ser pelo menos 1.");
+        SplittableRandom root = new SplittableRandom(seed);
+        long[] seeds = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            seeds[i] = root.nextLong();
+        }
+
+        List<Utils.City> shared = Collections.unmodifiableList(new ArrayList<>(cities));
+        Stats stats = ForkJoinPool.commonPool().invoke(new RunTask(shared, construction, improvement, seeds, 0, runs));
+
+        double mean = stats.sum / runs;
+        double variance = Math.max(0, stats.sumSquares / runs - mean * mean);
+        return new Summary(stats.bestTour, stats.bestRun, runs, stats.bestCost, stats.maxCost, mean, Math.sqrt(variance));
+    }
+
+    /**
+     * Estatísticas parciais de um conjunto de execuções.
+     */
+    private static final class Stats {
+        List<Utils.City> bestTour;
+        int bestRun = -1;
+        double bestCost = Double.POSITIVE_INFINITY;
+        double maxCost = Double.NEGATIVE_INFINITY;
+        double sum;
+        double sumSquares;
+
+        void add(int run, List<Utils.City> tour, double cost) {
+            if (cost < bestCost || (cost == bestCost && run < bestRun)) {
+                bestCost = cost;
+                bestRun = run;
+                bestTour = tour;
+            }
+            maxCost = Math.max(maxCost, cost);
+            sum += cost;
+            sumSquares += cost * cost;
+        }
+
+        Stats merge(Stats other) {
+            if (other.bestCost < bestCost || (other.bestCost == bestCost && other.bestRun < bestRun)) {
+                bestCost = other.bestCost;
+                bestRun = other.bestRun;
+                bestTour = other.bestTour;
+            }
+            maxCost = Math.max(maxCost, other.maxCost);
+            sum += other.sum;
+            sumSquares += other.sumSquares;
+            return this;
+        }
+    }
+
+    /**
+     * Executa as execuções [from, to), dividindo o intervalo ao meio até sobrar uma execução.
+     */
+    private static final class RunTask extends RecursiveTask<Stats> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Utils.City> cities;
+        private final Construction construction;
+        private final UnaryOperator<List<Utils.City>> improvement;
+        private final long[] seeds;
+        private final int from;
+        private final int to;
+
+        RunTask(List<Utils.City> cities, Construction construction, UnaryOperator<List<Utils.City>> improvement,
+                long[] seeds, int from, int to) {
+            this.cities = cities;
+            this.construction = construction;
+            this.improvement = improvement;
+            this.seeds = seeds;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Stats compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                RunTask left = new RunTask(cities, construction, improvement, seeds, from, mid);
+                left.fork();
+                Stats right = new RunTask(cities, construction, improvement, seeds, mid, to).compute();
+                return left.join().merge(right);
+            }
+            Stats stats = new Stats();
+            List<Utils.City> tour = improvement.apply(construction.build(cities, new Random(seeds[from])));
+            stats.add(from, tour, calculatePathCost(tour));
+            return stats;
+        }
+    }
+
+    /**
+     * Executa o multi-start com base num ficheiro .tsp e imprime o resultado.
+     *
+     * @param args Argumentos da linha de comandos (não utilizados).
+     */
+    public static void main(String[] args) {
+        List<Utils.City> cities = Utils.readTSPFile("src/main/resources/a280.tsp");
+
+        if (cities.isEmpty()) {
+            System.out.println("Nenhuma cidade encontrada no ficheiro.");
+            return;
+        }
+
+        Summary summary = run(cities, RandomInsertion::randomInsertion, Opt2Or::opt2Or, DEFAULT_RUNS, DEFAULT_SEED);
+
+        System.out.println("Multi-start (Random Insertion + 2-Opt/Or-Opt):");
+        for (Utils.City city : summary.bestTour) {
+            System.out.print(city + " ");
+        }
+        System.out.println();
+        System.out.println(summary);
+
+        System.out.println("Custo total do tour: " + summary.minCost);
+    }
+}
@@ -1,5 +1,7 @@
 package com.grupo5.algorithms.localAndSearchHeuristics;
 
+import com.grupo5.algorithms.utils.DistanceKernels;
+import com.grupo5.algorithms.utils.DistanceOracle;
 import com.grupo5.algorithms.utils.Utils;
 
 import java.util.*;
@@ -47,35 +49,124 @@ public class Opt2 {
     /**
      * Aplica a heurística 2-Opt iterativamente até não haver mais melhorias.
      *
+     * O tour é mantido como uma ordem de índices, com as coordenadas pela mesma ordem. Para cada i,
+     * os ganhos de todas as trocas [i..k] são calculados em lote ({@link DistanceKernels#twoOptGains})
+     * e a melhor é aplicada de imediato, se melhorar o tour, antes de passar ao i seguinte.
+     *
      * @param tour Tour inicial (ciclo fechado).
      * @return Tour melhorado com base em otimizações locais.
      */
     public static List<Utils.City> twoOpt(List<Utils.City> tour) {
-        int size = tour.size();
+        int n = tour.size() - 1;
+        if (n < 4) return new ArrayList<>(tour);
+
+        List<Utils.City> cities = new ArrayList<>(tour.subList(0, n));
+        DistanceOracle dist = new DistanceOracle(cities);
+        int[] order = new int[n];
+        double[] tx = new double[n + 1];
+        double[] ty = new double[n + 1];
+        for (int p = 0; p < n; p++) {
+            order[p] = p;
+            tx[p] = dist.x(p);
+            ty[p] = dist.y(p);
+        }
+        // A primeira cidade repetida no fim fecha o ciclo (posição fixa, nunca invertida)
+        tx[n] = tx[0];
+        ty[n] = ty[0];
+
+        double[] gains = new double[n];
         boolean improvement = true;
-        List<Utils.City> bestTour = new ArrayList<>(tour);
-        double bestDistance = calculatePathCost(bestTour);
 
         // Repetir enquanto existirem melhorias
         while (improvement) {
             improvement = false;
 
-            // Testar todas as trocas possíveis entre pares de segmentos
-            for (int i = 1; i < size - 2; i++) {
-                for (int k = i + 1; k < size - 1; k++) {
-                    List<Utils.City> newTour = twoOptSwap(bestTour, i, k);
-                    double newDistance = calculatePathCost(newTour);
-
-                    if (newDistance < bestDistance) {
-                        bestTour = newTour;
-                        bestDistance = newDistance;
-                        improvement = true;
-                    }
+            // Arestas (i-1, i) e (k, k+1) substituídas por (i-1, k) e (i, k+1), para i < k < n
+            for (int i = 1; i < n - 1; i++) {
+                DistanceKernels.twoOptGains(tx, ty, i, i + 1, n, gains);
+                int k = DistanceKernels.argMax(gains, i + 1, n);
+                if (gains[k] <= 1e-9) continue;
+
+                for (int l = i, r = k; l < r; l++, r--) {
+                    int c = order[l];
+                    order[l] = order[r];
+                    order[r] = c;
+                    double x = tx[l];
+                    tx[l] = tx[r];
+                    tx[r] = x;
+                    double y = ty[l];
+                    ty[l] = ty[r];
+                    ty[r] = y;
+                }
+                improvement = true;
+            }
+        }
+
+        List<Utils.City> result = new ArrayList<>(n + 1);
+        for (int c : order) result.add(cities.get(c));
+        result.add(cities.get(order[0]));
+        return result;
+    }
+
+    /**
+     * Aplica a heurística 2-Opt com a estratégia **Best Improvement**: em cada iteração avalia todas
+     * as trocas (em O(1) cada, pelas duas arestas removidas e acrescentadas) e aplica a melhor.
+     * Para cada i, os ganhos de todos os k são calculados em lote ({@link DistanceKernels#twoOptGains}).
+     * A avaliação é repartida por intervalos de i entre os núcleos disponíveis
+     * (ver {@link ParallelBestImprovement}).
+     *
+     * @param tour Tour inicial (ciclo fechado).
+     * @return Tour melhorado.
+     */
+    public static List<Utils.City> twoOptBestImprovement(List<Utils.City> tour) {
+        int n = tour.size() - 1;
+        if (n < 4) return new ArrayList<>(tour);
+
+        List<Utils.City> cities = new ArrayList<>(tour.subList(0, n));
+        DistanceOracle dist = new DistanceOracle(cities);
+        int[] order = new int[n];
+        for (int p = 0; p < n; p++) order[p] = p;
+
+        double[] tx = new double[n + 1];
+        double[] ty = new double[n + 1];
+
+        boolean improvement = true;
+        while (improvement) {
+            improvement = false;
+
+            // Coordenadas pela ordem do tour (com a primeira repetida no fim), para os ganhos em lote
+            for (int p = 0; p < n; p++) {
+                tx[p] = dist.x(order[p]);
+                ty[p] = dist.y(order[p]);
+            }
+            tx[n] = tx[0];
+            ty[n] = ty[0];
+
+            // Arestas (i-1, i) e (k, k+1) substituídas por (i-1, k) e (i, k+1)
+            ParallelBestImprovement.Move best = ParallelBestImprovement.findBest(1, n - 1, 1e-9,
+                    (from, to, move) -> {
+                        double[] gains = new double[n];
+                        for (int i = from; i < to; i++) {
+                            DistanceKernels.twoOptGains(tx, ty, i, i + 1, n, gains);
+                            int k = DistanceKernels.argMax(gains, i + 1, n);
+                            move.offer(gains[k], i, k, 0);
+                        }
+                    });
+
+            if (best.found()) {
+                for (int i = best.a, k = best.b; i < k; i++, k--) {
+                    int tmp = order[i];
+                    order[i] = order[k];
+                    order[k] = tmp;
                 }
+                improvement = true;
             }
         }
 
-        return bestTour;
+        List<Utils.City> result = new ArrayList<>(n + 1);
+        for (int c : order) result.add(cities.get(c));
+        result.add(cities.get(order[0]));
+        return result;
     }
 
     /**
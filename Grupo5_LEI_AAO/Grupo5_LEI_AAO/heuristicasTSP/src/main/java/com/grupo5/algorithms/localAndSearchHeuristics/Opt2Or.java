@@ -0,0 +1,356 @@
+package com.grupo5.algorithms.localAndSearchHeuristics;
+
+import com.grupo5.algorithms.utils.ArrayTour;
+import com.grupo5.algorithms.utils.CandidateLists;
+import com.grupo5.algorithms.utils.DistanceOracle;
+import com.grupo5.algorithms.utils.DontLookBits;
+import com.grupo5.algorithms.utils.SpatialGrid;
+import com.grupo5.algorithms.utils.Utils;
+
+import java.util.*;
+
+import static com.grupo5.algorithms.utils.Utils.calculatePathCost;
+
+/**
+ * Implementa um operador combinado 2-Opt + Or-Opt para o Problema do Caixeiro Viajante (TSP).
+ *
+ * Para cada cidade ativa c percorre-se uma única vez a sua lista de candidatos e, para cada vizinho d,
+ * avaliam-se em O(1):
+ * - os dois movimentos 2-Opt que acrescentam a aresta (c, d);
+ * - a relocalização de segmentos de 1 a 3 cidades que começam ou terminam em c para junto de d,
+ *   com e sem inversão (com 1 cidade corresponde ao 2h-opt / inserção de nó).
+ *
+ * Aplica-se o movimento com maior ganho encontrado para c. Assim cada vizinhança é percorrida
+ * uma vez por cidade, em vez de uma vez para o 2-Opt e outra para o Or-Opt.
+ */
+public class Opt2Or {
+
+    /** Tamanho máximo do segmento a relocalizar. */
+    private static final int MAX_SEGMENT_LENGTH = 3;
+
+    /** Tolerância numérica para considerar um ganho positivo. */
+    private static final double EPS = 1e-9;
+
+    /**
+     * Aplica o operador combinado até não haver mais melhorias.
+     *
+     * @param tour Tour inicial (deve estar fechado: a primeira cidade repetida no fim).
+     * @return Tour melhorado.
+     */
+    public static List<Utils.City> opt2Or(List<Utils.City> tour) {
+        int n = tour.size() - 1;
+        if (n < 8) return new ArrayList<>(tour);
+
+        List<Utils.City> cities = new ArrayList<>(tour.subList(0, n));
+        DistanceOracle dist = new DistanceOracle(cities);
+        ArrayTour arrayTour = ArrayTour.identity(n);
+        int[][] neighbors = CandidateLists.buildWithQuadrants(dist, CandidateLists.DEFAULT_K,
+                CandidateLists.DEFAULT_QUADRANT_K);
+
+        improve(dist, arrayTour, neighbors, DontLookBits.allActive(n));
+        return arrayTour.toClosedTour(cities);
+    }
+
+    /**
+     * Aplica o operador combinado ao tour (no próprio tour) enquanto houver cidades ativas.
+     *
+     * @param dist      Oráculo de distâncias.
+     * @param tour      Tour a melhorar.
+     * @param neighbors Listas de candidatos.
+     * @param active    Cidades ativas; as extremidades das arestas alteradas são reativadas.
+     * @return true se o tour foi melhorado.
+     */
+    public static boolean improve(DistanceOracle dist, ArrayTour tour, int[][] neighbors, DontLookBits active) {
+        return improve(dist, tour, neighbors, active, true, true);
+    }
+
+    /**
+     * Como {@link #improve(DistanceOracle, ArrayTour, int[][], DontLookBits)}, mas só com movimentos 2-Opt.
+     */
+    public static boolean improveTwoOpt(DistanceOracle dist, ArrayTour tour, int[][] neighbors, DontLookBits active) {
+        return improve(dist, tour, neighbors, active, true, false);
+    }
+
+    /**
+     * Como {@link #improve(DistanceOracle, ArrayTour, int[][], DontLookBits)}, mas só com relocalizações (Or-Opt).
+     */
+    public static boolean improveOrOpt(DistanceOracle dist, ArrayTour tour, int[][] neighbors, DontLookBits active) {
+        return improve(dist, tour, neighbors, active, false, true);
+    }
+
+    private static boolean improve(DistanceOracle dist, ArrayTour tour, int[][] neighbors, DontLookBits active,
+                                   boolean twoOpt, boolean orOpt) {
+        Scan scan = new Scan(dist, tour, twoOpt, orOpt);
+        boolean improved = false;
+        while (!active.isEmpty()) {
+            int c = active.pop();
+            if (scan.bestMoveFrom(c, neighbors[c])) {
+                scan.apply();
+                improved = true;
+                active.push(c);
+                for (int i = 0; i < scan.touchedCount; i++) {
+                    active.push(scan.touched[i]);
+                }
+            }
+        }
+        return improved;
+    }
+
+    /**
+     * Passagem pela vizinhança completa: para cada cidade c avaliam-se todas as cidades mais próximas
+     * de c do que a mais longa das suas duas arestas no tour, e não só as das listas de candidatos.
+     * São essas as que o corte de {@link Scan#bestMoveFrom(int, int[], int)} deixa passar, pelo que
+     * no fim nenhum movimento 2-Opt melhora o tour, mesmo com arestas fora das listas.
+     *
+     * @param dist    Oráculo de distâncias.
+     * @param tour    Tour a melhorar.
+     * @param grid    Índice espacial das cidades.
+     * @param touched Recebe as extremidades das arestas alteradas.
+     * @return true se o tour foi melhorado.
+     */
+    public static boolean improveComplete(DistanceOracle dist, ArrayTour tour, SpatialGrid grid,
+                                          DontLookBits touched) {
+        int n = tour.size();
+        if (n < 8) return false;
+        Scan scan = new Scan(dist, tour, true, true);
+        int[] candidates = new int[n];
+        double[] distances = new double[n];
+        boolean improved = false;
+        for (int c = 0; c < n; c++) {
+            while (true) {
+                double radius = Math.max(dist.dist(c, tour.next(c)), dist.dist(c, tour.prev(c)));
+                int count = grid.withinRadius(c, radius, candidates, distances);
+                if (!scan.bestMoveFrom(c, candidates, count)) break;
+                scan.apply();
+                improved = true;
+                for (int i = 0; i < scan.touchedCount; i++) {
+                    touched.push(scan.touched[i]);
+                }
+            }
+        }
+        return improved;
+    }
+
+    /**
+     * Avaliação da vizinhança de uma cidade e aplicação do melhor movimento.
+     * Só lê o tour em {@link #bestMoveFrom(int, int[])}, pelo que várias instâncias podem
+     * avaliar o mesmo tour em paralelo (ver {@link SpeculativeParallelSearch}).
+     */
+    static final class Scan {
+        private static final int NONE = 0;
+        private static final int TWO_OPT = 1;
+        private static final int RELOCATE = 2;
+
+        private final DistanceOracle dist;
+        private final ArrayTour tour;
+        private final boolean twoOpt;
+        private final boolean orOpt;
+
+        // Melhor movimento: 2-opt (a, b, c, d) ou relocalização t[0..5] (3-opt sequencial)
+        private int bestType;
+        private double bestGain;
+        private final int[] best = new int[6];
+        private boolean bestInverted;
+
+        private final int[] touched = new int[6];
+        private int touchedCount;
+
+        Scan(DistanceOracle dist, ArrayTour tour, boolean twoOpt, boolean orOpt) {
+            this.dist = dist;
+            this.tour = tour;
+            this.twoOpt = twoOpt;
+            this.orOpt = orOpt;
+        }
+
+        /**
+         * Procura o melhor movimento que acrescenta uma aresta (c, d) com d nos candidatos de c.
+         *
+         * @return true se existe um movimento com ganho positivo.
+         */
+        boolean bestMoveFrom(int c, int[] candidates) {
+            return bestMoveFrom(c, candidates, candidates.length);
+        }
+
+        /**
+         * Como {@link #bestMoveFrom(int, int[])}, com os candidatos em candidates[0..count-1]
+         * (por ordem crescente de distância a c).
+         */
+        boolean bestMoveFrom(int c, int[] candidates, int count) {
+            bestType = NONE;
+            bestGain = EPS;
+            int sc = tour.next(c);
+            int pc = tour.prev(c);
+            double dSucc = dist.dist(c, sc);
+            double dPred = dist.dist(pc, c);
+
+            for (int i = 0; i < count; i++) {
+                int d = candidates[i];
+                double dcd = dist.dist(c, d);
+                // Nenhum movimento pode ganhar se a nova aresta for mais longa que as duas de c
+                if (dcd >= dSucc && dcd >= dPred) break;
+
+                if (twoOpt) {
+                    // 2-Opt com as arestas (c, sc) e (d, sd)
+                    int sd = tour.next(d);
+                    if (d != sc && sd != c) {
+                        double gain = dSucc + dist.dist(d, sd) - dcd - dist.dist(sc, sd);
+                        if (gain > bestGain) setTwoOpt(gain, c, sc, d, sd);
+                    }
+                    // 2-Opt com as arestas (pc, c) e (pd, d)
+                    int pd = tour.prev(d);
+                    if (d != pc && pd != c) {
+                        double gain = dPred + dist.dist(pd, d) - dcd - dist.dist(pc, pd);
+                        if (gain > bestGain) setTwoOpt(gain, pd, d, pc, c);
+                    }
+                }
+                if (!orOpt) continue;
+
+                // Relocalização de segmentos que começam em c, para junto de d
+                int s1 = c, s2 = c;
+                for (int len = 1; len <= MAX_SEGMENT_LENGTH; len++) {
+                    if (len > 1) s2 = tour.next(s2);
+                    if (!evaluateSegment(s1, s2, d)) break;
+                }
+                // ... e de segmentos que terminam em c
+                s1 = c;
+                s2 = c;
+                for (int len = 2; len <= MAX_SEGMENT_LENGTH; len++) {
+                    s1 = tour.prev(s1);
+                    if (!evaluateSegment(s1, s2, d)) break;
+                }
+            }
+            return bestType != NONE;
+        }
+
+        /**
+         * Avalia a relocalização do segmento s1..s2 (sentido directo) para as arestas (pd, d) e (d, sd).
+         *
+         * @return false se o segmento já contiver d (segmentos maiores também o conterão).
+         */
+        private boolean evaluateSegment(int s1, int s2, int d) {
+            if (tour.between(s1, d, s2)) return false;
+            int p = tour.prev(s1);
+            int nx = tour.next(s2);
+            if (nx == s1) return false;
+            double removed = dist.dist(p, s1) + dist.dist(s2, nx) - dist.dist(p, nx);
+
+            // Aresta de inserção (d, e) com e = next(d) e com e = prev(d)
+            for (int side = 0; side < 2; side++) {
+                int e = side == 0 ? tour.next(d) : tour.prev(d);
+                if (tour.between(s1, e, s2)) continue;
+                int a = side == 0 ? d : e;   // aresta (a, b) com b = next(a)
+                int b = side == 0 ? e : d;
+                double base = removed + dist.dist(a, b);
+
+                // Sem inversão: a - s1 ... s2 - b
+                double gain = base - dist.dist(a, s1) - dist.dist(s2, b);
+                if (gain > bestGain) setRelocate(gain, p, s1, a, b, s2, nx, false);
+                // Com inversão: a - s2 ... s1 - b
+                gain = base - dist.dist(a, s2) - dist.dist(s1, b);
+                if (gain > bestGain) setRelocate(gain, p, s1, b, a, s2, nx, true);
+            }
+            return true;
+        }
+
+        /**
+         * @return true se o melhor movimento encontrado for um 2-Opt (a, b, c, d);
+         *         caso contrário é uma relocalização (3-opt sequencial de 6 extremidades).
+         */
+        boolean isTwoOpt() {
+            return bestType == TWO_OPT;
+        }
+
+        /**
+         * @return Ganho do melhor movimento encontrado.
+         */
+        double gain() {
+            return bestGain;
+        }
+
+        /**
+         * @return Extremidades do melhor movimento encontrado (4 para 2-Opt, 6 para relocalização).
+         */
+        int[] move() {
+            return best;
+        }
+
+        /**
+         * @return true se a melhor relocalização insere o segmento invertido (y - s2 ... s1 - x).
+         */
+        boolean isInverted() {
+            return bestInverted;
+        }
+
+        private void setTwoOpt(double gain, int a, int b, int c, int d) {
+            bestType = TWO_OPT;
+            bestGain = gain;
+            best[0] = a;
+            best[1] = b;
+            best[2] = c;
+            best[3] = d;
+        }
+
+        /**
+         * Relocalização como 3-opt sequencial: remove (p, s1), (x, y), (s2, nx) e
+         * acrescenta (s1, x), (y, s2), (nx, p). Sem inversão (x, y) segue o sentido do tour;
+         * com inversão é (y, x) que o segue.
+         */
+        private void setRelocate(double gain, int p, int s1, int x, int y, int s2, int nx, boolean inverted) {
+            bestType = RELOCATE;
+            bestGain = gain;
+            bestInverted = inverted;
+            best[0] = p;
+            best[1] = s1;
+            best[2] = x;
+            best[3] = y;
+            best[4] = s2;
+            best[5] = nx;
+        }
+
+        /**
+         * Aplica o melhor movimento encontrado, que tem de ter sido avaliado no estado atual do tour.
+         * A relocalização usa {@link ArrayTour#relocate}, com custo proporcional à distância no tour
+         * entre o segmento e a aresta de inserção.
+         */
+        void apply() {
+            if (bestType == TWO_OPT) {
+                tour.twoOptMove(best[0], best[1], best[2], best[3]);
+                touchedCount = 4;
+            } else {
+                int u = bestInverted ? best[3] : best[2];
+                int v = bestInverted ? best[2] : best[3];
+                tour.relocate(best[0], best[1], best[4], best[5], u, v, bestInverted);
+                touchedCount = 6;
+            }
+            System.arraycopy(best, 0, touched, 0, touchedCount);
+        }
+    }
+
+    /**
+     * Executa o operador combinado com base num ficheiro .tsp e imprime o resultado.
+     *
+     * @param args Argumentos da linha de comandos (não utilizados).
+     */
+    public static void main(String[] args) {
+        List<Utils.City> cities = Utils.readTSPFile("src/main/resources/a280.tsp");
+        if (cities.isEmpty()) {
+            System.out.println("Nenhuma cidade encontrada no ficheiro.");
+            return;
+        }
+
+        // Cria tour inicial (ordem original + ciclo fechado)
+        List<Utils.City> initialTour = new ArrayList<>(cities);
+        initialTour.add(cities.get(0));
+
+        System.out.println("Comprimento do tour inicial: " + calculatePathCost(initialTour));
+
+        List<Utils.City> improvedTour = opt2Or(initialTour);
+        System.out.println("Comprimento do tour após 2-Opt + Or-Opt: " + calculatePathCost(improvedTour));
+
+        System.out.println("Tour:");
+        for (Utils.City city : improvedTour) {
+            System.out.print(city + " ");
+        }
+        System.out.println();
+    }
+}
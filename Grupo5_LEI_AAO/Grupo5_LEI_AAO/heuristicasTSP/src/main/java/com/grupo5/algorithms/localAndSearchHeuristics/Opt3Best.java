@@ -1,5 +1,6 @@
 package com.grupo5.algorithms.localAndSearchHeuristics;
 
+import com.grupo5.algorithms.utils.DistanceOracle;
 import com.grupo5.algorithms.utils.Utils;
 
 import java.util.*;
@@ -9,9 +10,16 @@ import static com.grupo5.algorithms.utils.Utils.calculatePathCost;
 /**
  * Implementa a heurística 3-Opt com a estratégia **Best Improvement**.
  * Em cada iteração, avalia todas as trocas possíveis e aplica **a que melhora mais** o tour.
+ *
+ * Cada troca é avaliada em O(1) a partir das três arestas removidas e das três acrescentadas, e a
+ * avaliação é repartida por intervalos de i entre os núcleos disponíveis
+ * (ver {@link ParallelBestImprovement}); a melhor troca global é aplicada em série.
  */
 public class Opt3Best {
 
+    /** Tolerância numérica para considerar um ganho positivo. */
+    private static final double EPS = 1e-9;
+
     /**
      * Executa a heurística 3-Opt usando a estratégia de Best Improvement.
      *
@@ -19,63 +27,65 @@ public class Opt3Best {
      * @return Tour melhorado.
      */
     public static List<Utils.City> opt3BestImprovement(List<Utils.City> tour) {
-        boolean improvement = true;
+        int n = tour.size() - 1;
+        if (n < 6) return new ArrayList<>(tour);
 
+        List<Utils.City> cities = new ArrayList<>(tour.subList(0, n));
+        DistanceOracle dist = new DistanceOracle(cities);
+        int[] order = new int[n + 1];
+        for (int p = 0; p < n; p++) order[p] = p;
+        order[n] = 0; // ciclo fechado
+
+        boolean improvement = true;
         while (improvement) {
             improvement = false;
-            double bestDelta = 0;
-            List<Utils.City> bestTour = null;
-
-            // Percorre trios de índices para testar trocas
-            for (int i = 1; i < tour.size() - 5; i++) {
-                for (int j = i + 2; j < tour.size() - 3; j++) {
-                    for (int k = j + 2; k < tour.size() - 1; k++) {
-                        List<Utils.City> newTour = threeOptSwap(tour, i, j, k);
-                        double delta = calculatePathCost(tour) - calculatePathCost(newTour);
-
-                        // Guarda a melhor melhoria encontrada
-                        if (delta > bestDelta) {
-                            bestDelta = delta;
-                            bestTour = newTour;
+
+            // Percorre trios de índices (i < j < k), em paralelo por intervalos de i
+            ParallelBestImprovement.Move best = ParallelBestImprovement.findBest(1, n - 4, EPS,
+                    (from, to, move) -> {
+                        for (int i = from; i < to; i++) {
+                            for (int j = i + 2; j < n - 2; j++) {
+                                for (int k = j + 2; k < n; k++) {
+                                    move.offer(gain(dist, order, i, j, k), i, j, k);
+                                }
+                            }
                         }
-                    }
-                }
-            }
+                    });
 
             // Aplica a melhor troca, se houver
-            if (bestTour != null) {
-                tour = bestTour;
+            if (best.found()) {
+                reverse(order, best.a, best.b - 1);
+                reverse(order, best.b, best.c - 1);
                 improvement = true;
             }
         }
 
-        return tour;
+        List<Utils.City> result = new ArrayList<>(n + 1);
+        for (int p = 0; p <= n; p++) result.add(cities.get(order[p]));
+        return result;
     }
 
     /**
-     * Troca 3-Opt: inverte os segmentos [i, j) e [j, k).
-     *
-     * @param tour Tour atual.
-     * @param i Início do 1.º segmento.
-     * @param j Início do 2.º segmento.
-     * @param k Fim do 2.º segmento.
-     * @return Novo tour com os dois segmentos invertidos.
+     * Ganho da troca 3-Opt que inverte os segmentos [i, j) e [j, k): remove as arestas
+     * (i-1, i), (j-1, j), (k-1, k) e acrescenta (i-1, j-1), (i, k-1), (j, k).
      */
-    private static List<Utils.City> threeOptSwap(List<Utils.City> tour, int i, int j, int k) {
-        List<Utils.City> newTour = new ArrayList<>();
-
-        newTour.addAll(tour.subList(0, i));
-
-        List<Utils.City> segment1 = new ArrayList<>(tour.subList(i, j));
-        Collections.reverse(segment1);
-        newTour.addAll(segment1);
-
-        List<Utils.City> segment2 = new ArrayList<>(tour.subList(j, k));
-        Collections.reverse(segment2);
-        newTour.addAll(segment2);
+    private static double gain(DistanceOracle dist, int[] order, int i, int j, int k) {
+        int a = order[i - 1], b = order[i];
+        int c = order[j - 1], d = order[j];
+        int e = order[k - 1], f = order[k];
+        return dist.dist(a, b) + dist.dist(c, d) + dist.dist(e, f)
+                - dist.dist(a, c) - dist.dist(b, e) - dist.dist(d, f);
+    }
 
-        newTour.addAll(tour.subList(k, tour.size()));
-        return newTour;
+    /**
+     * Inverte as posições [i, j] do array.
+     */
+    private static void reverse(int[] order, int i, int j) {
+        while (i < j) {
+            int tmp = order[i];
+            order[i++] = order[j];
+            order[j--] = tmp;
+        }
     }
 
     /**
@@ -0,0 +1,102 @@
+package com.grupo5.algorithms.localAndSearchHeuristics;
+
+import com.grupo5.algorithms.utils.ArrayTour;
+import com.grupo5.algorithms.utils.CandidateLists;
+import com.grupo5.algorithms.utils.DistanceOracle;
+import com.grupo5.algorithms.utils.DontLookBits;
+import com.grupo5.algorithms.utils.Utils;
+
+import java.util.*;
+
+import static com.grupo5.algorithms.utils.Utils.calculatePathCost;
+
+/**
+ * Implementa uma pesquisa local cujo movimento básico é um 5-opt sequencial, ao estilo do LKH-2.
+ *
+ * A partir de uma aresta (t1, t2), o movimento acrescenta arestas (t2i, t2i+1) escolhidas em listas
+ * de candidatos pequenas e remove arestas do tour (t2i+1, t2i+2), com qualquer um dos dois vizinhos
+ * de t2i+1. Ao contrário do Lin-Kernighan clássico, os estados intermédios não precisam de ser tours:
+ * só o fecho (t2k, t1) tem de produzir um ciclo, o que é verificado com as posições do tour
+ * (ver {@link ArrayTour#isFeasibleKOpt(int[], int)}). Aceitam-se fechos com 2 a 5 trocas.
+ *
+ * Tal como no LKH, quando nenhum fecho melhora o tour, o melhor 5-opt válido é aplicado
+ * provisoriamente e a pesquisa continua a partir da última extremidade (ganho positivo acumulado);
+ * se a cadeia não terminar numa melhoria, os passos são desfeitos. A pesquisa é a mesma do
+ * {@link OptK} ({@link KOptSearch}), aqui com k = 5 e até {@link #MAX_STEPS} passos sem ganho.
+ *
+ * Cada passo é mais caro que um 2-opt, mas atinge ótimos locais bastante melhores.
+ */
+public class Opt5 {
+
+    /** Número máximo de arestas trocadas num movimento. */
+    private static final int MAX_K = 5;
+
+    /** Número máximo de movimentos básicos encadeados sem ganho antes de desistir. */
+    private static final int MAX_STEPS = 3;
+
+    /** Tamanho das listas de candidatos. */
+    private static final int CANDIDATES = 5;
+
+    /** Vizinhos por quadrante acrescentados às listas de candidatos. */
+    private static final int QUADRANT_CANDIDATES = 1;
+
+    /**
+     * Aplica movimentos 5-opt sequenciais até não haver mais melhorias.
+     *
+     * @param tour Tour inicial (deve estar fechado: a primeira cidade aparece no fim).
+     * @return Tour melhorado.
+     */
+    public static List<Utils.City> opt5(List<Utils.City> tour) {
+        int n = tour.size() - 1;
+        if (n < 2 * MAX_K) return new ArrayList<>(tour);
+
+        List<Utils.City> cities = new ArrayList<>(tour.subList(0, n));
+        DistanceOracle dist = new DistanceOracle(cities);
+        ArrayTour arrayTour = ArrayTour.identity(n);
+        int[][] neighbors = CandidateLists.buildWithQuadrants(dist, CANDIDATES, QUADRANT_CANDIDATES);
+
+        improve(dist, arrayTour, neighbors, DontLookBits.allActive(n));
+        return arrayTour.toClosedTour(cities);
+    }
+
+    /**
+     * Aplica movimentos 5-opt sequenciais ao tour (no próprio tour) enquanto houver cidades ativas.
+     *
+     * @param dist      Oráculo de distâncias.
+     * @param tour      Tour a melhorar.
+     * @param neighbors Listas de candidatos.
+     * @param active    Cidades ativas; as extremidades das arestas alteradas são reativadas.
+     * @return true se o tour foi melhorado.
+     */
+    public static boolean improve(DistanceOracle dist, ArrayTour tour, int[][] neighbors, DontLookBits active) {
+        return new KOptSearch(dist, tour, neighbors, MAX_K, MAX_STEPS).improve(active);
+    }
+
+    /**
+     * Ponto de entrada para aplicar a heurística 5-opt sobre um conjunto de cidades lido de ficheiro.
+     *
+     * @param args Argumentos da linha de comandos (não utilizados).
+     */
+    public static void main(String[] args) {
+        List<Utils.City> cities = Utils.readTSPFile("src/main/resources/a280.tsp");
+        if (cities.isEmpty()) {
+            System.out.println("Nenhuma cidade encontrada no ficheiro.");
+            return;
+        }
+
+        // Tour inicial: ordem original + cidade inicial no fim (ciclo fechado)
+        List<Utils.City> initialTour = new ArrayList<>(cities);
+        initialTour.add(cities.get(0));
+
+        System.out.println("Comprimento do tour inicial: " + calculatePathCost(initialTour));
+
+        List<Utils.City> improvedTour = opt5(initialTour);
+        System.out.println("Comprimento do tour após 5-Opt sequencial: " + calculatePathCost(improvedTour));
+
+        System.out.println("Tour:");
+        for (Utils.City city : improvedTour) {
+            System.out.print(city + " ");
+        }
+        System.out.println();
+    }
+}
@@ -1,5 +1,9 @@
 package com.grupo5.algorithms.localAndSearchHeuristics;
 
+import com.grupo5.algorithms.utils.ArrayTour;
+import com.grupo5.algorithms.utils.CandidateLists;
+import com.grupo5.algorithms.utils.DistanceOracle;
+import com.grupo5.algorithms.utils.DontLookBits;
 import com.grupo5.algorithms.utils.Utils;
 
 import java.util.*;
@@ -12,10 +16,21 @@ import static com.grupo5.algorithms.utils.Utils.calculatePathCost;
  * Dependendo do valor de k:
  * - Para k = 2: aplica 2-opt com estratégia first improvement.
  * - Para k = 3: delega para a implementação já existente de 3-opt.
- * - Para k >= 4: aplica uma abordagem simplificada baseada na inversão de múltiplos segmentos.
+ * - Para k >= 4: aplica uma pesquisa k-opt sequencial sobre listas de candidatos, com ganhos
+ *   calculados incrementalmente e movimentos aplicados no próprio tour (a pesquisa de
+ *   {@link KOptSearch}, partilhada com o {@link Opt5}, sem passos sem ganho).
+ *
+ * O valor de k é um parâmetro de execução: valores maiores encontram melhores ótimos locais
+ * à custa de mais tempo por cidade.
  */
 public class OptK {
 
+    /** Tamanho das listas de candidatos usadas para k >= 4. */
+    private static final int CANDIDATES = 5;
+
+    /** Vizinhos por quadrante acrescentados às listas de candidatos. */
+    private static final int QUADRANT_CANDIDATES = 1;
+
     /**
      * Aplica a heurística k-Opt ao tour fornecido.
      *
@@ -52,16 +67,10 @@ public class OptK {
                 bestDistance = calculatePathCost(tour);
                 improvement = false; // Opt3 já faz iteração interna
             }
-            // Para k >= 4, usa abordagem simplificada baseada em cortes e inversões
+            // Para k >= 4, usa a pesquisa k-opt sequencial (que já é iterativa)
             else {
-                List<Integer> cutIndices = chooseKIndices(tour.size(), k);
-                List<Utils.City> newTour = performKOptSwap(tour, cutIndices);
-                double newDistance = calculatePathCost(newTour);
-                if (newDistance < bestDistance) {
-                    tour = newTour;
-                    bestDistance = newDistance;
-                    improvement = true;
-                }
+                tour = sequentialKOpt(tour, k);
+                improvement = false;
             }
         }
 
@@ -69,46 +78,44 @@ public class OptK {
     }
 
     /**
-     * Gera k índices uniformemente espaçados no tour (evita extremos).
+     * Pesquisa k-opt sequencial (k >= 4) sobre as listas de candidatos.
      *
-     * @param tourSize Tamanho do tour.
-     * @param k        Número de cortes desejados.
-     * @return Lista com os índices dos cortes.
+     * Para cada cidade ativa t1 e cada aresta (t1, t2), acrescenta arestas (t2i, t2i+1) com t2i+1 nos
+     * candidatos de t2i e remove uma das duas arestas do tour em t2i+1, mantendo o ganho parcial
+     * positivo. Em cada nível tenta-se fechar com (t2i+2, t1); o fecho só é aceite se melhorar o tour
+     * e se a reconexão der um único ciclo. O primeiro movimento melhorador é aplicado no próprio tour
+     * (ver {@link KOptSearch}).
+     *
+     * @param tour Tour inicial (com ciclo fechado).
+     * @param k    Número máximo de arestas trocadas por movimento.
+     * @return Tour melhorado.
      */
-    private static List<Integer> chooseKIndices(int tourSize, int k) {
-        List<Integer> indices = new ArrayList<>();
-        int gap = (tourSize - 2) / k; // -2 para evitar incluir a cidade inicial/final
-        for (int i = 1; i < tourSize - 1 && indices.size() < k; i += gap) {
-            indices.add(i);
-        }
-        return indices;
+    private static List<Utils.City> sequentialKOpt(List<Utils.City> tour, int k) {
+        int n = tour.size() - 1;
+        if (n < 2 * k) return tour;
+
+        List<Utils.City> cities = new ArrayList<>(tour.subList(0, n));
+        DistanceOracle dist = new DistanceOracle(cities);
+        ArrayTour arrayTour = ArrayTour.identity(n);
+        int[][] neighbors = CandidateLists.buildWithQuadrants(dist, CANDIDATES, QUADRANT_CANDIDATES);
+
+        improve(dist, arrayTour, neighbors, DontLookBits.allActive(n), k);
+        return arrayTour.toClosedTour(cities);
     }
 
     /**
-     * Inverte os segmentos entre os cortes fornecidos, simulando uma reconexão k-opt simplificada.
+     * Aplica movimentos k-opt sequenciais ao tour (no próprio tour) enquanto houver cidades ativas.
      *
-     * @param tour        Tour original.
-     * @param cutIndices  Índices onde serão feitos os cortes.
-     * @return Novo tour com segmentos invertidos.
+     * @param dist      Oráculo de distâncias.
+     * @param tour      Tour a melhorar.
+     * @param neighbors Listas de candidatos.
+     * @param active    Cidades ativas; as extremidades das arestas alteradas são reativadas.
+     * @param k         Número máximo de arestas trocadas por movimento.
+     * @return true se o tour foi melhorado.
      */
-    private static List<Utils.City> performKOptSwap(List<Utils.City> tour, List<Integer> cutIndices) {
-        List<Utils.City> newTour = new ArrayList<>();
-        int start = 0;
-
-        // Para cada segmento entre os cortes, inverte e adiciona
-        for (int cut : cutIndices) {
-            List<Utils.City> segment = new ArrayList<>(tour.subList(start, cut));
-            Collections.reverse(segment);
-            newTour.addAll(segment);
-            start = cut;
-        }
-
-        // Inverte o segmento final
-        List<Utils.City> lastSegment = new ArrayList<>(tour.subList(start, tour.size()));
-        Collections.reverse(lastSegment);
-        newTour.addAll(lastSegment);
-
-        return newTour;
+    public static boolean improve(DistanceOracle dist, ArrayTour tour, int[][] neighbors,
+                                  DontLookBits active, int k) {
+        return new KOptSearch(dist, tour, neighbors, k, 0).improve(active);
     }
 
     /**
@@ -1,5 +1,7 @@
 package com.grupo5.algorithms.localAndSearchHeuristics;
 
+import com.grupo5.algorithms.utils.ArrayTour;
+import com.grupo5.algorithms.utils.DistanceOracle;
 import com.grupo5.algorithms.utils.Utils;
 
 import java.util.*;
@@ -77,6 +79,57 @@ public class OptOr {
         return tour;
     }
 
+    /**
+     * Executa a heurística Or-Opt com a estratégia **Best Improvement**: em cada iteração avalia todas
+     * as relocalizações de segmentos (em O(1) cada, pelas três arestas removidas e acrescentadas) e
+     * aplica a melhor. A avaliação é repartida por intervalos de i entre os núcleos disponíveis
+     * (ver {@link ParallelBestImprovement}). O movimento escolhido é aplicado no próprio
+     * {@link ArrayTour} com {@link ArrayTour#relocate}, sem copiar o tour.
+     *
+     * @param tour Tour inicial (deve estar fechado).
+     * @return Tour melhorado.
+     */
+    public static List<Utils.City> orOptBestImprovement(List<Utils.City> tour) {
+        int n = tour.size() - 1;
+        if (n < MAX_SEGMENT_LENGTH + 3) return new ArrayList<>(tour);
+
+        List<Utils.City> cities = new ArrayList<>(tour.subList(0, n));
+        DistanceOracle dist = new DistanceOracle(cities);
+        ArrayTour order = ArrayTour.identity(n);
+
+        boolean improvement = true;
+        while (improvement) {
+            improvement = false;
+
+            // Segmento [i, i+len) entre p e nx, reinserido entre x e y (mesma orientação)
+            ParallelBestImprovement.Move best = ParallelBestImprovement.findBest(1, n, 1e-9,
+                    (from, to, move) -> {
+                        for (int i = from; i < to; i++) {
+                            for (int len = 1; len <= MAX_SEGMENT_LENGTH && i + len <= n; len++) {
+                                int p = order.cityAt(i - 1), s1 = order.cityAt(i);
+                                int s2 = order.cityAt(i + len - 1), nx = order.cityAt((i + len) % n);
+                                double removeGain = dist.dist(p, s1) + dist.dist(s2, nx) - dist.dist(p, nx);
+                                for (int j = 0; j < n; j++) {
+                                    if (j >= i - 1 && j <= i + len - 1) continue; // arestas do próprio segmento
+                                    int x = order.cityAt(j), y = order.cityAt((j + 1) % n);
+                                    double gain = removeGain + dist.dist(x, y) - dist.dist(x, s1) - dist.dist(s2, y);
+                                    move.offer(gain, i, len, j);
+                                }
+                            }
+                        }
+                    });
+
+            if (best.found()) {
+                int i = best.a, len = best.b, j = best.c;
+                order.relocate(order.cityAt(i - 1), order.cityAt(i), order.cityAt(i + len - 1),
+                        order.cityAt((i + len) % n), order.cityAt(j), order.cityAt((j + 1) % n), false);
+                improvement = true;
+            }
+        }
+
+        return order.toClosedTour(cities);
+    }
+
     /**
      * Executa a heurística Or-Opt com base num ficheiro .tsp e imprime o resultado.
      *
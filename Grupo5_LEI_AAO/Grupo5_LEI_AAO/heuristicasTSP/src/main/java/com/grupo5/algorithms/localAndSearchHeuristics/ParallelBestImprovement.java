@@ -0,0 +1,110 @@
+package com.grupo5.algorithms.localAndSearchHeuristics;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Avaliação paralela (fork-join) de vizinhanças com a estratégia **Best Improvement**.
+ *
+ * O espaço de movimentos é dividido por intervalos do primeiro índice (i). Cada tarefa percorre o seu
+ * intervalo e guarda o seu melhor movimento num objeto próprio, sem escritas partilhadas; os melhores
+ * locais são depois reduzidos ao melhor global, que o chamador aplica em série.
+ */
+final class ParallelBestImprovement {
+
+    /** Número de tarefas por thread, para equilibrar intervalos com custos diferentes. */
+    private static final int TASKS_PER_THREAD = 8;
+
+    private ParallelBestImprovement() {
+    }
+
+    /**
+     * Melhor movimento encontrado: ganho e até três índices que o descrevem.
+     */
+    static final class Move {
+        double gain;
+        int a;
+        int b;
+        int c;
+
+        Move(double minGain) {
+            this.gain = minGain;
+            this.a = -1;
+        }
+
+        /**
+         * Regista o movimento se for melhor que o atual.
+         */
+        void offer(double gain, int a, int b, int c) {
+            if (gain > this.gain) {
+                this.gain = gain;
+                this.a = a;
+                this.b = b;
+                this.c = c;
+            }
+        }
+
+        /**
+         * @return true se foi encontrado algum movimento acima do ganho mínimo.
+         */
+        boolean found() {
+            return a >= 0;
+        }
+    }
+
+    /**
+     * Avalia todos os movimentos cujo primeiro índice está em [from, to).
+     */
+    @FunctionalInterface
+    interface RangeScan {
+        void scan(int from, int to, Move best);
+    }
+
+    /**
+     * Procura o melhor movimento em [from, to) usando o pool fork-join comum.
+     *
+     * @param from    Primeiro índice (inclusive).
+     * @param to      Último índice (exclusive).
+     * @param minGain Ganho mínimo para um movimento ser aceite.
+     * @param scan    Avaliação de um intervalo.
+     * @return Melhor movimento (ver {@link Move#found()}).
+     */
+    static Move findBest(int from, int to, double minGain, RangeScan scan) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int grain = Math.max(1, (to - from) / (pool.getParallelism() * TASKS_PER_THREAD));
+        return pool.invoke(new ScanTask(from, to, grain, minGain, scan));
+    }
+
+    private static final class ScanTask extends RecursiveTask<Move> {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final double minGain;
+        private final RangeScan scan;
+
+        ScanTask(int from, int to, int grain, double minGain, RangeScan scan) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.minGain = minGain;
+            this.scan = scan;
+        }
+
+        @Override
+        protected Move compute() {
+            if (to - from <= grain) {
+                Move best = new Move(minGain);
+                scan.scan(from, to, best);
+                return best;
+            }
+            int mid = (from + to) >>> 1;
+            ScanTask left = new ScanTask(from, mid, grain, minGain, scan);
+            left.fork();
+            Move right = new ScanTask(mid, to, grain, minGain, scan).compute();
+            Move leftBest = left.join();
+            return leftBest.gain >= right.gain ? leftBest : right;
+        }
+    }
+}
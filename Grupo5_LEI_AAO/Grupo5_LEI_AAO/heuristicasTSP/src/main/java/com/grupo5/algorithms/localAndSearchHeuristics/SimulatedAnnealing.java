@@ -0,0 +1,243 @@
+package com.grupo5.algorithms.localAndSearchHeuristics;
+
+import com.grupo5.algorithms.utils.ArrayTour;
+import com.grupo5.algorithms.utils.CandidateLists;
+import com.grupo5.algorithms.utils.DistanceOracle;
+import com.grupo5.algorithms.utils.Utils;
+
+import java.util.*;
+
+import static com.grupo5.algorithms.utils.Utils.calculatePathCost;
+
+/**
+ * Implementa o Arrefecimento Simulado (Simulated Annealing) para o Problema do Caixeiro Viajante (TSP).
+ *
+ * Em cada passo sorteia-se uma cidade c, um candidato d da lista de c e um movimento:
+ * - 2-Opt que acrescenta a aresta (c, d);
+ * - relocalização (Or-Opt) do segmento de 1 a 3 cidades que começa em c para junto de d,
+ *   com ou sem inversão.
+ * A variação de custo é calculada em O(1) e o movimento é aceite se melhorar o tour ou, se piorar
+ * em delta, com probabilidade exp(-delta / T), lida de uma tabela pré-calculada.
+ *
+ * Os movimentos aceites são aplicados no próprio {@link ArrayTour} com inversões (a relocalização
+ * é feita com duas ou três trocas 2-Opt, ver {@link ArrayTour#relocate}), e o ciclo principal não
+ * cria objetos: o gerador é um {@link SplittableRandom} e todo o estado vive em variáveis locais e
+ * arrays criados à partida (o melhor tour só é copiado no fim de cada época em que melhorou).
+ * A temperatura segue um {@link CoolingSchedule} e é atualizada a cada {@link #EPOCH} passos.
+ */
+public class SimulatedAnnealing {
+
+    /** Número de passos entre atualizações da temperatura (e da cópia do melhor tour). */
+    public static final int EPOCH = 4096;
+
+    /** Passos por cidade na execução por omissão. */
+    private static final int MOVES_PER_CITY = 20_000;
+
+    /** Temperaturas inicial e final por omissão, em frações do comprimento médio das arestas. */
+    private static final double START_TEMPERATURE = 0.3;
+    private static final double END_TEMPERATURE = 0.001;
+
+    /** A tabela cobre exp(-x) para x em [0, EXP_RANGE); acima disso o movimento é rejeitado. */
+    private static final double EXP_RANGE = 16.0;
+    private static final int EXP_STEPS_PER_UNIT = 256;
+    private static final double[] EXP_TABLE = new double[(int) (EXP_RANGE * EXP_STEPS_PER_UNIT)];
+
+    static {
+        for (int i = 0; i < EXP_TABLE.length; i++) {
+            EXP_TABLE[i] = Math.exp(-(i + 0.5) / EXP_STEPS_PER_UNIT);
+        }
+    }
+
+    /** Tamanho máximo do segmento relocalizado. */
+    private static final int MAX_SEGMENT_LENGTH = 3;
+
+    /**
+     * Esquema de arrefecimento: temperatura em função do progresso da pesquisa.
+     */
+    @FunctionalInterface
+    public interface CoolingSchedule {
+        /**
+         * @param progress Fração dos passos já feitos, em [0, 1].
+         * @return Temperatura.
+         */
+        double temperature(double progress);
+
+        /**
+         * Arrefecimento geométrico (exponencial) de t0 até t1.
+         */
+        static CoolingSchedule geometric(double t0, double t1) {
+            double ratio = Math.log(t1 / t0);
+            return progress -> t0 * Math.exp(ratio * progress);
+        }
+
+        /**
+         * Arrefecimento linear de t0 até t1.
+         */
+        static CoolingSchedule linear(double t0, double t1) {
+            return progress -> t0 + (t1 - t0) * progress;
+        }
+    }
+
+    /**
+     * Executa o Simulated Annealing com arrefecimento geométrico e {@link #MOVES_PER_CITY} passos por cidade.
+     * As temperaturas são proporcionais ao comprimento médio das arestas do tour inicial.
+     *
+     * @param tour Tour inicial (deve estar fechado: a primeira cidade repetida no fim).
+     * @return Melhor tour encontrado.
+     */
+    public static List<Utils.City> simulatedAnnealing(List<Utils.City> tour) {
+        int n = tour.size() - 1;
+        if (n < 8) return new ArrayList<>(tour);
+        double meanEdge = calculatePathCost(tour) / n;
+        CoolingSchedule schedule = CoolingSchedule.geometric(START_TEMPERATURE * meanEdge, END_TEMPERATURE * meanEdge);
+        return simulatedAnnealing(tour, schedule, (long) MOVES_PER_CITY * n, MultiStart.DEFAULT_SEED);
+    }
+
+    /**
+     * Executa o Simulated Annealing com os parâmetros indicados.
+     *
+     * @param tour     Tour inicial (deve estar fechado).
+     * @param schedule Esquema de arrefecimento.
+     * @param moves    Número de passos (movimentos sorteados).
+     * @param seed     Semente do gerador.
+     * @return Melhor tour encontrado.
+     */
+    public static List<Utils.City> simulatedAnnealing(List<Utils.City> tour, CoolingSchedule schedule,
+                                                      long moves, long seed) {
+        int n = tour.size() - 1;
+        if (n < 8) return new ArrayList<>(tour);
+
+        List<Utils.City> cities = new ArrayList<>(tour.subList(0, n));
+        DistanceOracle dist = new DistanceOracle(cities);
+        ArrayTour arrayTour = ArrayTour.identity(n);
+        int[][] neighbors = CandidateLists.build(dist, CandidateLists.DEFAULT_K);
+
+        int[] best = anneal(dist, arrayTour, neighbors, schedule, moves, new SplittableRandom(seed));
+        return new ArrayTour(best).toClosedTour(cities);
+    }
+
+    /**
+     * Ciclo principal do Simulated Annealing (no próprio tour). No fim o tour fica no estado atual,
+     * que pode não ser o melhor; o melhor é verificado (e copiado) no fim de cada época.
+     *
+     * @param dist      Oráculo de distâncias.
+     * @param tour      Tour inicial.
+     * @param neighbors Listas de candidatos.
+     * @param schedule  Esquema de arrefecimento.
+     * @param moves     Número de passos.
+     * @param random    Gerador.
+     * @return Ordem de visita do melhor tour encontrado.
+     */
+    public static int[] anneal(DistanceOracle dist, ArrayTour tour, int[][] neighbors, CoolingSchedule schedule,
+                               long moves, SplittableRandom random) {
+        int n = tour.size();
+        double current = tour.length(dist);
+        double bestLength = current;
+        int[] best = tour.toArray();
+
+        for (long done = 0; done < moves; done += EPOCH) {
+            double temperature = schedule.temperature((double) done / moves);
+            double scale = temperature > 0 ? EXP_STEPS_PER_UNIT / temperature : Double.POSITIVE_INFINITY;
+            long steps = Math.min(EPOCH, moves - done);
+
+            for (long step = 0; step < steps; step++) {
+                int c = random.nextInt(n);
+                int[] list = neighbors[c];
+                int d = list[random.nextInt(list.length)];
+                int kind = random.nextInt(4);
+
+                if (kind < 2) {
+                    // 2-Opt que acrescenta (c, d): com os sucessores (kind 0) ou com os predecessores (kind 1)
+                    int a, b, e, f; // remove (a, b) e (e, f), com b = next(a) e f = next(e)
+                    if (kind == 0) {
+                        a = c;
+                        b = tour.next(c);
+                        e = d;
+                        f = tour.next(d);
+                    } else {
+                        a = tour.prev(d);
+                        b = d;
+                        e = tour.prev(c);
+                        f = c;
+                    }
+                    if (b == e || f == a || a == e) continue;
+                    double delta = dist.dist(a, e) + dist.dist(b, f) - dist.dist(a, b) - dist.dist(e, f);
+                    if (accept(delta, scale, random)) {
+                        tour.twoOptMove(a, b, e, f);
+                        current += delta;
+                    }
+                } else {
+                    // Or-Opt: segmento s1..s2 que começa em c, inserido na aresta (u, v) de d
+                    int length = 1 + random.nextInt(MAX_SEGMENT_LENGTH);
+                    int s1 = c, s2 = c, s3 = c;
+                    for (int i = 1; i < length; i++) {
+                        s2 = tour.next(s2);
+                        if (i == 1) s3 = s2;
+                    }
+                    int p = tour.prev(s1);
+                    int nx = tour.next(s2);
+                    int u = kind == 2 ? d : tour.prev(d);
+                    int v = tour.next(u);
+                    if (u == s1 || u == s2 || u == s3 || v == s1 || v == s2 || v == s3) continue;
+                    // Com v == p as arestas trocadas seriam adjacentes (o mesmo movimento obtém-se relocalizando p)
+                    if (v == p || nx == p) continue;
+
+                    double base = dist.dist(p, nx) - dist.dist(p, s1) - dist.dist(s2, nx) - dist.dist(u, v);
+                    double straight = base + dist.dist(u, s1) + dist.dist(s2, v);
+                    double reversed = base + dist.dist(u, s2) + dist.dist(s1, v);
+                    boolean invert = reversed < straight;
+                    double delta = invert ? reversed : straight;
+                    if (accept(delta, scale, random)) {
+                        tour.relocate(p, s1, s2, nx, u, v, invert);
+                        current += delta;
+                    }
+                }
+            }
+
+            if (current < bestLength - 1e-9) {
+                bestLength = current;
+                best = tour.toArray();
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Critério de Metropolis: aceita sempre melhorias e pioras de delta com probabilidade exp(-delta / T).
+     *
+     * @param scale EXP_STEPS_PER_UNIT / T (índice na tabela por unidade de delta).
+     */
+    private static boolean accept(double delta, double scale, SplittableRandom random) {
+        if (delta <= 0) return true;
+        double index = delta * scale;
+        if (index >= EXP_TABLE.length) return false;
+        return random.nextDouble() < EXP_TABLE[(int) index];
+    }
+
+    /**
+     * Executa o Simulated Annealing com base num ficheiro .tsp e imprime o resultado.
+     *
+     * @param args Argumentos da linha de comandos (não utilizados).
+     */
+    public static void main(String[] args) {
+        List<Utils.City> cities = Utils.readTSPFile("src/main/resources/a280.tsp");
+        if (cities.isEmpty()) {
+            System.out.println("Nenhuma cidade encontrada no ficheiro.");
+            return;
+        }
+
+        List<Utils.City> initialTour = new ArrayList<>(cities);
+        initialTour.add(cities.get(0));
+
+        List<Utils.City> improvedTour = simulatedAnnealing(initialTour);
+
+        System.out.println("Simulated Annealing Tour:");
+        for (Utils.City city : improvedTour) {
+            System.out.print(city + " ");
+        }
+        System.out.println();
+
+        double cost = calculatePathCost(improvedTour);
+        System.out.println("Custo total do tour: " + cost);
+    }
+}
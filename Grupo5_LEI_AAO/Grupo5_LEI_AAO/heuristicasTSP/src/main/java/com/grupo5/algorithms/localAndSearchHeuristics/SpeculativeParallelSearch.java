@@ -0,0 +1,260 @@
+package com.grupo5.algorithms.localAndSearchHeuristics;
+
+import com.grupo5.algorithms.utils.ArrayTour;
+import com.grupo5.algorithms.utils.CandidateLists;
+import com.grupo5.algorithms.utils.DistanceOracle;
+import com.grupo5.algorithms.utils.DontLookBits;
+import com.grupo5.algorithms.utils.Utils;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import static com.grupo5.algorithms.utils.Utils.calculatePathCost;
+
+/**
+ * Pesquisa local especulativa em paralelo com a vizinhança 2-Opt + Or-Opt ({@link Opt2Or}).
+ *
+ * Cada ronda decorre em duas fases:
+ * 1. **Pesquisa** (paralela): as cidades ativas são ordenadas pela posição no tour e divididas em
+ *    blocos contíguos, um por tarefa. Cada tarefa só lê o tour e propõe, para cada cidade do seu
+ *    bloco, o melhor movimento com ganho positivo.
+ * 2. **Aplicação** (em série): as propostas são ordenadas por ganho e aceites de forma gulosa se não
+ *    tocarem posições já reservadas por outra proposta aceite. Antes de aplicar, confirma-se que as
+ *    arestas removidas ainda existem (com a mesma orientação relativa), pois os movimentos aceites
+ *    antes podem ter invertido partes do tour. As propostas em conflito ou desatualizadas voltam
+ *    a ficar ativas para a ronda seguinte.
+ *
+ * Em cada ronda a proposta de maior ganho é sempre aplicada, pelo que a pesquisa termina.
+ */
+public class SpeculativeParallelSearch {
+
+    /** Número mínimo de cidades ativas por tarefa (abaixo disto o custo das tarefas não compensa). */
+    private static final int MIN_CHUNK = 64;
+
+    /** Número de blocos por thread, para equilibrar regiões com mais ou menos trabalho. */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * Aplica a pesquisa especulativa até não haver mais melhorias.
+     *
+     * @param tour Tour inicial (deve estar fechado: a primeira cidade repetida no fim).
+     * @return Tour melhorado.
+     */
+    public static List<Utils.City> speculativeOpt2Or(List<Utils.City> tour) {
+        int n = tour.size() - 1;
+        if (n < 8) return new ArrayList<>(tour);
+
+        List<Utils.City> cities = new ArrayList<>(tour.subList(0, n));
+        DistanceOracle dist = new DistanceOracle(cities);
+        ArrayTour arrayTour = ArrayTour.identity(n);
+        int[][] neighbors = CandidateLists.buildWithQuadrants(dist, CandidateLists.DEFAULT_K,
+                CandidateLists.DEFAULT_QUADRANT_K);
+
+        improve(dist, arrayTour, neighbors, DontLookBits.allActive(n));
+        return arrayTour.toClosedTour(cities);
+    }
+
+    /**
+     * Aplica a pesquisa especulativa ao tour (no próprio tour) enquanto houver cidades ativas.
+     *
+     * @param dist      Oráculo de distâncias.
+     * @param tour      Tour a melhorar.
+     * @param neighbors Listas de candidatos.
+     * @param active    Cidades ativas; as extremidades das arestas alteradas são reativadas.
+     * @return true se o tour foi melhorado.
+     */
+    public static boolean improve(DistanceOracle dist, ArrayTour tour, int[][] neighbors, DontLookBits active) {
+        int n = tour.size();
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int[] batch = new int[n];
+        boolean[] reserved = new boolean[n];
+        boolean improved = false;
+
+        while (!active.isEmpty()) {
+            // Esvazia a fila; ordenar por posição dá a cada tarefa uma região contígua do tour
+            int size = 0;
+            while (!active.isEmpty()) {
+                batch[size++] = active.pop();
+            }
+            sortByPosition(batch, size, tour);
+
+            List<Proposal> proposals = search(pool, dist, tour, neighbors, batch, size);
+            proposals.sort((p, q) -> Double.compare(q.gain, p.gain));
+
+            for (Proposal p : proposals) {
+                if (isReserved(p, reserved) || !apply(p, tour)) {
+                    // Perdeu o conflito ou ficou desatualizada por um movimento anterior: volta à fila
+                    active.push(p.city);
+                    continue;
+                }
+                improved = true;
+                active.push(p.city);
+                for (int i = 0; i < p.move.length; i++) {
+                    reserved[p.positions[i]] = true;
+                    active.push(p.move[i]);
+                }
+            }
+            Arrays.fill(reserved, false);
+        }
+        return improved;
+    }
+
+    /**
+     * Movimento proposto por uma tarefa para uma cidade.
+     */
+    private static final class Proposal {
+        final int city;
+        final double gain;
+        final boolean twoOpt;
+        final boolean inverted;
+        final int[] move;
+        /** Posições das extremidades no tour em que o movimento foi avaliado. */
+        final int[] positions;
+
+        Proposal(int city, Opt2Or.Scan scan, ArrayTour tour) {
+            this.city = city;
+            this.gain = scan.gain();
+            this.twoOpt = scan.isTwoOpt();
+            this.inverted = scan.isInverted();
+            this.move = Arrays.copyOf(scan.move(), twoOpt ? 4 : 6);
+            this.positions = new int[move.length];
+            for (int i = 0; i < move.length; i++) {
+                positions[i] = tour.position(move[i]);
+            }
+        }
+    }
+
+    /**
+     * Fase de pesquisa: divide as cidades ativas em blocos e avalia-os em paralelo.
+     */
+    private static List<Proposal> search(ForkJoinPool pool, DistanceOracle dist, ArrayTour tour,
+                                         int[][] neighbors, int[] batch, int size) {
+        int chunks = Math.max(1, Math.min(pool.getParallelism() * CHUNKS_PER_THREAD, size / MIN_CHUNK));
+        List<Callable<List<Proposal>>> tasks = new ArrayList<>(chunks);
+        for (int t = 0; t < chunks; t++) {
+            int from = (int) ((long) size * t / chunks);
+            int to = (int) ((long) size * (t + 1) / chunks);
+            tasks.add(() -> scanChunk(dist, tour, neighbors, batch, from, to));
+        }
+        if (chunks == 1) {
+            return scanChunk(dist, tour, neighbors, batch, 0, size);
+        }
+
+        List<Proposal> proposals = new ArrayList<>();
+        for (Future<List<Proposal>> result : pool.invokeAll(tasks)) {
+            try {
+                proposals.addAll(result.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        return proposals;
+    }
+
+    /**
+     * Propõe o melhor movimento de cada cidade de batch[from, to), sem alterar o tour.
+     */
+    private static List<Proposal> scanChunk(DistanceOracle dist, ArrayTour tour, int[][] neighbors,
+                                            int[] batch, int from, int to) {
+        Opt2Or.Scan scan = new Opt2Or.Scan(dist, tour, true, true);
+        List<Proposal> local = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            int c = batch[i];
+            if (scan.bestMoveFrom(c, neighbors[c])) {
+                local.add(new Proposal(c, scan, tour));
+            }
+        }
+        return local;
+    }
+
+    /**
+     * @return true se alguma extremidade do movimento ocupa uma posição já reservada nesta ronda.
+     */
+    private static boolean isReserved(Proposal p, boolean[] reserved) {
+        for (int q : p.positions) {
+            if (reserved[q]) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Aplica a proposta se as arestas removidas ainda existirem no tour atual, todas no sentido em
+     * que foram avaliadas ou todas no sentido contrário. Nesse caso o ganho é o mesmo que foi
+     * calculado na fase de pesquisa.
+     *
+     * @return true se o movimento foi aplicado.
+     */
+    private static boolean apply(Proposal p, ArrayTour tour) {
+        int[] m = p.move;
+        if (p.twoOpt) {
+            int a = m[0], b = m[1], c = m[2], d = m[3];
+            if (tour.next(a) == b && tour.next(c) == d) {
+                tour.twoOptMove(a, b, c, d);
+                return true;
+            }
+            // As duas arestas foram invertidas em conjunto: o mesmo movimento no sentido contrário
+            if (tour.next(b) == a && tour.next(d) == c) {
+                tour.twoOptMove(d, c, b, a);
+                return true;
+            }
+            return false;
+        }
+        // Relocalização de s1..s2 (entre before e after) para a aresta (u, v)
+        int before = m[0], s1 = m[1], s2 = m[4], after = m[5];
+        int u = p.inverted ? m[3] : m[2];
+        int v = p.inverted ? m[2] : m[3];
+        if (tour.next(before) == s1 && tour.next(s2) == after && tour.next(u) == v) {
+            tour.relocate(before, s1, s2, after, u, v, p.inverted);
+            return true;
+        }
+        // O segmento e a aresta de inserção foram invertidos em conjunto: o mesmo movimento lido no outro sentido
+        if (tour.next(s1) == before && tour.next(after) == s2 && tour.next(v) == u) {
+            tour.relocate(after, s2, s1, before, v, u, p.inverted);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Ordena as primeiras size cidades pela posição atual no tour.
+     */
+    private static void sortByPosition(int[] cities, int size, ArrayTour tour) {
+        for (int i = 0; i < size; i++) cities[i] = tour.position(cities[i]);
+        Arrays.sort(cities, 0, size);
+        for (int i = 0; i < size; i++) cities[i] = tour.cityAt(cities[i]);
+    }
+
+    /**
+     * Executa a pesquisa especulativa com base num ficheiro .tsp e imprime o resultado.
+     *
+     * @param args Argumentos da linha de comandos (não utilizados).
+     */
+    public static void main(String[] args) {
+        List<Utils.City> cities = Utils.readTSPFile("src/main/resources/a280.tsp");
+        if (cities.isEmpty()) {
+            System.out.println("Nenhuma cidade encontrada no ficheiro.");
+            return;
+        }
+
+        // Cria tour inicial (ordem original + ciclo fechado)
+        List<Utils.City> initialTour = new ArrayList<>(cities);
+        initialTour.add(cities.get(0));
+
+        System.out.println("Comprimento do tour inicial: " + calculatePathCost(initialTour));
+
+        List<Utils.City> improvedTour = speculativeOpt2Or(initialTour);
+        System.out.println("Comprimento do tour após pesquisa especulativa: " + calculatePathCost(improvedTour));
+
+        System.out.println("Tour:");
+        for (Utils.City city : improvedTour) {
+            System.out.print(city + " ");
+        }
+        System.out.println();
+    }
+}
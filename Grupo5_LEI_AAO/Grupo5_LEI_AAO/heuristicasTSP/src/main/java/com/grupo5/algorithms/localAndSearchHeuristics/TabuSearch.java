@@ -0,0 +1,482 @@
+package com.grupo5.algorithms.localAndSearchHeuristics;
+
+import com.grupo5.algorithms.utils.ArrayTour;
+import com.grupo5.algorithms.utils.CandidateLists;
+import com.grupo5.algorithms.utils.DistanceOracle;
+import com.grupo5.algorithms.utils.DontLookBits;
+import com.grupo5.algorithms.utils.Utils;
+
+import java.util.*;
+
+import static com.grupo5.algorithms.utils.Utils.calculatePathCost;
+
+/**
+ * Implementa a Pesquisa Tabu para o Problema do Caixeiro Viajante (TSP).
+ *
+ * Em cada iteração considera-se o conjunto dos movimentos 2-Opt e Or-Opt (segmentos de 1 a 3 cidades)
+ * que acrescentam uma aresta (c, d) com d nos candidatos de c, e aplica-se o melhor movimento
+ * não tabu, mesmo que piore o tour. Um movimento é tabu se acrescentar uma aresta removida há
+ * menos de "tenure" iterações, exceto se levar a um novo melhor tour (critério de aspiração).
+ *
+ * Os movimentos não são todos reavaliados em cada iteração: cada cidade guarda o seu melhor
+ * movimento não tabu e o seu melhor movimento tabu (candidato à aspiração), e só as cidades cujos
+ * movimentos leem arestas alteradas (as próximas no tour das extremidades do último movimento e as
+ * que as têm como candidatas, pelas listas inversas) ou arestas cujo estado tabu terminou são
+ * reavaliadas. A escolha percorre os movimentos guardados, recalculando o seu valor no estado atual.
+ *
+ * A memória é guardada em arrays primitivos indexados por um hash da aresta (sem coleções):
+ * - tabuUntil[h]: iteração até à qual a aresta não pode voltar a entrar;
+ * - frequency[h]: número de vezes que a aresta entrou no tour (memória de longo prazo). Os
+ *   movimentos que pioram o tour são penalizados pela frequência das arestas que acrescentam,
+ *   o que afasta a pesquisa das zonas já muito exploradas (diversificação).
+ * Colisões no hash apenas tornam tabu (ou penalizam) uma aresta a mais.
+ */
+public class TabuSearch {
+
+    /** Iterações por cidade na execução por omissão. */
+    private static final int ITERATIONS_PER_CITY = 10;
+
+    /** Duração mínima do estado tabu; a cada movimento soma-se um valor aleatório em [0, TENURE_SPREAD). */
+    private static final int MIN_TENURE = 7;
+    private static final int TENURE_SPREAD = 8;
+
+    /** Peso da penalização por frequência, em frações do comprimento médio das arestas. */
+    private static final double DIVERSIFICATION = 0.5;
+
+    /** Tamanho máximo do segmento relocalizado. */
+    private static final int MAX_SEGMENT_LENGTH = 3;
+
+    /** Tolerância numérica na comparação de comprimentos. */
+    private static final double EPS = 1e-9;
+
+    /**
+     * Executa a Pesquisa Tabu com {@link #ITERATIONS_PER_CITY} iterações por cidade, depois de uma
+     * descida com 2-Opt + Or-Opt.
+     *
+     * @param tour Tour inicial (deve estar fechado: a primeira cidade repetida no fim).
+     * @return Melhor tour encontrado.
+     */
+    public static List<Utils.City> tabuSearch(List<Utils.City> tour) {
+        int n = tour.size() - 1;
+        return tabuSearch(tour, ITERATIONS_PER_CITY * Math.max(n, 0), MultiStart.DEFAULT_SEED);
+    }
+
+    /**
+     * Executa a Pesquisa Tabu com o número de iterações indicado.
+     *
+     * @param tour       Tour inicial (deve estar fechado).
+     * @param iterations Número de iterações (movimentos aplicados).
+     * @param seed       Semente usada na duração do estado tabu.
+     * @return Melhor tour encontrado.
+     */
+    public static List<Utils.City> tabuSearch(List<Utils.City> tour, int iterations, long seed) {
+        int n = tour.size() - 1;
+        if (n < 8) return new ArrayList<>(tour);
+
+        List<Utils.City> cities = new ArrayList<>(tour.subList(0, n));
+        DistanceOracle dist = new DistanceOracle(cities);
+        ArrayTour arrayTour = ArrayTour.identity(n);
+        int[][] neighbors = CandidateLists.build(dist, CandidateLists.DEFAULT_K);
+
+        Opt2Or.improve(dist, arrayTour, neighbors, DontLookBits.allActive(n));
+        int[] best = new Search(dist, arrayTour, neighbors, new SplittableRandom(seed)).run(iterations);
+        return new ArrayTour(best).toClosedTour(cities);
+    }
+
+    /**
+     * Estado da pesquisa: memórias tabu e de frequência e os melhores movimentos de cada cidade.
+     */
+    private static final class Search {
+        private static final int NONE = -1;
+        private static final int TWO_OPT = 0;
+        private static final int RELOCATE = 1;
+
+        /** Iterações guardadas no anel de expirações (maior duração possível do estado tabu + 1). */
+        private static final int RING = MIN_TENURE + TENURE_SPREAD + 1;
+
+        private final DistanceOracle dist;
+        private final ArrayTour tour;
+        private final int[][] neighbors;
+        private final int[][] reverse;
+        private final SplittableRandom random;
+
+        private final int[] tabuUntil;
+        private final int[] frequency;
+        private final int mask;
+        private final double penaltyUnit;
+
+        private int iteration;
+        private double current;
+        private double bestLength;
+
+        // Por cidade: melhor movimento não tabu (pelo valor) e melhor movimento tabu (pela variação)
+        private final Move[] free;
+        private final Move[] aspiring;
+        private Move freeBest;
+        private Move aspiringBest;
+
+        // Cidades a reavaliar e, por iteração do anel, extremidades das arestas cujo estado tabu expira
+        private final DontLookBits dirty;
+        private final int[][] expiring;
+        private final int[] expiringCount;
+
+        Search(DistanceOracle dist, ArrayTour tour, int[][] neighbors, SplittableRandom random) {
+            this.dist = dist;
+            this.tour = tour;
+            this.neighbors = neighbors;
+            this.reverse = CandidateLists.reverse(neighbors);
+            this.random = random;
+            int n = tour.size();
+            int size = Integer.highestOneBit(Math.max(16, 8 * n - 1)) << 1;
+            this.tabuUntil = new int[size];
+            this.frequency = new int[size];
+            this.mask = size - 1;
+            this.penaltyUnit = DIVERSIFICATION * tour.length(dist) / n;
+            this.free = new Move[n];
+            this.aspiring = new Move[n];
+            for (int c = 0; c < n; c++) {
+                free[c] = new Move();
+                aspiring[c] = new Move();
+            }
+            this.dirty = DontLookBits.allActive(n);
+            this.expiring = new int[RING][6 * RING];
+            this.expiringCount = new int[RING];
+        }
+
+        /**
+         * @return Ordem de visita do melhor tour encontrado.
+         */
+        int[] run(int iterations) {
+            current = tour.length(dist);
+            bestLength = current;
+            int[] best = tour.toArray();
+
+            for (iteration = 1; iteration <= iterations; iteration++) {
+                // As arestas cujo estado tabu termina agora voltam a poder entrar
+                int slot = iteration % RING;
+                for (int i = 0; i < expiringCount[slot]; i++) {
+                    markDirty(expiring[slot][i]);
+                }
+                expiringCount[slot] = 0;
+                while (!dirty.isEmpty()) {
+                    evaluateFrom(dirty.pop());
+                }
+
+                Move move = select();
+                if (move == null) break; // todos os movimentos são tabu
+                apply(move);
+                if (current < bestLength - EPS) {
+                    bestLength = current;
+                    best = tour.toArray();
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Melhor movimento entre os guardados por cada cidade, com o valor recalculado no estado atual
+         * (estado tabu, aspiração e penalização). Um movimento 2-Opt guardado deixa de ser válido se
+         * uma inversão noutra zona do tour mudar o sentido relativo das suas arestas; a cidade é então
+         * reavaliada antes de ser comparada.
+         *
+         * @return Movimento a aplicar, ou null se todos forem tabu.
+         */
+        private Move select() {
+            Move best = null;
+            double bestScore = Double.POSITIVE_INFINITY;
+            for (int c = 0; c < free.length; c++) {
+                for (int attempt = 0; attempt < 2; attempt++) {
+                    double freeScore = score(free[c]);
+                    double aspiringScore = score(aspiring[c]);
+                    Move move = freeScore <= aspiringScore ? free[c] : aspiring[c];
+                    double score = Math.min(freeScore, aspiringScore);
+                    if (score >= bestScore) break;
+                    if (attempt == 0 && !isValid(move)) {
+                        evaluateFrom(c);
+                        continue;
+                    }
+                    best = move;
+                    bestScore = score;
+                    break;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Avalia os movimentos que acrescentam uma aresta (c, d) com d nos candidatos de c e guarda
+         * os melhores. Os segmentos relocalizados começam em c e seguem num e noutro sentido, pelo que
+         * o conjunto de movimentos avaliado não depende do sentido do tour em torno de c.
+         */
+        private void evaluateFrom(int c) {
+            freeBest = free[c];
+            aspiringBest = aspiring[c];
+            freeBest.clear();
+            aspiringBest.clear();
+            int sc = tour.next(c);
+            int pc = tour.prev(c);
+            for (int d : neighbors[c]) {
+                // 2-Opt com as arestas (c, sc) e (d, sd), e com (pd, d) e (pc, c)
+                int sd = tour.next(d);
+                if (d != sc && sd != c) considerTwoOpt(c, sc, d, sd);
+                int pd = tour.prev(d);
+                if (d != pc && pd != c) considerTwoOpt(pd, d, pc, c);
+
+                // Or-Opt: segmentos c..s2 que seguem o sentido do tour, inseridos numa das arestas de d
+                int s2 = c, middle = c;
+                for (int length = 1; length <= MAX_SEGMENT_LENGTH; length++) {
+                    if (length > 1) {
+                        s2 = tour.next(s2);
+                        if (length == 2) middle = s2;
+                    }
+                    if (s2 == d) break;
+                    int nx = tour.next(s2);
+                    if (nx == pc) break;
+                    considerRelocate(pc, c, middle, s2, nx, d, sd);
+                    considerRelocate(pc, c, middle, s2, nx, pd, d);
+                }
+                // ... e segmentos s1..c que terminam em c
+                int s1 = c;
+                middle = c;
+                for (int length = 2; length <= MAX_SEGMENT_LENGTH; length++) {
+                    s1 = tour.prev(s1);
+                    if (length == 2) middle = s1;
+                    if (s1 == d) break;
+                    int p = tour.prev(s1);
+                    if (p == sc) break;
+                    considerRelocate(p, s1, middle, c, sc, d, sd);
+                    considerRelocate(p, s1, middle, c, sc, pd, d);
+                }
+            }
+        }
+
+        /**
+         * 2-Opt: remove (a, b) e (c, d), acrescenta (a, c) e (b, d).
+         */
+        private void considerTwoOpt(int a, int b, int c, int d) {
+            double delta = dist.dist(a, c) + dist.dist(b, d) - dist.dist(a, b) - dist.dist(c, d);
+            if (isTabu(a, c, b, d, -1, -1)) {
+                if (delta < aspiringBest.rank) aspiringBest.setTwoOpt(delta, delta, a, b, c, d);
+            } else {
+                double rank = penalized(delta, a, c, b, d, -1, -1);
+                if (rank < freeBest.rank) freeBest.setTwoOpt(rank, delta, a, b, c, d);
+            }
+        }
+
+        /**
+         * Or-Opt: segmento s1..s2 (com a cidade do meio, se tiver 3) entre p e nx para a aresta (u, v).
+         */
+        private void considerRelocate(int p, int s1, int middle, int s2, int nx, int u, int v) {
+            if (u == s1 || u == middle || u == s2 || v == s1 || v == middle || v == s2) return;
+            if (v == p) return; // arestas adjacentes: é o mesmo que relocalizar p
+            double base = dist.dist(p, nx) - dist.dist(p, s1) - dist.dist(s2, nx) - dist.dist(u, v);
+            for (int inverted = 0; inverted < 2; inverted++) {
+                int x = inverted == 0 ? s1 : s2;
+                int y = inverted == 0 ? s2 : s1;
+                double delta = base + dist.dist(u, x) + dist.dist(y, v);
+                if (isTabu(p, nx, u, x, y, v)) {
+                    if (delta < aspiringBest.rank) {
+                        aspiringBest.setRelocate(delta, delta, p, s1, s2, nx, u, v, inverted == 1);
+                    }
+                } else {
+                    double rank = penalized(delta, p, nx, u, x, y, v);
+                    if (rank < freeBest.rank) {
+                        freeBest.setRelocate(rank, delta, p, s1, s2, nx, u, v, inverted == 1);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Valor de um movimento guardado no estado atual: +∞ se não houver movimento; caso contrário
+         * o valor de {@link #score(double, int, int, int, int, int, int)}.
+         */
+        private double score(Move move) {
+            if (move.type == NONE) return Double.POSITIVE_INFINITY;
+            int[] e = move.ends;
+            if (move.type == TWO_OPT) return score(move.delta, e[0], e[2], e[1], e[3], -1, -1);
+            int x = move.inverted ? e[2] : e[1];
+            int y = move.inverted ? e[1] : e[2];
+            return score(move.delta, e[0], e[3], e[4], x, y, e[5]);
+        }
+
+        /**
+         * Valor de um movimento com variação delta que acrescenta as arestas (a, b), (c, d) e (e, f)
+         * (e = -1 se só acrescenta duas): +∞ se for tabu sem aspiração; delta mais a penalização
+         * por frequência se piorar o tour; delta caso contrário.
+         */
+        private double score(double delta, int a, int b, int c, int d, int e, int f) {
+            boolean aspiration = current + delta < bestLength - EPS;
+            if (!aspiration && isTabu(a, b, c, d, e, f)) return Double.POSITIVE_INFINITY;
+            return penalized(delta, a, b, c, d, e, f);
+        }
+
+        private boolean isTabu(int a, int b, int c, int d, int e, int f) {
+            return tabuUntil[hash(a, b)] >= iteration || tabuUntil[hash(c, d)] >= iteration
+                    || (e >= 0 && tabuUntil[hash(e, f)] >= iteration);
+        }
+
+        private double penalized(double delta, int a, int b, int c, int d, int e, int f) {
+            if (delta <= 0) return delta;
+            int count = frequency[hash(a, b)] + frequency[hash(c, d)] + (e >= 0 ? frequency[hash(e, f)] : 0);
+            return delta + penaltyUnit * count / iteration;
+        }
+
+        /**
+         * Verifica se as arestas removidas pelo movimento ainda estão no tour e, no 2-Opt, se ainda são
+         * percorridas no mesmo sentido.
+         */
+        private boolean isValid(Move move) {
+            int[] e = move.ends;
+            if (move.type == TWO_OPT) {
+                return (tour.next(e[0]) == e[1] && tour.next(e[2]) == e[3])
+                        || (tour.prev(e[0]) == e[1] && tour.prev(e[2]) == e[3]);
+            }
+            return isEdge(e[0], e[1]) && isEdge(e[2], e[3]) && isEdge(e[4], e[5]);
+        }
+
+        private boolean isEdge(int a, int b) {
+            return tour.next(a) == b || tour.prev(a) == b;
+        }
+
+        /**
+         * Aplica o movimento, torna tabu a reentrada das arestas removidas, conta as acrescentadas e
+         * marca para reavaliação as cidades cujos movimentos dependem das arestas alteradas.
+         */
+        private void apply(Move move) {
+            int tenure = MIN_TENURE + random.nextInt(TENURE_SPREAD);
+            int until = iteration + tenure;
+            int[] e = move.ends;
+            int slot = (until + 1) % RING;
+            int[] expired = expiring[slot];
+            if (move.type == TWO_OPT) {
+                int a = e[0], b = e[1], c = e[2], d = e[3];
+                tour.twoOptMove(a, b, c, d);
+                tabuUntil[hash(a, b)] = until;
+                tabuUntil[hash(c, d)] = until;
+                frequency[hash(a, c)]++;
+                frequency[hash(b, d)]++;
+            } else {
+                int p = e[0], s1 = e[1], s2 = e[2], nx = e[3], u = e[4], v = e[5];
+                boolean inverted = move.inverted;
+                // A aresta (u, v) tem de seguir o mesmo sentido que p, s1, ..., s2, nx; trocar u e v
+                // e o sentido do segmento descreve o mesmo movimento
+                if ((tour.next(p) == s1) != (tour.next(u) == v)) {
+                    tour.relocate(p, s1, s2, nx, v, u, !inverted);
+                } else {
+                    tour.relocate(p, s1, s2, nx, u, v, inverted);
+                }
+                tabuUntil[hash(p, s1)] = until;
+                tabuUntil[hash(s2, nx)] = until;
+                tabuUntil[hash(u, v)] = until;
+                frequency[hash(p, nx)]++;
+                frequency[hash(u, inverted ? s2 : s1)]++;
+                frequency[hash(inverted ? s1 : s2, v)]++;
+            }
+            int ends = move.type == TWO_OPT ? 4 : 6;
+            for (int i = 0; i < ends; i++) {
+                markDirty(e[i]);
+                expired[expiringCount[slot]++] = e[i];
+            }
+            current += move.delta;
+        }
+
+        /**
+         * Marca para reavaliação as cidades cujos movimentos leem as arestas de c: as que estão a
+         * menos de {@link #MAX_SEGMENT_LENGTH} posições de c no tour e as que têm c como candidato.
+         */
+        private void markDirty(int c) {
+            dirty.push(c);
+            int forward = c, backward = c;
+            for (int step = 1; step < MAX_SEGMENT_LENGTH; step++) {
+                forward = tour.next(forward);
+                backward = tour.prev(backward);
+                dirty.push(forward);
+                dirty.push(backward);
+            }
+            for (int d : reverse[c]) {
+                dirty.push(d);
+            }
+        }
+
+        /**
+         * Hash da aresta não orientada (a, b).
+         */
+        private int hash(int a, int b) {
+            int lo = Math.min(a, b), hi = Math.max(a, b);
+            int h = lo * 0x9E3779B1 + hi;
+            h ^= h >>> 16;
+            h *= 0x85EBCA6B;
+            h ^= h >>> 13;
+            return h & mask;
+        }
+    }
+
+    /**
+     * Movimento guardado para uma cidade: 2-Opt (a, b, c, d) ou relocalização (p, s1, s2, nx, u, v),
+     * com o valor usado para o comparar com os outros movimentos da mesma cidade.
+     */
+    private static final class Move {
+        int type;
+        double rank;
+        double delta;
+        boolean inverted;
+        final int[] ends = new int[6];
+
+        void clear() {
+            type = Search.NONE;
+            rank = Double.POSITIVE_INFINITY;
+        }
+
+        void setTwoOpt(double rank, double delta, int a, int b, int c, int d) {
+            this.type = Search.TWO_OPT;
+            this.rank = rank;
+            this.delta = delta;
+            ends[0] = a;
+            ends[1] = b;
+            ends[2] = c;
+            ends[3] = d;
+        }
+
+        void setRelocate(double rank, double delta, int p, int s1, int s2, int nx, int u, int v,
+                         boolean inverted) {
+            this.type = Search.RELOCATE;
+            this.rank = rank;
+            this.delta = delta;
+            this.inverted = inverted;
+            ends[0] = p;
+            ends[1] = s1;
+            ends[2] = s2;
+            ends[3] = nx;
+            ends[4] = u;
+            ends[5] = v;
+        }
+    }
+
+    /**
+     * Executa a Pesquisa Tabu com base num ficheiro .tsp e imprime o resultado.
+     *
+     * @param args Argumentos da linha de comandos (não utilizados).
+     */
+    public static void main(String[] args) {
+        List<Utils.City> cities = Utils.readTSPFile("src/main/resources/a280.tsp");
+        if (cities.isEmpty()) {
+            System.out.println("Nenhuma cidade encontrada no ficheiro.");
+            return;
+        }
+
+        List<Utils.City> initialTour = new ArrayList<>(cities);
+        initialTour.add(cities.get(0));
+
+        List<Utils.City> improvedTour = tabuSearch(initialTour);
+
+        System.out.println("Tabu Search Tour:");
+        for (Utils.City city : improvedTour) {
+            System.out.print(city + " ");
+        }
+        System.out.println();
+
+        double cost = calculatePathCost(improvedTour);
+        System.out.println("Custo total do tour: " + cost);
+    }
+}
@@ -0,0 +1,122 @@
+package com.grupo5.algorithms.localAndSearchHeuristics;
+
+import com.grupo5.algorithms.utils.ArrayTour;
+import com.grupo5.algorithms.utils.CandidateLists;
+import com.grupo5.algorithms.utils.DistanceOracle;
+import com.grupo5.algorithms.utils.DontLookBits;
+import com.grupo5.algorithms.utils.Utils;
+
+import java.util.*;
+
+import static com.grupo5.algorithms.utils.Utils.calculatePathCost;
+
+/**
+ * Implementa a Descida em Vizinhança Variável (VND) para o Problema do Caixeiro Viajante (TSP).
+ *
+ * Recebe uma lista ordenada de vizinhanças ({@link LocalSearchOperator}) que partilham o mesmo tour,
+ * o mesmo oráculo de distâncias, as mesmas listas de candidatos e o mesmo estado de "don't look bits"
+ * (um nível por vizinhança). Aplica-se a vizinhança atual até esgotar as suas cidades ativas; se
+ * houve melhoria volta-se à primeira, caso contrário passa-se à seguinte. Como cada melhoria só
+ * reativa as cidades tocadas, o regresso às primeiras vizinhanças não obriga a percorrer o tour todo.
+ */
+public class VariableNeighborhoodDescent {
+
+    /**
+     * Vizinhanças por omissão, da mais barata para a mais cara: 2-Opt, Or-Opt, 3-Opt sequencial e Lin-Kernighan.
+     */
+    public static final List<LocalSearchOperator> DEFAULT_OPERATORS = List.of(
+            Opt2Or::improveTwoOpt,
+            Opt2Or::improveOrOpt,
+            (dist, tour, neighbors, active) -> OptK.improve(dist, tour, neighbors, active, 3),
+            LinKernighanHeuristic::improve
+    );
+
+    /**
+     * Executa o VND com as vizinhanças por omissão.
+     *
+     * @param tour Tour inicial (deve estar fechado: a primeira cidade repetida no fim).
+     * @return Tour melhorado.
+     */
+    public static List<Utils.City> vnd(List<Utils.City> tour) {
+        return vnd(tour, DEFAULT_OPERATORS);
+    }
+
+    /**
+     * Executa o VND com uma lista ordenada de vizinhanças.
+     *
+     * @param tour      Tour inicial (deve estar fechado).
+     * @param operators Vizinhanças, pela ordem em que são aplicadas.
+     * @return Tour melhorado.
+     */
+    public static List<Utils.City> vnd(List<Utils.City> tour, List<LocalSearchOperator> operators) {
+        int n = tour.size() - 1;
+        if (n < 8) return new ArrayList<>(tour);
+
+        List<Utils.City> cities = new ArrayList<>(tour.subList(0, n));
+        DistanceOracle dist = new DistanceOracle(cities);
+        ArrayTour arrayTour = ArrayTour.identity(n);
+        int[][] neighbors = CandidateLists.buildWithQuadrants(dist, CandidateLists.DEFAULT_K,
+                CandidateLists.DEFAULT_QUADRANT_K);
+
+        improve(dist, arrayTour, neighbors, DontLookBits.allActive(n, operators.size()), operators);
+        return arrayTour.toClosedTour(cities);
+    }
+
+    /**
+     * Aplica o VND ao tour (no próprio tour).
+     *
+     * @param dist      Oráculo de distâncias.
+     * @param tour      Tour a melhorar.
+     * @param neighbors Listas de candidatos.
+     * @param active    Estado de cidades ativas com um nível por vizinhança.
+     * @param operators Vizinhanças, pela ordem em que são aplicadas.
+     * @return true se o tour foi melhorado.
+     */
+    public static boolean improve(DistanceOracle dist, ArrayTour tour, int[][] neighbors,
+                                  DontLookBits active, List<LocalSearchOperator> operators) {
+        if (active.levels() < operators.size()) {
+            throw new IllegalArgumentException("São necessários " + operators.size() + " níveis de don't look bits");
+        }
+        boolean improved = false;
+        int i = 0;
+        while (i < operators.size()) {
+            active.selectLevel(i);
+            if (!active.isEmpty() && operators.get(i).improve(dist, tour, neighbors, active)) {
+                improved = true;
+                i = 0; // melhoria: volta à primeira vizinhança
+            } else {
+                i++;   // vizinhança esgotada: passa à seguinte
+            }
+        }
+        active.selectLevel(0);
+        return improved;
+    }
+
+    /**
+     * Executa o VND com base num ficheiro .tsp e imprime o resultado.
+     *
+     * @param args Argumentos da linha de comandos (não utilizados).
+     */
+    public static void main(String[] args) {
+        List<Utils.City> cities = Utils.readTSPFile("src/main/resources/a280.tsp");
+        if (cities.isEmpty()) {
+            System.out.println("Nenhuma cidade encontrada no ficheiro.");
+            return;
+        }
+
+        // Tour inicial: ordem original + cidade inicial no fim (ciclo fechado)
+        List<Utils.City> initialTour = new ArrayList<>(cities);
+        initialTour.add(cities.get(0));
+
+        System.out.println("Comprimento do tour inicial: " + calculatePathCost(initialTour));
+
+        List<Utils.City> improvedTour = vnd(initialTour);
+        System.out.println("Comprimento do tour após VND: " + calculatePathCost(improvedTour));
+
+        System.out.println("Tour:");
+        for (Utils.City city : improvedTour) {
+            System.out.print(city + " ");
+        }
+        System.out.println();
+    }
+}
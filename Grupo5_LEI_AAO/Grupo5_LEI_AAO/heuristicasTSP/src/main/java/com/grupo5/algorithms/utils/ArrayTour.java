@@ -0,0 +1,495 @@
+package com.grupo5.algorithms.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Representação de um tour como array de cidades mais índice de posições.
+ *
+ * {@code order[p]} é a cidade na posição p e {@code pos[c]} é a posição da cidade c,
+ * o que permite consultar sucessor, predecessor e {@link #between(int, int, int)} em O(1).
+ * As inversões de segmentos invertem sempre o lado mais curto do ciclo, e os movimentos k-opt
+ * são aplicados como sequências de inversões ({@link #applyKOpt(int[], int, int[])}).
+ *
+ * Opcionalmente, o tour mantém o seu comprimento atualizado a cada alteração
+ * ({@link #trackLength(DistanceOracle)}) e regista as alterações feitas desde um ponto de restauro
+ * ({@link #mark()}), para as poder desfazer ({@link #rollback()}) com o mesmo custo com que foram feitas.
+ */
+public class ArrayTour {
+
+    private final int[] order;
+    private final int[] pos;
+    private final int n;
+
+    // Estruturas auxiliares dos movimentos k-opt (reutilizadas entre chamadas)
+    private int[] segHead = new int[0];
+    private int[] segTail = new int[0];
+    private int[] visitSegment = new int[0];
+    private boolean[] visitReversed = new boolean[0];
+    private int[] rank = new int[0];
+    private int[] sorted = new int[0];
+    private int[] slotSegment = new int[0];
+    private boolean[] slotIsHead = new boolean[0];
+    private int[] arrangedSegment = new int[0];
+    private boolean[] arrangedReversed = new boolean[0];
+    private int[] flipBuffer = new int[0];
+
+    // Comprimento mantido a cada alteração (se lengthDist != null)
+    private DistanceOracle lengthDist;
+    private double trackedLength;
+
+    // Registo de alterações desde o ponto de restauro: pares (i, len) de inversões de posições
+    private boolean journaling;
+    private int[] journal = new int[0];
+    private int journalSize;
+
+    /**
+     * Constrói o tour a partir de uma permutação das cidades 0..n-1.
+     *
+     * @param order Ordem de visita (o array é copiado).
+     */
+    public ArrayTour(int[] order) {
+        this.n = order.length;
+        this.order = order.clone();
+        this.pos = new int[n];
+        for (int p = 0; p < n; p++) {
+            pos[this.order[p]] = p;
+        }
+    }
+
+    /**
+     * Cria o tour 0, 1, ..., n-1.
+     *
+     * @param n Número de cidades.
+     * @return Tour identidade.
+     */
+    public static ArrayTour identity(int n) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        return new ArrayTour(order);
+    }
+
+    /**
+     * @return Número de cidades no tour.
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * @param c Cidade.
+     * @return Cidade seguinte a c no sentido do tour.
+     */
+    public int next(int c) {
+        int p = pos[c] + 1;
+        return order[p == n ? 0 : p];
+    }
+
+    /**
+     * @param c Cidade.
+     * @return Cidade anterior a c no sentido do tour.
+     */
+    public int prev(int c) {
+        int p = pos[c] - 1;
+        return order[p < 0 ? n - 1 : p];
+    }
+
+    /**
+     * @param c Cidade.
+     * @return Posição da cidade no array do tour.
+     */
+    public int position(int c) {
+        return pos[c];
+    }
+
+    /**
+     * @param p Posição no array do tour.
+     * @return Cidade nessa posição.
+     */
+    public int cityAt(int p) {
+        return order[p];
+    }
+
+    /**
+     * Indica se, percorrendo o tour a partir de a no sentido directo, b é encontrado
+     * antes (ou ao mesmo tempo) que c.
+     *
+     * @param a Cidade de partida.
+     * @param b Cidade a testar.
+     * @param c Cidade de chegada.
+     * @return true se b está no caminho a → c (inclusive).
+     */
+    public boolean between(int a, int b, int c) {
+        int pa = pos[a], pb = pos[b], pc = pos[c];
+        if (pa <= pc) {
+            return pa <= pb && pb <= pc;
+        }
+        return pb >= pa || pb <= pc;
+    }
+
+    /**
+     * Inverte o caminho que vai de a até b no sentido directo.
+     * Se esse caminho for mais longo que metade do tour, inverte o complementar,
+     * o que produz o mesmo ciclo (com o sentido global trocado).
+     *
+     * @param a Primeira cidade do caminho.
+     * @param b Última cidade do caminho.
+     */
+    public void reverse(int a, int b) {
+        int i = pos[a];
+        int j = pos[b];
+        int len = j - i;
+        if (len < 0) len += n;
+        len += 1;
+        if (2 * len > n) {
+            i = j + 1;
+            if (i == n) i = 0;
+            len = n - len;
+        }
+        reversePositions(i, len);
+    }
+
+    /**
+     * Inverte len posições consecutivas (circularmente) a partir da posição i.
+     */
+    private void reversePositions(int i, int len) {
+        int j = i + len - 1;
+        if (j >= n) j -= n;
+        if (len < 2) return;
+        if (journaling) record(i, len);
+        if (lengthDist != null) {
+            int before = order[i == 0 ? n - 1 : i - 1];
+            int after = order[j == n - 1 ? 0 : j + 1];
+            trackedLength += lengthDist.dist(before, order[j]) + lengthDist.dist(order[i], after)
+                    - lengthDist.dist(before, order[i]) - lengthDist.dist(order[j], after);
+        }
+        for (int s = 0; s < len / 2; s++) {
+            int ci = order[i];
+            int cj = order[j];
+            order[i] = cj;
+            pos[cj] = i;
+            order[j] = ci;
+            pos[ci] = j;
+            if (++i == n) i = 0;
+            if (--j < 0) j = n - 1;
+        }
+    }
+
+    /**
+     * Move 2-opt: dadas as arestas (a, b) e (c, d) do tour, percorridas no mesmo sentido
+     * (b = next(a) e d = next(c), ou b = prev(a) e d = prev(c)), substitui-as por (a, c) e (b, d).
+     * Como {@link #reverse(int, int)} pode inverter o lado complementar, o sentido do array não
+     * é fixo entre movimentos; aceitar os dois sentidos permite encadear movimentos sem o verificar.
+     */
+    public void twoOptMove(int a, int b, int c, int d) {
+        if (next(a) == b) {
+            reverse(b, c);
+        } else {
+            reverse(c, b);
+        }
+    }
+
+    /**
+     * Relocaliza (Or-Opt) o segmento s1..s2, que está entre p e nx (p, s1, ..., s2, nx seguidos no
+     * mesmo sentido), para a aresta (u, v), com v a seguir a u nesse sentido e fora do segmento.
+     * Faz-se com três movimentos 2-opt, ou dois se o segmento for inserido invertido:
+     * p s1..s2 nx X u v  →  p u X' nx s2..s1 v  →  p nx X u s2..s1 v  →  p nx X u s1..s2 v.
+     * O custo é o das inversões, proporcional à distância no tour entre o segmento e (u, v).
+     *
+     * @param invert true para inserir o segmento invertido (u - s2 ... s1 - v).
+     */
+    public void relocate(int p, int s1, int s2, int nx, int u, int v, boolean invert) {
+        twoOptMove(p, s1, u, v);
+        if (u != nx) twoOptMove(p, u, nx, s2);
+        if (!invert && s1 != s2) twoOptMove(u, s2, s1, v);
+    }
+
+    /**
+     * Verifica se um movimento k-opt sequencial produz um único ciclo.
+     *
+     * O movimento é descrito por {@code t[0..2k-1]}: as arestas removidas são (t[2i], t[2i+1]),
+     * que têm de ser arestas do tour, e as acrescentadas são (t[2i+1], t[2i+2]), com t[2k] = t[0].
+     * As arestas removidas são ordenadas pela posição no tour e os k segmentos resultantes são
+     * percorridos seguindo as arestas acrescentadas: o movimento é válido se todos forem visitados.
+     *
+     * @param t Extremidades do movimento.
+     * @param k Número de arestas trocadas.
+     * @return true se o resultado for um tour (ciclo Hamiltoniano).
+     */
+    public boolean isFeasibleKOpt(int[] t, int k) {
+        return traverseKOpt(t, k) == k;
+    }
+
+    /**
+     * Aplica um movimento k-opt sequencial válido (ver {@link #isFeasibleKOpt(int[], int)}).
+     *
+     * @param t Extremidades do movimento.
+     * @param k Número de arestas trocadas.
+     */
+    public void applyKOpt(int[] t, int k) {
+        if (flipBuffer.length < 8 * k) flipBuffer = new int[8 * k];
+        applyKOpt(t, k, flipBuffer);
+    }
+
+    /**
+     * Aplica um movimento k-opt sequencial válido como uma sequência de movimentos 2-opt
+     * ({@link #twoOptMove(int, int, int, int)}), cada um a inverter um bloco de segmentos consecutivos,
+     * pelo que o custo é o das inversões e não O(n). Para k &lt;= 5 a sequência tem o menor
+     * número possível de inversões (tabela pré-calculada); para k maior, cada segmento é colocado na
+     * sua posição com no máximo duas inversões.
+     *
+     * Cada movimento 2-opt fica registado em flips como (p, a, b, q): remove (p, a) e (b, q) e
+     * acrescenta (p, b) e (a, q). O movimento k-opt desfaz-se com {@link #undoFlips(int[], int)}.
+     *
+     * @param t     Extremidades do movimento.
+     * @param k     Número de arestas trocadas.
+     * @param flips Array de saída com pelo menos 8k posições.
+     * @return Número de movimentos 2-opt aplicados.
+     */
+    public int applyKOpt(int[] t, int k, int[] flips) {
+        if (traverseKOpt(t, k) != k) {
+            throw new IllegalArgumentException("Movimento " + k + "-opt não produz um tour");
+        }
+        for (int s = 0; s < k; s++) {
+            arrangedSegment[s] = s;
+            arrangedReversed[s] = false;
+        }
+        int count = 0;
+        int[] sequence = FlipSequences.lookup(k, visitSegment, visitReversed);
+        if (sequence != null) {
+            for (int m = 0; m < sequence.length; m += 2) {
+                flipSegments(sequence[m], sequence[m + 1], k, flips, count++);
+            }
+            return count;
+        }
+        for (int s = 1; s < k; s++) {
+            int j = s;
+            while (arrangedSegment[j] != visitSegment[s]) j++;
+            if (j != s) flipSegments(s, j, k, flips, count++);
+            if (arrangedReversed[s] != visitReversed[s]) flipSegments(s, s, k, flips, count++);
+        }
+        return count;
+    }
+
+    /**
+     * Desfaz, pela ordem inversa, os movimentos 2-opt registados por
+     * {@link #applyKOpt(int[], int, int[])}.
+     *
+     * @param flips Movimentos registados.
+     * @param count Número de movimentos.
+     */
+    public void undoFlips(int[] flips, int count) {
+        for (int m = count - 1; m >= 0; m--) {
+            twoOptMove(flips[4 * m], flips[4 * m + 2], flips[4 * m + 1], flips[4 * m + 3]);
+        }
+    }
+
+    /**
+     * Inverte o bloco de segmentos nas posições i..j (1 &lt;= i &lt;= j &lt; k) da disposição atual,
+     * com um movimento 2-opt entre as cidades que o delimitam.
+     */
+    private void flipSegments(int i, int j, int k, int[] flips, int index) {
+        int p = lastCity(i - 1);
+        int a = firstCity(i);
+        int b = lastCity(j);
+        int q = firstCity(j + 1 == k ? 0 : j + 1);
+        twoOptMove(p, a, b, q);
+        flips[4 * index] = p;
+        flips[4 * index + 1] = a;
+        flips[4 * index + 2] = b;
+        flips[4 * index + 3] = q;
+        for (int l = i, r = j; l <= r; l++, r--) {
+            int seg = arrangedSegment[l];
+            boolean rev = arrangedReversed[l];
+            arrangedSegment[l] = arrangedSegment[r];
+            arrangedReversed[l] = !arrangedReversed[r];
+            arrangedSegment[r] = seg;
+            arrangedReversed[r] = !rev;
+        }
+    }
+
+    private int firstCity(int slot) {
+        int seg = arrangedSegment[slot];
+        return arrangedReversed[slot] ? segTail[seg] : segHead[seg];
+    }
+
+    private int lastCity(int slot) {
+        int seg = arrangedSegment[slot];
+        return arrangedReversed[slot] ? segHead[seg] : segTail[seg];
+    }
+
+    /**
+     * Percorre os segmentos de um movimento k-opt e devolve quantos foram visitados
+     * antes de regressar ao primeiro (k se o movimento for válido, -1 se mal formado).
+     */
+    private int traverseKOpt(int[] t, int k) {
+        if (segHead.length < k) {
+            segHead = new int[k];
+            segTail = new int[k];
+            visitSegment = new int[k];
+            visitReversed = new boolean[k];
+            rank = new int[k];
+            sorted = new int[k];
+            slotSegment = new int[2 * k];
+            slotIsHead = new boolean[2 * k];
+            arrangedSegment = new int[k];
+            arrangedReversed = new boolean[k];
+        }
+
+        // Ordena as arestas removidas pela posição da extremidade "baixa" (lo, com next(lo) = hi)
+        for (int i = 0; i < k; i++) {
+            int a = t[2 * i], b = t[2 * i + 1];
+            int lo;
+            if (next(a) == b) lo = a;
+            else if (next(b) == a) lo = b;
+            else return -1; // não é uma aresta do tour
+            int p = i;
+            while (p > 0 && pos[lowEnd(t, sorted[p - 1])] > pos[lo]) {
+                sorted[p] = sorted[p - 1];
+                p--;
+            }
+            sorted[p] = i;
+        }
+        for (int r = 0; r < k; r++) {
+            if (r > 0 && lowEnd(t, sorted[r]) == lowEnd(t, sorted[r - 1])) return -1; // aresta repetida
+            rank[sorted[r]] = r;
+        }
+
+        // Segmento r começa em hi da aresta r e termina em lo da aresta r + 1
+        for (int i = 0; i < k; i++) {
+            int r = rank[i];
+            int lo = lowEnd(t, i);
+            int hi = next(lo);
+            int prevSeg = r == 0 ? k - 1 : r - 1;
+            segHead[r] = hi;
+            segTail[prevSeg] = lo;
+            boolean firstIsLo = t[2 * i] == lo;
+            slotSegment[2 * i] = firstIsLo ? prevSeg : r;
+            slotIsHead[2 * i] = !firstIsLo;
+            slotSegment[2 * i + 1] = firstIsLo ? r : prevSeg;
+            slotIsHead[2 * i + 1] = firstIsLo;
+        }
+
+        // Percorre: entra num segmento por um extremo, sai pelo outro e segue a aresta acrescentada
+        int slot = -1;
+        for (int s = 0; s < 2 * k; s++) {
+            if (slotSegment[s] == 0 && slotIsHead[s]) {
+                slot = s;
+                break;
+            }
+        }
+        int visited = 0;
+        int startSlot = slot;
+        do {
+            int seg = slotSegment[slot];
+            boolean enteredHead = slotIsHead[slot];
+            if (visited == k) return k + 1;
+            visitSegment[visited] = seg;
+            visitReversed[visited] = !enteredHead;
+            visited++;
+            // slot de saída: o outro extremo do mesmo segmento
+            int exit = -1;
+            for (int s = 0; s < 2 * k; s++) {
+                if (slotSegment[s] == seg && slotIsHead[s] != enteredHead) {
+                    exit = s;
+                    break;
+                }
+            }
+            // aresta acrescentada: t[2i+1] liga a t[2i+2]
+            slot = (exit & 1) == 1 ? (exit + 1) % (2 * k) : (exit == 0 ? 2 * k - 1 : exit - 1);
+        } while (slot != startSlot);
+        return visited;
+    }
+
+    private int lowEnd(int[] t, int i) {
+        int a = t[2 * i], b = t[2 * i + 1];
+        return next(a) == b ? a : b;
+    }
+
+    /**
+     * Passa a manter o comprimento do tour atualizado em cada alteração (O(1) por inversão),
+     * em vez de o recalcular em O(n).
+     *
+     * @param dist Oráculo de distâncias.
+     */
+    public void trackLength(DistanceOracle dist) {
+        this.lengthDist = dist;
+        this.trackedLength = length(dist);
+    }
+
+    /**
+     * @return Comprimento mantido desde {@link #trackLength(DistanceOracle)} (a menos de erros de arredondamento).
+     */
+    public double trackedLength() {
+        return trackedLength;
+    }
+
+    /**
+     * Define o estado atual como ponto de restauro: as alterações seguintes passam a ser registadas
+     * e as anteriores deixam de poder ser desfeitas.
+     */
+    public void mark() {
+        journaling = true;
+        journalSize = 0;
+    }
+
+    /**
+     * Desfaz, pela ordem inversa, todas as alterações feitas desde o último {@link #mark()}.
+     * Cada inversão (incluindo as dos movimentos k-opt) é desfeita invertendo as mesmas posições.
+     */
+    public void rollback() {
+        journaling = false;
+        for (int e = journalSize - 2; e >= 0; e -= 2) {
+            reversePositions(journal[e], journal[e + 1]);
+        }
+        mark();
+    }
+
+    private void record(int i, int len) {
+        if (journalSize + 2 > journal.length) {
+            journal = Arrays.copyOf(journal, Math.max(16, 2 * journal.length));
+        }
+        journal[journalSize++] = i;
+        journal[journalSize++] = len;
+    }
+
+    /**
+     * Comprimento total do ciclo.
+     *
+     * @param dist Oráculo de distâncias.
+     * @return Custo do tour.
+     */
+    public double length(DistanceOracle dist) {
+        double total = 0;
+        for (int p = 0; p < n - 1; p++) {
+            total += dist.dist(order[p], order[p + 1]);
+        }
+        return n > 1 ? total + dist.dist(order[n - 1], order[0]) : total;
+    }
+
+    /**
+     * @return Cópia da ordem de visita.
+     */
+    public int[] toArray() {
+        return order.clone();
+    }
+
+    /**
+     * Converte o tour numa lista de cidades fechada (primeira cidade repetida no fim),
+     * no formato usado pelas restantes heurísticas.
+     *
+     * @param cities Cidades indexadas como no oráculo de distâncias.
+     * @return Tour fechado.
+     */
+    public List<Utils.City> toClosedTour(List<Utils.City> cities) {
+        List<Utils.City> tour = new ArrayList<>(n + 1);
+        for (int p = 0; p < n; p++) {
+            tour.add(cities.get(order[p]));
+        }
+        if (n > 0) tour.add(tour.get(0));
+        return tour;
+    }
+}
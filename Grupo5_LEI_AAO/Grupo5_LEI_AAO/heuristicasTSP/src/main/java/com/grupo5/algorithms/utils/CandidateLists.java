@@ -0,0 +1,114 @@
+package com.grupo5.algorithms.utils;
+
+/**
+ * Listas de candidatos: para cada cidade, os seus k vizinhos mais próximos.
+ *
+ * As heurísticas de pesquisa local restringem as arestas a acrescentar a estas listas,
+ * o que reduz a vizinhança de O(n) para O(k) por cidade.
+ *
+ * Em instâncias com cidades alinhadas em filas ou agrupadas (por exemplo pr144 ou pr226), os k
+ * vizinhos mais próximos ficam todos do mesmo lado e as listas não ligam os grupos entre si.
+ * As listas com quadrantes ({@link #buildWithQuadrants}) juntam aos k vizinhos os mais próximos em
+ * cada um dos quatro quadrantes à volta da cidade.
+ */
+public class CandidateLists {
+
+    /** Número de vizinhos por omissão. */
+    public static final int DEFAULT_K = 8;
+
+    /** Número de vizinhos por quadrante por omissão. */
+    public static final int DEFAULT_QUADRANT_K = 2;
+
+    /**
+     * Constrói as listas de k vizinhos mais próximos usando a {@link SpatialGrid}.
+     *
+     * @param dist Oráculo de distâncias.
+     * @param k    Número de vizinhos por cidade.
+     * @return Array {@code neighbors[c]} com os vizinhos de c por ordem crescente de distância.
+     */
+    public static int[][] build(DistanceOracle dist, int k) {
+        int n = dist.size();
+        SpatialGrid grid = new SpatialGrid(dist);
+        int[][] neighbors = new int[n][];
+        int[] buffer = new int[Math.max(0, Math.min(k, n - 1))];
+        for (int c = 0; c < n; c++) {
+            int found = grid.kNearest(c, k, buffer);
+            int[] list = new int[found];
+            System.arraycopy(buffer, 0, list, 0, found);
+            neighbors[c] = list;
+        }
+        return neighbors;
+    }
+
+    /**
+     * Constrói as listas com quadrantes: a união dos k vizinhos mais próximos com os perQuadrant
+     * mais próximos em cada quadrante ({@link SpatialGrid#quadrantNearest}).
+     *
+     * @param dist        Oráculo de distâncias.
+     * @param k           Número de vizinhos mais próximos por cidade.
+     * @param perQuadrant Número de vizinhos por quadrante.
+     * @return Array {@code neighbors[c]} com os vizinhos de c (entre k e k + 4 * perQuadrant) por
+     *         ordem crescente de distância.
+     */
+    public static int[][] buildWithQuadrants(DistanceOracle dist, int k, int perQuadrant) {
+        int n = dist.size();
+        SpatialGrid grid = new SpatialGrid(dist);
+        int[][] neighbors = new int[n][];
+        int nearest = Math.max(0, Math.min(k, n - 1));
+        int[] buffer = new int[nearest + 4 * Math.max(0, perQuadrant)];
+        int[] quadrant = new int[4 * Math.max(0, perQuadrant)];
+        for (int c = 0; c < n; c++) {
+            int size = grid.kNearest(c, k, buffer);
+            int found = grid.quadrantNearest(c, perQuadrant, quadrant);
+            for (int i = 0; i < found; i++) {
+                int other = quadrant[i];
+                boolean present = false;
+                for (int j = 0; j < size && !present; j++) {
+                    present = buffer[j] == other;
+                }
+                if (present) continue;
+
+                // Inserção ordenada por distância
+                double d = dist.dist(c, other);
+                int p = size++;
+                while (p > 0 && dist.dist(c, buffer[p - 1]) > d) {
+                    buffer[p] = buffer[p - 1];
+                    p--;
+                }
+                buffer[p] = other;
+            }
+            int[] list = new int[size];
+            System.arraycopy(buffer, 0, list, 0, size);
+            neighbors[c] = list;
+        }
+        return neighbors;
+    }
+
+    /**
+     * Listas inversas: as cidades que têm c na sua lista de candidatos.
+     *
+     * @param neighbors Listas de candidatos.
+     * @return Array {@code reverse[c]} com as cidades d tais que c está em {@code neighbors[d]},
+     *         por ordem crescente de d.
+     */
+    public static int[][] reverse(int[][] neighbors) {
+        int n = neighbors.length;
+        int[] count = new int[n];
+        for (int[] list : neighbors) {
+            for (int c : list) {
+                count[c]++;
+            }
+        }
+        int[][] reverse = new int[n][];
+        for (int c = 0; c < n; c++) {
+            reverse[c] = new int[count[c]];
+            count[c] = 0;
+        }
+        for (int d = 0; d < n; d++) {
+            for (int c : neighbors[d]) {
+                reverse[c][count[c]++] = d;
+            }
+        }
+        return reverse;
+    }
+}
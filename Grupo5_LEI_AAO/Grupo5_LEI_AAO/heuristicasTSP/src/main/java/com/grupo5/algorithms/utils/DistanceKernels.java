@@ -0,0 +1,183 @@
+package com.grupo5.algorithms.utils;
+
+/**
+ * Núcleos de cálculo de distâncias em lote sobre arrays primitivos de coordenadas.
+ *
+ * Cada operação avalia muitas distâncias independentes a partir de um ponto fixo (ou de uma aresta
+ * fixa, no caso do 2-Opt) e tem duas implementações: uma vetorial (SIMD), com a Vector API do
+ * módulo {@code jdk.incubator.vector}, e uma escalar equivalente. A vetorial está num conjunto de
+ * fontes à parte ({@code src/vector/java}) e é carregada por reflexão, pelo que este código compila
+ * sem o módulo; só é usada se o módulo estiver carregado (a JVM tem de ser iniciada com
+ * {@code --add-modules jdk.incubator.vector}) e a classe estiver no classpath. Caso contrário
+ * usa-se a escalar, com os mesmos resultados.
+ *
+ * Quando só interessa a ordem das distâncias (vizinho mais próximo, distância mínima ao tour)
+ * trabalha-se com distâncias ao quadrado, evitando a raiz quadrada.
+ */
+public final class DistanceKernels {
+
+    /** Implementação vetorial, ou null se a Vector API não estiver disponível nesta JVM. */
+    private static final VectorKernels VECTOR = loadVector();
+
+    private DistanceKernels() {
+    }
+
+    /**
+     * @return true se os núcleos vetoriais estiverem ativos.
+     */
+    public static boolean isVectorized() {
+        return VECTOR != null;
+    }
+
+    private static VectorKernels loadVector() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) return null;
+        try {
+            return (VectorKernels) Class.forName("com.grupo5.algorithms.utils.VectorDistanceKernels")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // Sem a classe vetorial no classpath usam-se os núcleos escalares
+            return null;
+        }
+    }
+
+    /**
+     * Índice do ponto em [from, to) mais próximo de (px, py), comparando distâncias ao quadrado.
+     * Em caso de empate devolve o menor índice.
+     *
+     * @return Índice do ponto mais próximo, ou -1 se o intervalo for vazio.
+     */
+    public static int nearest(double[] x, double[] y, int from, int to, double px, double py) {
+        if (VECTOR != null) return VECTOR.nearest(x, y, from, to, px, py);
+        int best = -1;
+        double bestSq = Double.POSITIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            double dx = x[i] - px;
+            double dy = y[i] - py;
+            double sq = dx * dx + dy * dy;
+            if (sq < bestSq) {
+                bestSq = sq;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Atualiza minSq[i] = min(minSq[i], |(x[i], y[i]) - (px, py)|²) para i em [from, to).
+     */
+    public static void relaxMinSquared(double[] x, double[] y, int from, int to, double px, double py,
+                                       double[] minSq) {
+        if (VECTOR != null) {
+            VECTOR.relaxMinSquared(x, y, from, to, px, py, minSq);
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            double dx = x[i] - px;
+            double dy = y[i] - py;
+            double sq = dx * dx + dy * dy;
+            if (sq < minSq[i]) minSq[i] = sq;
+        }
+    }
+
+    /**
+     * Custo de inserir o ponto (px, py) em cada aresta de um caminho:
+     * out[i] = d(t[i], p) + d(p, t[i+1]) - d(t[i], t[i+1]) para i em [0, edges).
+     *
+     * @param tx    Coordenadas X do caminho, pela ordem (pelo menos edges + 1 posições).
+     * @param ty    Coordenadas Y do caminho.
+     * @param edges Número de arestas a avaliar.
+     * @param out   Custos de inserção.
+     */
+    public static void insertionCosts(double[] tx, double[] ty, int edges, double px, double py, double[] out) {
+        if (VECTOR != null) {
+            VECTOR.insertionCosts(tx, ty, edges, px, py, out);
+            return;
+        }
+        for (int i = 0; i < edges; i++) {
+            out[i] = dist(tx[i], ty[i], px, py) + dist(px, py, tx[i + 1], ty[i + 1])
+                    - dist(tx[i], ty[i], tx[i + 1], ty[i + 1]);
+        }
+    }
+
+    /**
+     * Custo de inserir cada ponto (x[i], y[i]), i em [from, to), na aresta fixa (a, b):
+     * out[i] = d(a, p) + d(p, b) - d(a, b).
+     */
+    public static void edgeInsertionCosts(double[] x, double[] y, int from, int to,
+                                          double ax, double ay, double bx, double by, double[] out) {
+        if (VECTOR != null) {
+            VECTOR.edgeInsertionCosts(x, y, from, to, ax, ay, bx, by, out);
+            return;
+        }
+        double ab = dist(ax, ay, bx, by);
+        for (int i = from; i < to; i++) {
+            out[i] = dist(ax, ay, x[i], y[i]) + dist(x[i], y[i], bx, by) - ab;
+        }
+    }
+
+    /**
+     * Ganhos dos movimentos 2-Opt que removem a aresta (t[i-1], t[i]) e cada aresta (t[k], t[k+1]),
+     * acrescentando (t[i-1], t[k]) e (t[i], t[k+1]), para k em [from, to):
+     * out[k] = d(a, b) + d(c, d) - d(a, c) - d(b, d).
+     *
+     * @param tx  Coordenadas X do tour, pela ordem (com t[k+1] definido para k &lt; to).
+     * @param ty  Coordenadas Y do tour.
+     * @param i   Posição da segunda cidade da primeira aresta.
+     * @param out Ganhos, nas posições [from, to).
+     */
+    public static void twoOptGains(double[] tx, double[] ty, int i, int from, int to, double[] out) {
+        if (VECTOR != null) {
+            VECTOR.twoOptGains(tx, ty, i, from, to, out);
+            return;
+        }
+        double ax = tx[i - 1], ay = ty[i - 1];
+        double bx = tx[i], by = ty[i];
+        double ab = dist(ax, ay, bx, by);
+        for (int k = from; k < to; k++) {
+            out[k] = ab + dist(tx[k], ty[k], tx[k + 1], ty[k + 1])
+                    - dist(ax, ay, tx[k], ty[k]) - dist(bx, by, tx[k + 1], ty[k + 1]);
+        }
+    }
+
+    /**
+     * Índice do menor valor em [from, to) (o primeiro, em caso de empate).
+     *
+     * @return Índice do mínimo, ou -1 se o intervalo for vazio.
+     */
+    public static int argMin(double[] v, int from, int to) {
+        if (VECTOR != null) return VECTOR.argMin(v, from, to);
+        int best = -1;
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            if (v[i] < min) {
+                min = v[i];
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Índice do maior valor em [from, to) (o primeiro, em caso de empate).
+     *
+     * @return Índice do máximo, ou -1 se o intervalo for vazio.
+     */
+    public static int argMax(double[] v, int from, int to) {
+        if (VECTOR != null) return VECTOR.argMax(v, from, to);
+        int best = -1;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            if (v[i] > max) {
+                max = v[i];
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private static double dist(double ax, double ay, double bx, double by) {
+        double dx = ax - bx;
+        double dy = ay - by;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+}
@@ -0,0 +1,83 @@
+package com.grupo5.algorithms.utils;
+
+import java.util.List;
+
+/**
+ * Oráculo de distâncias sobre arrays primitivos de coordenadas.
+ *
+ * As cidades são identificadas pelo seu índice na lista recebida no construtor (0..n-1),
+ * o que permite às heurísticas trabalhar com inteiros em vez de objetos {@link Utils.City}.
+ */
+public class DistanceOracle {
+
+    private final List<Utils.City> cities;
+    private final double[] x;
+    private final double[] y;
+
+    /**
+     * Constrói o oráculo a partir de uma lista de cidades (sem repetição da cidade inicial).
+     *
+     * @param cities Lista de cidades; o índice de cada cidade nesta lista passa a ser o seu identificador.
+     */
+    public DistanceOracle(List<Utils.City> cities) {
+        this.cities = cities;
+        int n = cities.size();
+        this.x = new double[n];
+        this.y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = cities.get(i).x;
+            y[i] = cities.get(i).y;
+        }
+    }
+
+    /**
+     * @return Número de cidades.
+     */
+    public int size() {
+        return x.length;
+    }
+
+    /**
+     * Distância Euclidiana entre as cidades de índices a e b.
+     *
+     * @param a Índice da primeira cidade.
+     * @param b Índice da segunda cidade.
+     * @return Distância entre as duas cidades.
+     */
+    public double dist(int a, int b) {
+        double dx = x[a] - x[b];
+        double dy = y[a] - y[b];
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * @param i Índice da cidade.
+     * @return Coordenada X da cidade.
+     */
+    public double x(int i) {
+        return x[i];
+    }
+
+    /**
+     * @param i Índice da cidade.
+     * @return Coordenada Y da cidade.
+     */
+    public double y(int i) {
+        return y[i];
+    }
+
+    /**
+     * @param i Índice da cidade.
+     * @return Objeto cidade correspondente ao índice.
+     */
+    public Utils.City city(int i) {
+        return cities.get(i);
+    }
+
+    /**
+     * @return Lista de cidades subjacente (ordem dos índices).
+     */
+    public List<Utils.City> cities() {
+        return cities;
+    }
+}
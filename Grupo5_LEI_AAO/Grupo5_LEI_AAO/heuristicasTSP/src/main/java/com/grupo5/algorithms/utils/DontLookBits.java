@@ -0,0 +1,130 @@
+package com.grupo5.algorithms.utils;
+
+/**
+ * Fila de cidades ativas com "don't look bits".
+ *
+ * Uma cidade só é (re)analisada pela pesquisa local se estiver na fila; quando um movimento
+ * altera o tour, as extremidades das arestas tocadas voltam a ser ativadas.
+ * Cada cidade aparece no máximo uma vez na fila.
+ *
+ * Para combinar várias vizinhanças (por exemplo num VND), o estado pode ter vários níveis:
+ * {@link #pop()} e {@link #isEmpty()} usam o nível selecionado, enquanto {@link #push(int)}
+ * reativa a cidade em todos os níveis, porque uma alteração do tour invalida o ótimo local
+ * de todas as vizinhanças nessa zona.
+ */
+public class DontLookBits {
+
+    private final int[][] queue;
+    private final boolean[][] active;
+    private final int[] head;
+    private final int[] size;
+    private int level;
+
+    /**
+     * Cria uma fila vazia para n cidades.
+     *
+     * @param n Número de cidades.
+     */
+    public DontLookBits(int n) {
+        this(n, 1);
+    }
+
+    /**
+     * Cria um estado vazio com um nível por vizinhança.
+     *
+     * @param n      Número de cidades.
+     * @param levels Número de níveis (vizinhanças).
+     */
+    public DontLookBits(int n, int levels) {
+        this.queue = new int[levels][Math.max(1, n)];
+        this.active = new boolean[levels][n];
+        this.head = new int[levels];
+        this.size = new int[levels];
+    }
+
+    /**
+     * Cria uma fila com todas as cidades ativas, pela ordem 0..n-1.
+     *
+     * @param n Número de cidades.
+     * @return Fila com todas as cidades.
+     */
+    public static DontLookBits allActive(int n) {
+        return allActive(n, 1);
+    }
+
+    /**
+     * Cria um estado com todas as cidades ativas em todos os níveis.
+     *
+     * @param n      Número de cidades.
+     * @param levels Número de níveis (vizinhanças).
+     * @return Estado com todas as cidades ativas.
+     */
+    public static DontLookBits allActive(int n, int levels) {
+        DontLookBits bits = new DontLookBits(n, levels);
+        for (int c = 0; c < n; c++) {
+            bits.push(c);
+        }
+        return bits;
+    }
+
+    /**
+     * Seleciona o nível usado por {@link #pop()}, {@link #isEmpty()} e {@link #isActive(int)}.
+     *
+     * @param level Índice do nível.
+     */
+    public void selectLevel(int level) {
+        this.level = level;
+    }
+
+    /**
+     * @return Número de níveis.
+     */
+    public int levels() {
+        return queue.length;
+    }
+
+    /**
+     * Ativa a cidade (coloca-a no fim da fila) em todos os níveis onde ainda não estiver ativa.
+     *
+     * @param c Cidade a ativar.
+     */
+    public void push(int c) {
+        for (int l = 0; l < queue.length; l++) {
+            if (active[l][c]) continue;
+            active[l][c] = true;
+            int tail = head[l] + size[l];
+            if (tail >= queue[l].length) tail -= queue[l].length;
+            queue[l][tail] = c;
+            size[l]++;
+        }
+    }
+
+    /**
+     * Retira a próxima cidade ativa da fila do nível selecionado.
+     *
+     * @return Cidade retirada.
+     */
+    public int pop() {
+        int[] q = queue[level];
+        int c = q[head[level]];
+        if (++head[level] == q.length) head[level] = 0;
+        size[level]--;
+        active[level][c] = false;
+        return c;
+    }
+
+    /**
+     * @return true se não houver cidades ativas no nível selecionado.
+     */
+    public boolean isEmpty() {
+        return size[level] == 0;
+    }
+
+    /**
+     * @param c Cidade.
+     * @return true se a cidade estiver na fila do nível selecionado.
+     */
+    public boolean isActive(int c) {
+        return active[level][c];
+    }
+}
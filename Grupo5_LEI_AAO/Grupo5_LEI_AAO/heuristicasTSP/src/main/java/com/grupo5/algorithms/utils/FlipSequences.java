@@ -0,0 +1,119 @@
+package com.grupo5.algorithms.utils;
+
+import java.util.Arrays;
+
+/**
+ * Sequências mínimas de inversões que realizam os movimentos k-opt sequenciais, para k pequeno.
+ *
+ * Um movimento k-opt corta o tour em k segmentos e volta a ligá-los noutra ordem e com outros
+ * sentidos. Fixando o segmento 0 na primeira posição, o resultado é uma permutação com sinais dos
+ * restantes k - 1 segmentos, e cada inversão de um bloco de posições consecutivas é um movimento
+ * 2-opt. Para cada k até {@link #MAX_K}, uma pesquisa em largura a partir da identidade calcula uma
+ * vez, para todas as permutações, a sequência com o menor número de inversões (no máximo k).
+ */
+final class FlipSequences {
+
+    /** Maior k com sequências pré-calculadas. */
+    static final int MAX_K = 5;
+
+    /** SEQUENCES[k][código] = pares (i, j) das inversões a aplicar, por ordem, a partir da identidade. */
+    private static final int[][][] SEQUENCES = new int[MAX_K + 1][][];
+
+    static {
+        for (int k = 2; k <= MAX_K; k++) {
+            SEQUENCES[k] = search(k);
+        }
+    }
+
+    private FlipSequences() {
+    }
+
+    /**
+     * @param k        Número de segmentos.
+     * @param segment  Segmento em cada posição (segment[0] = 0).
+     * @param reversed Sentido de cada posição (reversed[0] = false).
+     * @return Pares (i, j) das inversões, ou null se k &gt; {@link #MAX_K}.
+     */
+    static int[] lookup(int k, int[] segment, boolean[] reversed) {
+        if (k > MAX_K) return null;
+        return SEQUENCES[k][encode(k, segment, reversed)];
+    }
+
+    /**
+     * Código de uma disposição: 4 bits por posição 1..k-1 (segmento e sentido).
+     */
+    private static int encode(int k, int[] segment, boolean[] reversed) {
+        int code = 0;
+        for (int p = 1; p < k; p++) {
+            code |= (segment[p] << 1 | (reversed[p] ? 1 : 0)) << (4 * (p - 1));
+        }
+        return code;
+    }
+
+    /**
+     * Pesquisa em largura sobre as disposições de k segmentos, com as inversões de blocos i..j
+     * (1 &lt;= i &lt;= j &lt; k) como transições.
+     */
+    private static int[][] search(int k) {
+        int states = 1 << (4 * (k - 1));
+        int[] parent = new int[states];
+        int[] flip = new int[states];
+        int[] depth = new int[states];
+        Arrays.fill(depth, -1);
+
+        int[] segment = new int[k];
+        boolean[] reversed = new boolean[k];
+        for (int p = 0; p < k; p++) {
+            segment[p] = p;
+        }
+        int start = encode(k, segment, reversed);
+        int[] queue = new int[states];
+        int head = 0, tail = 0;
+        queue[tail++] = start;
+        depth[start] = 0;
+        while (head < tail) {
+            int code = queue[head++];
+            for (int i = 1; i < k; i++) {
+                for (int j = i; j < k; j++) {
+                    decode(k, code, segment, reversed);
+                    for (int l = i, r = j; l <= r; l++, r--) {
+                        int seg = segment[l];
+                        boolean rev = reversed[l];
+                        segment[l] = segment[r];
+                        reversed[l] = !reversed[r];
+                        segment[r] = seg;
+                        reversed[r] = !rev;
+                    }
+                    int next = encode(k, segment, reversed);
+                    if (depth[next] >= 0) continue;
+                    depth[next] = depth[code] + 1;
+                    parent[next] = code;
+                    flip[next] = i << 8 | j;
+                    queue[tail++] = next;
+                }
+            }
+        }
+
+        int[][] sequences = new int[states][];
+        for (int q = 0; q < tail; q++) {
+            int code = queue[q];
+            int[] sequence = new int[2 * depth[code]];
+            for (int c = code, m = sequence.length - 2; c != start; c = parent[c], m -= 2) {
+                sequence[m] = flip[c] >> 8;
+                sequence[m + 1] = flip[c] & 0xFF;
+            }
+            sequences[code] = sequence;
+        }
+        return sequences;
+    }
+
+    private static void decode(int k, int code, int[] segment, boolean[] reversed) {
+        segment[0] = 0;
+        reversed[0] = false;
+        for (int p = 1; p < k; p++) {
+            int element = code >> (4 * (p - 1)) & 0xF;
+            segment[p] = element >> 1;
+            reversed[p] = (element & 1) != 0;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.grupo5.algorithms.utils;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Árvore geradora mínima (MST) sobre as cidades de um {@link DistanceOracle}.
+ *
+ * A árvore é guardada como lista de arestas e como adjacência em formato CSR
+ * (adjStart[v]..adjStart[v+1] indexa os vizinhos de v em adj), sem objetos por cidade.
+ *
+ * Há duas construções:
+ * - {@link #prim(DistanceOracle)}: Prim denso em O(n²) com arrays de chaves primitivos,
+ *   exato para o grafo completo;
+ * - {@link #boruvka(DistanceOracle, int)}: Borůvka sobre o grafo esparso das listas de candidatos
+ *   (k vizinhos mais próximos), com a procura da aresta mínima de cada cidade feita em paralelo.
+ *   Se o grafo de candidatos não for conexo, k é duplicado até ligar todas as componentes.
+ */
+public class SpanningTree {
+
+    /** Acima deste número de cidades, {@link #build(DistanceOracle)} usa Borůvka em vez de Prim. */
+    public static final int DENSE_LIMIT = 10_000;
+
+    /** Número inicial de candidatos por cidade no Borůvka. */
+    public static final int SPARSE_K = 10;
+
+    private final int n;
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+    private final int[] adjStart;
+    private final int[] adj;
+
+    private SpanningTree(int n, int[] edgeFrom, int[] edgeTo) {
+        this.n = n;
+        this.edgeFrom = edgeFrom;
+        this.edgeTo = edgeTo;
+
+        // Contagem de graus seguida de soma prefixa (formato CSR)
+        this.adjStart = new int[n + 1];
+        for (int e = 0; e < edgeFrom.length; e++) {
+            adjStart[edgeFrom[e] + 1]++;
+            adjStart[edgeTo[e] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            adjStart[v + 1] += adjStart[v];
+        }
+        this.adj = new int[2 * edgeFrom.length];
+        int[] fill = Arrays.copyOf(adjStart, n);
+        for (int e = 0; e < edgeFrom.length; e++) {
+            adj[fill[edgeFrom[e]]++] = edgeTo[e];
+            adj[fill[edgeTo[e]]++] = edgeFrom[e];
+        }
+    }
+
+    /**
+     * Constrói a MST com Prim (até {@link #DENSE_LIMIT} cidades) ou com Borůvka sobre candidatos.
+     *
+     * @param dist Oráculo de distâncias.
+     * @return Árvore geradora.
+     */
+    public static SpanningTree build(DistanceOracle dist) {
+        return dist.size() <= DENSE_LIMIT ? prim(dist) : boruvka(dist, SPARSE_K);
+    }
+
+    /**
+     * Prim denso em O(n²): para cada cidade fora da árvore guarda-se a menor distância (ao quadrado,
+     * que preserva a ordem das arestas) a uma cidade da árvore e essa cidade.
+     *
+     * @param dist Oráculo de distâncias.
+     * @return Árvore geradora mínima.
+     */
+    public static SpanningTree prim(DistanceOracle dist) {
+        int n = dist.size();
+        int[] from = new int[Math.max(0, n - 1)];
+        int[] to = new int[Math.max(0, n - 1)];
+        if (n <= 1) return new SpanningTree(n, from, to);
+
+        // Cidades fora da árvore em arrays compactos (remoção por troca com a última)
+        int[] out = new int[n];
+        double[] key = new double[n];
+        int[] parent = new int[n];
+        int remaining = 0;
+        for (int v = 1; v < n; v++) {
+            out[remaining] = v;
+            key[remaining] = squared(dist, 0, v);
+            parent[remaining] = 0;
+            remaining++;
+        }
+
+        int edges = 0;
+        while (remaining > 0) {
+            int best = 0;
+            for (int s = 1; s < remaining; s++) {
+                if (key[s] < key[best]) best = s;
+            }
+            int u = out[best];
+            from[edges] = parent[best];
+            to[edges] = u;
+            edges++;
+
+            remaining--;
+            out[best] = out[remaining];
+            key[best] = key[remaining];
+            parent[best] = parent[remaining];
+
+            // Atualiza as chaves com a cidade acabada de entrar
+            for (int s = 0; s < remaining; s++) {
+                double d = squared(dist, u, out[s]);
+                if (d < key[s]) {
+                    key[s] = d;
+                    parent[s] = u;
+                }
+            }
+        }
+        return new SpanningTree(n, from, to);
+    }
+
+    /**
+     * Borůvka paralelo sobre as listas de k candidatos.
+     *
+     * Em cada ronda, cada cidade procura (em paralelo) o candidato mais próximo noutra componente;
+     * depois, em série, cada componente escolhe a menor dessas arestas e as componentes são unidas.
+     *
+     * @param dist Oráculo de distâncias.
+     * @param k    Número inicial de candidatos por cidade.
+     * @return Árvore geradora mínima do grafo de candidatos.
+     */
+    public static SpanningTree boruvka(DistanceOracle dist, int k) {
+        int n = dist.size();
+        int[] from = new int[Math.max(0, n - 1)];
+        int[] to = new int[Math.max(0, n - 1)];
+        if (n <= 1) return new SpanningTree(n, from, to);
+
+        int[][] neighbors = CandidateLists.build(dist, k);
+        int[] unionParent = new int[n];
+        for (int v = 0; v < n; v++) unionParent[v] = v;
+        int[] comp = new int[n];
+        int[] bestTo = new int[n];
+        double[] bestD = new double[n];
+        int[] compBest = new int[n];   // cidade de cada componente com a menor aresta
+        int edges = 0;
+
+        while (edges < n - 1) {
+            for (int v = 0; v < n; v++) comp[v] = find(unionParent, v);
+
+            // Aresta mínima de cada cidade para fora da sua componente (listas ordenadas por distância)
+            int[][] candidates = neighbors;
+            IntStream.range(0, n).parallel().forEach(v -> {
+                bestTo[v] = -1;
+                for (int u : candidates[v]) {
+                    if (comp[u] != comp[v]) {
+                        bestTo[v] = u;
+                        bestD[v] = dist.dist(v, u);
+                        break;
+                    }
+                }
+            });
+
+            // Menor aresta de cada componente (desempate pelas extremidades, para não criar ciclos)
+            Arrays.fill(compBest, -1);
+            for (int v = 0; v < n; v++) {
+                if (bestTo[v] < 0) continue;
+                int c = comp[v];
+                int b = compBest[c];
+                if (b < 0 || lighter(v, bestTo[v], bestD[v], b, bestTo[b], bestD[b])) compBest[c] = v;
+            }
+
+            int added = 0;
+            for (int c = 0; c < n; c++) {
+                int v = compBest[c];
+                if (v < 0) continue;
+                int ru = find(unionParent, v);
+                int rv = find(unionParent, bestTo[v]);
+                if (ru == rv) continue;
+                unionParent[ru] = rv;
+                from[edges] = v;
+                to[edges] = bestTo[v];
+                edges++;
+                added++;
+            }
+
+            // Grafo de candidatos desconexo: alarga as listas
+            if (added == 0) {
+                k = Math.min(n - 1, 2 * k);
+                neighbors = CandidateLists.build(dist, k);
+            }
+        }
+        return new SpanningTree(n, from, to);
+    }
+
+    private static boolean lighter(int a1, int b1, double d1, int a2, int b2, double d2) {
+        if (d1 != d2) return d1 < d2;
+        int lo1 = Math.min(a1, b1), lo2 = Math.min(a2, b2);
+        if (lo1 != lo2) return lo1 < lo2;
+        return Math.max(a1, b1) < Math.max(a2, b2);
+    }
+
+    private static int find(int[] parent, int v) {
+        while (parent[v] != v) {
+            parent[v] = parent[parent[v]];
+            v = parent[v];
+        }
+        return v;
+    }
+
+    private static double squared(DistanceOracle dist, int a, int b) {
+        double dx = dist.x(a) - dist.x(b);
+        double dy = dist.y(a) - dist.y(b);
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * @return Número de cidades.
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * @return Número de arestas (n - 1).
+     */
+    public int edgeCount() {
+        return edgeFrom.length;
+    }
+
+    /**
+     * @param e Índice da aresta.
+     * @return Primeira extremidade da aresta.
+     */
+    public int from(int e) {
+        return edgeFrom[e];
+    }
+
+    /**
+     * @param e Índice da aresta.
+     * @return Segunda extremidade da aresta.
+     */
+    public int to(int e) {
+        return edgeTo[e];
+    }
+
+    /**
+     * @param v Cidade.
+     * @return Grau da cidade na árvore.
+     */
+    public int degree(int v) {
+        return adjStart[v + 1] - adjStart[v];
+    }
+
+    /**
+     * Peso total da árvore.
+     *
+     * @param dist Oráculo de distâncias.
+     * @return Soma das distâncias das arestas.
+     */
+    public double weight(DistanceOracle dist) {
+        double total = 0;
+        for (int e = 0; e < edgeFrom.length; e++) {
+            total += dist.dist(edgeFrom[e], edgeTo[e]);
+        }
+        return total;
+    }
+
+    /**
+     * Travessia em pré-ordem a partir de root, com uma pilha explícita (sem recursão, pelo que
+     * não há risco de StackOverflowError em árvores profundas). Os vizinhos são visitados pela
+     * ordem em que aparecem na adjacência.
+     *
+     * @param root Cidade inicial.
+     * @return Cidades pela ordem de visita.
+     */
+    public int[] preorder(int root) {
+        int[] order = new int[n];
+        if (n == 0) return order;
+        boolean[] visited = new boolean[n];
+        int[] stack = new int[n];
+        int[] cursor = new int[n];   // próximo vizinho a explorar de cada cidade na pilha
+        int top = 0;
+        int count = 0;
+
+        stack[top++] = root;
+        visited[root] = true;
+        order[count++] = root;
+        cursor[root] = adjStart[root];
+        while (top > 0) {
+            int v = stack[top - 1];
+            if (cursor[v] == adjStart[v + 1]) {
+                top--;
+                continue;
+            }
+            int u = adj[cursor[v]++];
+            if (visited[u]) continue;
+            visited[u] = true;
+            order[count++] = u;
+            cursor[u] = adjStart[u];
+            stack[top++] = u;
+        }
+        return order;
+    }
+}
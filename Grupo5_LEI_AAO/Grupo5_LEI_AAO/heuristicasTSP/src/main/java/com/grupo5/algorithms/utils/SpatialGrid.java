@@ -0,0 +1,382 @@
+package com.grupo5.algorithms.utils;
+
+/**
+ * Índice espacial em grelha uniforme sobre as coordenadas de um {@link DistanceOracle}.
+ *
+ * As cidades são distribuídas por células (cerca de duas por célula) e guardadas em arrays
+ * compactos, o que permite procurar os k vizinhos mais próximos de uma cidade visitando
+ * apenas os anéis de células à sua volta, em vez de percorrer todas as cidades.
+ */
+public class SpatialGrid {
+
+    private final DistanceOracle dist;
+    private final int cols;
+    private final int rows;
+    private final double minX;
+    private final double minY;
+    private final double cellW;
+    private final double cellH;
+    private final int[] cellStart;
+    private final int[] cellItems;
+
+    /**
+     * Constrói a grelha para todas as cidades do oráculo.
+     *
+     * @param dist Oráculo de distâncias (fornece as coordenadas).
+     */
+    public SpatialGrid(DistanceOracle dist) {
+        this.dist = dist;
+        int n = dist.size();
+
+        double loX = Double.POSITIVE_INFINITY, loY = Double.POSITIVE_INFINITY;
+        double hiX = Double.NEGATIVE_INFINITY, hiY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            loX = Math.min(loX, dist.x(i));
+            hiX = Math.max(hiX, dist.x(i));
+            loY = Math.min(loY, dist.y(i));
+            hiY = Math.max(hiY, dist.y(i));
+        }
+        if (n == 0) {
+            loX = loY = hiX = hiY = 0;
+        }
+
+        int side = Math.max(1, (int) Math.ceil(Math.sqrt(n / 2.0)));
+        this.cols = side;
+        this.rows = side;
+        this.minX = loX;
+        this.minY = loY;
+        this.cellW = hiX > loX ? (hiX - loX) / cols : 1.0;
+        this.cellH = hiY > loY ? (hiY - loY) / rows : 1.0;
+
+        // Contagem por célula seguida de soma prefixa (formato CSR)
+        int cells = cols * rows;
+        this.cellStart = new int[cells + 1];
+        int[] cellOf = new int[n];
+        for (int i = 0; i < n; i++) {
+            cellOf[i] = cellIndex(col(dist.x(i)), row(dist.y(i)));
+            cellStart[cellOf[i] + 1]++;
+        }
+        for (int c = 0; c < cells; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        this.cellItems = new int[n];
+        int[] fill = new int[cells];
+        for (int i = 0; i < n; i++) {
+            int c = cellOf[i];
+            cellItems[cellStart[c] + fill[c]++] = i;
+        }
+    }
+
+    private int col(double x) {
+        int c = (int) ((x - minX) / cellW);
+        return Math.min(cols - 1, Math.max(0, c));
+    }
+
+    private int row(double y) {
+        int r = (int) ((y - minY) / cellH);
+        return Math.min(rows - 1, Math.max(0, r));
+    }
+
+    private int cellIndex(int c, int r) {
+        return r * cols + c;
+    }
+
+    /**
+     * Procura os k vizinhos mais próximos de uma cidade (excluindo a própria).
+     *
+     * @param city Cidade de referência.
+     * @param k    Número de vizinhos pretendido.
+     * @param out  Array de saída com pelo menos k posições; fica ordenado por distância crescente.
+     * @return Número de vizinhos efetivamente encontrados (min(k, n - 1)).
+     */
+    public int kNearest(int city, int k, int[] out) {
+        int n = dist.size();
+        k = Math.min(k, n - 1);
+        if (k <= 0) return 0;
+
+        // Max-heap de tamanho k sobre (distância, cidade)
+        double[] heapD = new double[k];
+        int[] heapC = new int[k];
+        int size = 0;
+
+        int cc = col(dist.x(city));
+        int cr = row(dist.y(city));
+        double ringStep = Math.min(cellW, cellH);
+        int maxRing = Math.max(cols, rows);
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            if (size == k && heapD[0] <= (ring - 1) * ringStep) break;
+
+            for (int r = cr - ring; r <= cr + ring; r++) {
+                if (r < 0 || r >= rows) continue;
+                boolean edgeRow = (r == cr - ring || r == cr + ring);
+                int step = edgeRow ? 1 : 2 * ring;
+                for (int c = cc - ring; c <= cc + ring; c += Math.max(1, step)) {
+                    if (c < 0 || c >= cols) continue;
+                    int cell = cellIndex(c, r);
+                    for (int s = cellStart[cell]; s < cellStart[cell + 1]; s++) {
+                        int other = cellItems[s];
+                        if (other == city) continue;
+                        double d = dist.dist(city, other);
+                        if (size < k) {
+                            heapD[size] = d;
+                            heapC[size] = other;
+                            siftUp(heapD, heapC, size++);
+                        } else if (d < heapD[0]) {
+                            heapD[0] = d;
+                            heapC[0] = other;
+                            siftDown(heapD, heapC, size);
+                        }
+                    }
+                }
+            }
+        }
+
+        // Extrai o heap para ordem crescente de distância
+        for (int s = size - 1; s >= 0; s--) {
+            out[s] = heapC[0];
+            heapD[0] = heapD[s];
+            heapC[0] = heapC[s];
+            siftDown(heapD, heapC, s);
+        }
+        return size;
+    }
+
+    /**
+     * Procura todas as cidades a distância estritamente menor que radius de uma cidade (excluindo a própria).
+     *
+     * @param city      Cidade de referência.
+     * @param radius    Raio da pesquisa.
+     * @param out       Array de saída com pelo menos n - 1 posições; fica ordenado por distância crescente.
+     * @param distances Array auxiliar com pelo menos n - 1 posições (fica com as distâncias de out).
+     * @return Número de cidades encontradas.
+     */
+    public int withinRadius(int city, double radius, int[] out, double[] distances) {
+        int size = 0;
+        int cc = col(dist.x(city));
+        int cr = row(dist.y(city));
+        double ringStep = Math.min(cellW, cellH);
+        int maxRing = Math.max(cols, rows);
+
+        // Max-heap sobre (distância, cidade), depois extraído por ordem crescente
+        for (int ring = 0; ring <= maxRing; ring++) {
+            if ((ring - 1) * ringStep >= radius) break;
+
+            for (int r = cr - ring; r <= cr + ring; r++) {
+                if (r < 0 || r >= rows) continue;
+                boolean edgeRow = (r == cr - ring || r == cr + ring);
+                int step = edgeRow ? 1 : 2 * ring;
+                for (int c = cc - ring; c <= cc + ring; c += Math.max(1, step)) {
+                    if (c < 0 || c >= cols) continue;
+                    int cell = cellIndex(c, r);
+                    for (int s = cellStart[cell]; s < cellStart[cell + 1]; s++) {
+                        int other = cellItems[s];
+                        if (other == city) continue;
+                        double d = dist.dist(city, other);
+                        if (d >= radius) continue;
+                        distances[size] = d;
+                        out[size] = other;
+                        siftUp(distances, out, size++);
+                    }
+                }
+            }
+        }
+
+        for (int s = size - 1; s > 0; s--) {
+            swap(distances, out, 0, s);
+            siftDown(distances, out, s);
+        }
+        return size;
+    }
+
+    /**
+     * Procura, em cada um dos quatro quadrantes à volta de uma cidade, os perQuadrant vizinhos
+     * mais próximos. Os quadrantes são semiabertos (dx &gt; 0, dy &gt;= 0), (dx &lt;= 0, dy &gt; 0),
+     * (dx &lt; 0, dy &lt;= 0) e (dx &gt;= 0, dy &lt; 0); as cidades com as mesmas coordenadas não
+     * pertencem a nenhum. Um quadrante fica resolvido quando tem perQuadrant vizinhos mais próximos
+     * que o anel seguinte ou quando o anel já saiu da grelha desse lado.
+     *
+     * @param city        Cidade de referência.
+     * @param perQuadrant Número de vizinhos pretendido por quadrante.
+     * @param out         Array de saída com pelo menos 4 * perQuadrant posições; fica agrupado por
+     *                    quadrante e, dentro de cada um, por distância crescente.
+     * @return Número de vizinhos efetivamente encontrados.
+     */
+    public int quadrantNearest(int city, int perQuadrant, int[] out) {
+        if (perQuadrant <= 0) return 0;
+        double[] bestD = new double[4 * perQuadrant];
+        int[] bestC = new int[4 * perQuadrant];
+        int[] size = new int[4];
+
+        double cx = dist.x(city), cy = dist.y(city);
+        int cc = col(cx);
+        int cr = row(cy);
+        double ringStep = Math.min(cellW, cellH);
+        int maxRing = Math.max(cols, rows);
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            if (ring > 0 && resolved(size, bestD, perQuadrant, (ring - 1) * ringStep, cc, cr, ring)) break;
+
+            for (int r = cr - ring; r <= cr + ring; r++) {
+                if (r < 0 || r >= rows) continue;
+                boolean edgeRow = (r == cr - ring || r == cr + ring);
+                int step = edgeRow ? 1 : 2 * ring;
+                for (int c = cc - ring; c <= cc + ring; c += Math.max(1, step)) {
+                    if (c < 0 || c >= cols) continue;
+                    int cell = cellIndex(c, r);
+                    for (int s = cellStart[cell]; s < cellStart[cell + 1]; s++) {
+                        int other = cellItems[s];
+                        int q = quadrant(dist.x(other) - cx, dist.y(other) - cy);
+                        if (q < 0) continue;
+                        double d = dist.dist(city, other);
+                        int base = q * perQuadrant;
+                        int p = size[q];
+                        if (p == perQuadrant) {
+                            if (d >= bestD[base + p - 1]) continue;
+                            p--;
+                        } else {
+                            size[q]++;
+                        }
+                        while (p > 0 && bestD[base + p - 1] > d) {
+                            bestD[base + p] = bestD[base + p - 1];
+                            bestC[base + p] = bestC[base + p - 1];
+                            p--;
+                        }
+                        bestD[base + p] = d;
+                        bestC[base + p] = other;
+                    }
+                }
+            }
+        }
+
+        int found = 0;
+        for (int q = 0; q < 4; q++) {
+            for (int i = 0; i < size[q]; i++) {
+                out[found++] = bestC[q * perQuadrant + i];
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @return Quadrante (0 a 3) do deslocamento (dx, dy), ou -1 se for nulo.
+     */
+    private static int quadrant(double dx, double dy) {
+        if (dx > 0 && dy >= 0) return 0;
+        if (dx <= 0 && dy > 0) return 1;
+        if (dx < 0 && dy <= 0) return 2;
+        if (dx >= 0 && dy < 0) return 3;
+        return -1;
+    }
+
+    /**
+     * Indica se todos os quadrantes estão resolvidos antes de visitar o anel ring: cada um ou tem
+     * perQuadrant vizinhos a distância não superior a reach, ou não tem mais células na grelha.
+     */
+    private boolean resolved(int[] size, double[] bestD, int perQuadrant, double reach, int cc, int cr, int ring) {
+        boolean right = cc + ring < cols, left = cc - ring >= 0;
+        boolean up = cr + ring < rows, down = cr - ring >= 0;
+        // Células ainda por visitar em cada quadrante (o anel pode avançar por qualquer dos dois lados)
+        boolean[] open = {right || up, left || up, left || down, right || down};
+        for (int q = 0; q < 4; q++) {
+            if (!open[q]) continue;
+            if (size[q] < perQuadrant || bestD[q * perQuadrant + perQuadrant - 1] > reach) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return Número de cidades em cada célula (cópia), para ser decrementado por quem
+     *         vai excluindo cidades em {@link #nearest(int, long[], int[])}.
+     */
+    public int[] cellCounts() {
+        int cells = cols * rows;
+        int[] counts = new int[cells];
+        for (int c = 0; c < cells; c++) {
+            counts[c] = cellStart[c + 1] - cellStart[c];
+        }
+        return counts;
+    }
+
+    /**
+     * @param city Cidade.
+     * @return Célula onde a cidade se encontra.
+     */
+    public int cellOf(int city) {
+        return cellIndex(col(dist.x(city)), row(dist.y(city)));
+    }
+
+    /**
+     * Procura a cidade mais próxima de city que não esteja excluída.
+     *
+     * @param city     Cidade de referência.
+     * @param excluded Conjunto de cidades excluídas (bitset: bit c da palavra c >> 6).
+     * @param counts   Número de cidades não excluídas por célula (ver {@link #cellCounts()});
+     *                 as células vazias são saltadas.
+     * @return Cidade mais próxima não excluída, ou -1 se não houver nenhuma.
+     */
+    public int nearest(int city, long[] excluded, int[] counts) {
+        int best = -1;
+        double bestD = Double.POSITIVE_INFINITY;
+
+        int cc = col(dist.x(city));
+        int cr = row(dist.y(city));
+        double ringStep = Math.min(cellW, cellH);
+        int maxRing = Math.max(cols, rows);
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            if (best >= 0 && bestD <= (ring - 1) * ringStep) break;
+
+            for (int r = cr - ring; r <= cr + ring; r++) {
+                if (r < 0 || r >= rows) continue;
+                boolean edgeRow = (r == cr - ring || r == cr + ring);
+                int step = edgeRow ? 1 : 2 * ring;
+                for (int c = cc - ring; c <= cc + ring; c += Math.max(1, step)) {
+                    if (c < 0 || c >= cols) continue;
+                    int cell = cellIndex(c, r);
+                    if (counts[cell] == 0) continue;
+                    for (int s = cellStart[cell]; s < cellStart[cell + 1]; s++) {
+                        int other = cellItems[s];
+                        if ((excluded[other >> 6] & (1L << other)) != 0) continue;
+                        double d = dist.dist(city, other);
+                        if (d < bestD || (d == bestD && other < best)) {
+                            bestD = d;
+                            best = other;
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private static void siftUp(double[] d, int[] c, int i) {
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (d[parent] >= d[i]) break;
+            swap(d, c, parent, i);
+            i = parent;
+        }
+    }
+
+    private static void siftDown(double[] d, int[] c, int size) {
+        int i = 0;
+        while (true) {
+            int l = 2 * i + 1;
+            if (l >= size) break;
+            int largest = (l + 1 < size && d[l + 1] > d[l]) ? l + 1 : l;
+            if (d[i] >= d[largest]) break;
+            swap(d, c, i, largest);
+            i = largest;
+        }
+    }
+
+    private static void swap(double[] d, int[] c, int i, int j) {
+        double td = d[i];
+        d[i] = d[j];
+        d[j] = td;
+        int tc = c[i];
+        c[i] = c[j];
+        c[j] = tc;
+    }
+}
@@ -0,0 +1,27 @@
+package com.grupo5.algorithms.utils;
+
+/**
+ * Operações de {@link DistanceKernels} com implementação vetorial.
+ *
+ * A implementação ({@code VectorDistanceKernels}) está no conjunto de fontes {@code vector}, que é
+ * o único compilado com o módulo {@code jdk.incubator.vector}; o código principal só conhece esta
+ * interface e compila sem o módulo. Cada método tem o contrato do método com o mesmo nome em
+ * {@link DistanceKernels}.
+ */
+interface VectorKernels {
+
+    int nearest(double[] x, double[] y, int from, int to, double px, double py);
+
+    void relaxMinSquared(double[] x, double[] y, int from, int to, double px, double py, double[] minSq);
+
+    void insertionCosts(double[] tx, double[] ty, int edges, double px, double py, double[] out);
+
+    void edgeInsertionCosts(double[] x, double[] y, int from, int to,
+                            double ax, double ay, double bx, double by, double[] out);
+
+    void twoOptGains(double[] tx, double[] ty, int i, int from, int to, double[] out);
+
+    int argMin(double[] v, int from, int to);
+
+    int argMax(double[] v, int from, int to);
+}
@@ -0,0 +1,73 @@
+package com.grupo5.algorithms.constructiveHeuristics;
+
+import com.grupo5.algorithms.utils.Utils;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static com.grupo5.algorithms.constructiveHeuristics.TourAssertions.assertValidOnSmallInstances;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * O {@link BitonicTour} devolve um tour válido em instâncias pequenas e degeneradas e, com uma
+ * linha de estado, tem de dar o mesmo custo que a programação dinâmica clássica com a tabela
+ * O(n²) completa: b[i][j] é o custo mínimo de dois caminhos disjuntos que
+ * partem de p[0], cobrem p[0..j] e terminam em p[i] e p[j] (i &lt; j).
+ */
+class BitonicTourTest {
+
+    private static final double EPS = 1e-6;
+
+    @Test
+    void bitonicTour() {
+        assertValidOnSmallInstances("BitonicTour", BitonicTour::bitonicTour);
+    }
+
+    @Test
+    void matchesFullTableDynamicProgramming() {
+        Random random = new Random(13);
+        for (int trial = 0; trial < 500; trial++) {
+            int n = 4 + random.nextInt(60);
+            // Coordenadas pequenas, para haver empates em x e pontos repetidos
+            int range = trial % 2 == 0 ? 20 : 1000;
+            double[][] points = new double[n][];
+            List<Utils.City> cities = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                points[i] = new double[]{random.nextInt(range), random.nextInt(range)};
+                cities.add(new Utils.City(i, points[i][0], points[i][1]));
+            }
+
+            double expected = fullTable(points);
+            double actual = Utils.calculatePathCost(BitonicTour.bitonicTour(cities));
+            assertEquals(expected, actual, EPS, "instância " + trial + " com " + n + " cidades");
+        }
+    }
+
+    private static double fullTable(double[][] points) {
+        int n = points.length;
+        double[][] p = points.clone();
+        Arrays.sort(p, (a, b) -> a[0] != b[0] ? Double.compare(a[0], b[0]) : Double.compare(a[1], b[1]));
+
+        double[][] b = new double[n][n];
+        b[0][1] = dist(p, 0, 1);
+        for (int j = 2; j < n; j++) {
+            for (int i = 0; i < j - 1; i++) {
+                b[i][j] = b[i][j - 1] + dist(p, j - 1, j);
+            }
+            b[j - 1][j] = Double.POSITIVE_INFINITY;
+            for (int k = 0; k < j - 1; k++) {
+                b[j - 1][j] = Math.min(b[j - 1][j], b[k][j - 1] + dist(p, k, j));
+            }
+        }
+        return b[n - 2][n - 1] + dist(p, n - 2, n - 1);
+    }
+
+    private static double dist(double[][] p, int a, int b) {
+        double dx = p[a][0] - p[b][0];
+        double dy = p[a][1] - p[b][1];
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+}
@@ -0,0 +1,67 @@
+package com.grupo5.algorithms.constructiveHeuristics;
+
+import com.grupo5.algorithms.utils.DistanceOracle;
+import com.grupo5.algorithms.utils.Utils;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * O emparelhamento de {@link BlossomMatching} tem de ser perfeito e ter o custo mínimo, calculado
+ * por programação dinâmica sobre subconjuntos em instâncias até 16 cidades.
+ */
+class BlossomMatchingTest {
+
+    @Test
+    void matchesSubsetDynamicProgramming() {
+        Random random = new Random(1);
+        for (int trial = 0; trial < 1500; trial++) {
+            int m = 2 * (1 + random.nextInt(8));
+            int mode = trial % 3;
+            List<Utils.City> cities = new ArrayList<>(m);
+            for (int i = 0; i < m; i++) {
+                // Pontos gerais, numa grelha pequena (com repetições) ou alinhados
+                double x = mode == 0 ? random.nextDouble() * 100 : mode == 1 ? random.nextInt(4) : random.nextInt(20);
+                double y = mode == 0 ? random.nextDouble() * 100 : mode == 1 ? random.nextInt(3) : 0;
+                cities.add(new Utils.City(i + 1, x, y));
+            }
+            DistanceOracle dist = new DistanceOracle(cities);
+
+            int[] mate = BlossomMatching.minimumPerfectMatching(dist);
+            double cost = 0;
+            for (int i = 0; i < m; i++) {
+                assertNotEquals(i, mate[i], "cidade emparelhada consigo própria");
+                assertEquals(i, mate[mate[i]], "emparelhamento não simétrico");
+                if (i < mate[i]) cost += dist.dist(i, mate[i]);
+            }
+            double optimum = optimum(dist);
+            assertEquals(optimum, cost, 1e-6 * Math.max(1, optimum), "instância " + trial);
+        }
+    }
+
+    /** Custo mínimo de um emparelhamento perfeito: o menor índice livre emparelha-se com cada um dos outros. */
+    private static double optimum(DistanceOracle dist) {
+        int m = dist.size();
+        double[] best = new double[1 << m];
+        Arrays.fill(best, Double.POSITIVE_INFINITY);
+        best[0] = 0;
+        for (int s = 0; s < (1 << m); s++) {
+            if (best[s] == Double.POSITIVE_INFINITY) continue;
+            int i = Integer.numberOfTrailingZeros(~s);
+            if (i >= m) continue;
+            for (int j = i + 1; j < m; j++) {
+                if ((s >> j & 1) == 0) {
+                    int t = s | 1 << i | 1 << j;
+                    best[t] = Math.min(best[t], best[s] + dist.dist(i, j));
+                }
+            }
+        }
+        return best[(1 << m) - 1];
+    }
+}
@@ -0,0 +1,16 @@
+package com.grupo5.algorithms.constructiveHeuristics;
+
+import org.junit.jupiter.api.Test;
+
+import static com.grupo5.algorithms.constructiveHeuristics.TourAssertions.assertValidOnSmallInstances;
+
+/**
+ * A heurística de Christofides devolve um tour válido em instâncias pequenas e degeneradas.
+ */
+class ChristofidesTest {
+
+    @Test
+    void christofides() {
+        assertValidOnSmallInstances("Christofides", Christofides::christofides);
+    }
+}
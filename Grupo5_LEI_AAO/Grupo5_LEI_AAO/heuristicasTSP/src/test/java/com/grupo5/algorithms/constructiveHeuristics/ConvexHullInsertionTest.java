@@ -0,0 +1,17 @@
+package com.grupo5.algorithms.constructiveHeuristics;
+
+import org.junit.jupiter.api.Test;
+
+import static com.grupo5.algorithms.constructiveHeuristics.TourAssertions.assertValidOnSmallInstances;
+
+/**
+ * A inserção a partir do invólucro convexo devolve um tour válido em instâncias pequenas e
+ * degeneradas.
+ */
+class ConvexHullInsertionTest {
+
+    @Test
+    void convexHullInsertion() {
+        assertValidOnSmallInstances("ConvexHullInsertion", ConvexHullInsertion::convexHullInsertion);
+    }
+}
@@ -0,0 +1,16 @@
+package com.grupo5.algorithms.constructiveHeuristics;
+
+import org.junit.jupiter.api.Test;
+
+import static com.grupo5.algorithms.constructiveHeuristics.TourAssertions.assertValidOnSmallInstances;
+
+/**
+ * O {@link GreedyEdge} devolve um tour válido em instâncias pequenas e degeneradas.
+ */
+class GreedyEdgeTest {
+
+    @Test
+    void greedyEdge() {
+        assertValidOnSmallInstances("GreedyEdge", GreedyEdge::greedyEdge);
+    }
+}
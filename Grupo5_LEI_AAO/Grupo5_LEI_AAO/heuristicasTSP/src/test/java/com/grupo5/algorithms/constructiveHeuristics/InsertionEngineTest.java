@@ -0,0 +1,34 @@
+package com.grupo5.algorithms.constructiveHeuristics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static com.grupo5.algorithms.constructiveHeuristics.TourAssertions.assertValidOnSmallInstances;
+
+/**
+ * As quatro políticas do {@link InsertionEngine} devolvem um tour válido em instâncias pequenas
+ * e degeneradas.
+ */
+class InsertionEngineTest {
+
+    @Test
+    void cheapestInsertion() {
+        assertValidOnSmallInstances("CheapestInsertion", CheapestInsertion::cheapestInsertion);
+    }
+
+    @Test
+    void farthestInsertion() {
+        assertValidOnSmallInstances("FarthestInsertion", FarthestInsertion::farthestInsertion);
+    }
+
+    @Test
+    void nearestInsertion() {
+        assertValidOnSmallInstances("NearestInsertion", NearestInsertion::nearestInsertion);
+    }
+
+    @Test
+    void randomInsertion() {
+        assertValidOnSmallInstances("RandomInsertion", c -> RandomInsertion.randomInsertion(c, new Random(1)));
+    }
+}
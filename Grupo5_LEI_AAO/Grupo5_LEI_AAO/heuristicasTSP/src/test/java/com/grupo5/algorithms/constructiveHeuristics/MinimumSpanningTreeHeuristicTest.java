@@ -0,0 +1,17 @@
+package com.grupo5.algorithms.constructiveHeuristics;
+
+import org.junit.jupiter.api.Test;
+
+import static com.grupo5.algorithms.constructiveHeuristics.TourAssertions.assertValidOnSmallInstances;
+
+/**
+ * A heurística da árvore geradora mínima devolve um tour válido em instâncias pequenas e
+ * degeneradas.
+ */
+class MinimumSpanningTreeHeuristicTest {
+
+    @Test
+    void mstHeuristic() {
+        assertValidOnSmallInstances("MinimumSpanningTreeHeuristic", MinimumSpanningTreeHeuristic::mstHeuristic);
+    }
+}
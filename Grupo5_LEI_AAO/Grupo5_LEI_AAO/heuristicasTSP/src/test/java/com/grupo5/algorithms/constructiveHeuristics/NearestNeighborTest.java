@@ -0,0 +1,28 @@
+package com.grupo5.algorithms.constructiveHeuristics;
+
+import org.junit.jupiter.api.Test;
+
+import static com.grupo5.algorithms.constructiveHeuristics.TourAssertions.assertValidOnSmallInstances;
+
+/**
+ * O vizinho mais próximo, com uma partida, com algumas ou com todas em paralelo, devolve um tour
+ * válido em instâncias pequenas e degeneradas.
+ */
+class NearestNeighborTest {
+
+    @Test
+    void nearestNeighborTour() {
+        assertValidOnSmallInstances("NearestNeighbor", NearestNeighbor::nearestNeighborTour);
+    }
+
+    @Test
+    void multiStartNearestNeighbor() {
+        assertValidOnSmallInstances("MultiStartNearestNeighbor", NearestNeighbor::multiStartNearestNeighbor);
+    }
+
+    @Test
+    void multiStartNearestNeighborFromEveryCity() {
+        assertValidOnSmallInstances("MultiStartNearestNeighbor (todas as partidas)",
+                cities -> NearestNeighbor.multiStartNearestNeighbor(cities, cities.size()));
+    }
+}
@@ -0,0 +1,18 @@
+package com.grupo5.algorithms.constructiveHeuristics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static com.grupo5.algorithms.constructiveHeuristics.TourAssertions.assertValidOnSmallInstances;
+
+/**
+ * O caminho aleatório com semente devolve um tour válido em instâncias pequenas e degeneradas.
+ */
+class RandomPathConstructionTest {
+
+    @Test
+    void randomPathTour() {
+        assertValidOnSmallInstances("RandomPathConstruction", c -> RandomPathConstruction.randomPathTour(c, new Random(1)));
+    }
+}
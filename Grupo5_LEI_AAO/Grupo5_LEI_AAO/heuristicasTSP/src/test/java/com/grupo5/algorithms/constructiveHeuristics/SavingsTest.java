@@ -0,0 +1,16 @@
+package com.grupo5.algorithms.constructiveHeuristics;
+
+import org.junit.jupiter.api.Test;
+
+import static com.grupo5.algorithms.constructiveHeuristics.TourAssertions.assertValidOnSmallInstances;
+
+/**
+ * O algoritmo das poupanças devolve um tour válido em instâncias pequenas e degeneradas.
+ */
+class SavingsTest {
+
+    @Test
+    void savings() {
+        assertValidOnSmallInstances("Savings", Savings::savings);
+    }
+}
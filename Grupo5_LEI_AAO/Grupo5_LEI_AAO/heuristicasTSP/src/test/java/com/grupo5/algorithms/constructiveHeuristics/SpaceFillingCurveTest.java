@@ -0,0 +1,16 @@
+package com.grupo5.algorithms.constructiveHeuristics;
+
+import org.junit.jupiter.api.Test;
+
+import static com.grupo5.algorithms.constructiveHeuristics.TourAssertions.assertValidOnSmallInstances;
+
+/**
+ * O tour pela curva de Hilbert é válido em instâncias pequenas e degeneradas.
+ */
+class SpaceFillingCurveTest {
+
+    @Test
+    void hilbertTour() {
+        assertValidOnSmallInstances("SpaceFillingCurve", SpaceFillingCurve::hilbertTour);
+    }
+}
@@ -0,0 +1,99 @@
+package com.grupo5.algorithms.constructiveHeuristics;
+
+import com.grupo5.algorithms.utils.Utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Verificações comuns aos testes das heurísticas construtivas: o tour devolvido tem de ser um ciclo
+ * fechado que visita cada cidade exatamente uma vez, incluindo em instâncias muito pequenas, com
+ * cidades repetidas ou alinhadas.
+ */
+final class TourAssertions {
+
+    private TourAssertions() {
+    }
+
+    /**
+     * Corre a heurística em instâncias de 1 a 8 cidades, com todas as cidades no mesmo ponto, com
+     * pontos repetidos misturados com pontos distintos e com cidades alinhadas.
+     *
+     * @param name      Nome da heurística, para as mensagens.
+     * @param heuristic Heurística a testar.
+     */
+    static void assertValidOnSmallInstances(String name, UnaryOperator<List<Utils.City>> heuristic) {
+        Random random = new Random(7);
+        for (int n = 1; n <= 8; n++) {
+            for (int trial = 0; trial < 5; trial++) {
+                List<Utils.City> cities = new ArrayList<>(n);
+                for (int i = 0; i < n; i++) {
+                    cities.add(new Utils.City(i, random.nextInt(10), random.nextInt(10)));
+                }
+                assertClosedPermutation(name, cities, heuristic);
+            }
+        }
+
+        // Todas as cidades no mesmo ponto
+        for (int n = 1; n <= 6; n++) {
+            List<Utils.City> cities = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) cities.add(new Utils.City(i, 3, 3));
+            assertClosedPermutation(name, cities, heuristic);
+        }
+
+        // Pontos repetidos misturados com pontos distintos
+        for (int trial = 0; trial < 5; trial++) {
+            int[] x = new int[30];
+            int[] y = new int[30];
+            List<Utils.City> cities = new ArrayList<>(30);
+            for (int i = 0; i < 30; i++) {
+                int source = i < 20 ? i : random.nextInt(20);
+                if (source == i) {
+                    x[i] = random.nextInt(10);
+                    y[i] = random.nextInt(10);
+                }
+                cities.add(new Utils.City(i, x[source], y[source]));
+            }
+            Collections.shuffle(cities, random);
+            assertClosedPermutation(name, cities, heuristic);
+        }
+
+        // Cidades alinhadas
+        List<Utils.City> cities = new ArrayList<>();
+        for (int i = 0; i < 12; i++) cities.add(new Utils.City(i, 2 * i, 5));
+        Collections.shuffle(cities, new Random(3));
+        assertClosedPermutation(name, cities, heuristic);
+    }
+
+    /**
+     * Verifica que o tour de uma instância é fechado e visita cada cidade (o próprio objeto) uma vez.
+     *
+     * @param name      Nome da heurística, para as mensagens.
+     * @param cities    Instância.
+     * @param heuristic Heurística a testar.
+     */
+    static void assertClosedPermutation(String name, List<Utils.City> cities,
+                                        UnaryOperator<List<Utils.City>> heuristic) {
+        List<Utils.City> tour = heuristic.apply(new ArrayList<>(cities));
+        int n = cities.size();
+        assertNotNull(tour, name);
+        assertEquals(n + 1, tour.size(), name + ": tamanho do tour com " + n + " cidades");
+        assertSame(tour.get(0), tour.get(n), name + ": o tour não é fechado");
+
+        Map<Utils.City, Integer> visits = new IdentityHashMap<>();
+        for (int p = 0; p < n; p++) visits.merge(tour.get(p), 1, Integer::sum);
+        for (Utils.City city : cities) {
+            assertEquals(1, visits.getOrDefault(city, 0), name + ": cidade visitada " + visits.get(city) + " vezes");
+        }
+        assertEquals(n, visits.size(), name + ": o tour contém cidades que não estão na instância");
+    }
+}
@@ -0,0 +1,239 @@
+package com.grupo5.algorithms.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Movimentos k-opt do {@link ArrayTour}, comparados com uma reconstrução por força bruta: retiram-se
+ * as arestas removidas do conjunto de arestas do tour, juntam-se as acrescentadas e verifica-se se o
+ * resultado é um único ciclo. O {@link ArrayTour#rollback()} tem de repor a ordem e o comprimento
+ * mantido do último {@link ArrayTour#mark()}.
+ */
+class ArrayTourTest {
+
+    private static final double EPS = 1e-6;
+
+    @Test
+    void kOptMatchesEdgeSetRebuild() {
+        Random random = new Random(3);
+        int feasible = 0;
+        for (int trial = 0; trial < 20000; trial++) {
+            int n = 8 + random.nextInt(25);
+            int k = 2 + random.nextInt(4);
+            ArrayTour tour = scrambledTour(n, random);
+            DistanceOracle dist = new DistanceOracle(randomCities(n, random));
+            tour.trackLength(dist);
+            int[] t = randomMove(tour, k, random);
+
+            List<List<Integer>> expected = rebuild(tour, t, k);
+            boolean cycle = isHamiltonianCycle(expected);
+            assertEquals(cycle, tour.isFeasibleKOpt(t, k), "viabilidade do movimento " + k + "-opt");
+            if (!cycle) {
+                assertThrows(IllegalArgumentException.class, () -> tour.applyKOpt(t, k, new int[8 * k]));
+                continue;
+            }
+            feasible++;
+
+            Set<Long> before = edges(tour);
+            double lengthBefore = tour.length(dist);
+            int[] flips = new int[8 * k];
+            int count = tour.applyKOpt(t, k, flips);
+            assertEquals(edges(expected), edges(tour), "arestas depois do movimento " + k + "-opt");
+            assertConsistent(tour);
+            assertEquals(tour.length(dist), tour.trackedLength(), EPS);
+
+            tour.undoFlips(flips, count);
+            assertEquals(before, edges(tour), "arestas depois de desfazer o movimento");
+            assertEquals(lengthBefore, tour.trackedLength(), EPS);
+        }
+        // O sorteio tem de exercitar os dois ramos
+        assertTrue(feasible > 1000);
+    }
+
+    @Test
+    void rollbackRestoresMarkedTourAndLength() {
+        Random random = new Random(5);
+        for (int trial = 0; trial < 2000; trial++) {
+            int n = 5 + random.nextInt(40);
+            ArrayTour tour = scrambledTour(n, random);
+            DistanceOracle dist = new DistanceOracle(randomCities(n, random));
+            tour.trackLength(dist);
+
+            // As alterações anteriores ao ponto de restauro mantêm-se
+            randomChanges(tour, random);
+            tour.mark();
+            int[] marked = tour.toArray();
+            double markedLength = tour.trackedLength();
+
+            randomChanges(tour, random);
+            tour.rollback();
+            assertArrayEquals(marked, tour.toArray(), "ordem depois de rollback");
+            assertConsistent(tour);
+            assertEquals(markedLength, tour.trackedLength(), EPS);
+            assertEquals(tour.length(dist), tour.trackedLength(), EPS);
+
+            // rollback volta a marcar: um segundo rollback só desfaz o que vem depois do primeiro
+            randomChanges(tour, random);
+            tour.rollback();
+            tour.rollback();
+            assertArrayEquals(marked, tour.toArray(), "ordem depois de dois rollbacks");
+            assertEquals(markedLength, tour.trackedLength(), EPS);
+        }
+    }
+
+    /** Inversões, movimentos 2-opt e movimentos k-opt válidos, ao acaso. */
+    private static void randomChanges(ArrayTour tour, Random random) {
+        int n = tour.size();
+        int changes = random.nextInt(12);
+        for (int m = 0; m < changes; m++) {
+            switch (random.nextInt(3)) {
+                case 0:
+                    tour.reverse(random.nextInt(n), random.nextInt(n));
+                    break;
+                case 1: {
+                    int a = random.nextInt(n);
+                    int c = random.nextInt(n);
+                    if (c == a) break;
+                    if (random.nextBoolean()) {
+                        tour.twoOptMove(a, tour.next(a), c, tour.next(c));
+                    } else {
+                        tour.twoOptMove(a, tour.prev(a), c, tour.prev(c));
+                    }
+                    break;
+                }
+                default: {
+                    int k = 2 + random.nextInt(Math.min(4, n / 2 - 1));
+                    int[] t = randomMove(tour, k, random);
+                    if (tour.isFeasibleKOpt(t, k)) tour.applyKOpt(t, k);
+                    break;
+                }
+            }
+        }
+    }
+
+    /** Tour aleatório, com algumas inversões para variar o sentido dos segmentos no array. */
+    private static ArrayTour scrambledTour(int n, Random random) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        ArrayTour tour = new ArrayTour(order);
+        for (int r = 0; r < 3; r++) {
+            tour.reverse(random.nextInt(n), random.nextInt(n));
+        }
+        return tour;
+    }
+
+    private static List<Utils.City> randomCities(int n, Random random) {
+        List<Utils.City> cities = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            cities.add(new Utils.City(i, random.nextInt(100), random.nextInt(100)));
+        }
+        return cities;
+    }
+
+    /** k arestas distintas do tour, cada uma orientada num sentido ao acaso. */
+    private static int[] randomMove(ArrayTour tour, int k, Random random) {
+        int[] t = new int[2 * k];
+        Set<Integer> used = new HashSet<>();
+        for (int i = 0; i < k; i++) {
+            int c;
+            do {
+                c = random.nextInt(tour.size());
+            } while (!used.add(c));
+            int next = tour.next(c);
+            boolean forward = random.nextBoolean();
+            t[2 * i] = forward ? c : next;
+            t[2 * i + 1] = forward ? next : c;
+        }
+        return t;
+    }
+
+    /** Adjacências do grafo que resulta de trocar as arestas (t[2i], t[2i+1]) por (t[2i+1], t[2i+2]). */
+    private static List<List<Integer>> rebuild(ArrayTour tour, int[] t, int k) {
+        int n = tour.size();
+        List<List<Integer>> adjacency = new ArrayList<>(n);
+        for (int c = 0; c < n; c++) {
+            List<Integer> list = new ArrayList<>(2);
+            list.add(tour.prev(c));
+            list.add(tour.next(c));
+            adjacency.add(list);
+        }
+        for (int i = 0; i < k; i++) {
+            adjacency.get(t[2 * i]).remove((Integer) t[2 * i + 1]);
+            adjacency.get(t[2 * i + 1]).remove((Integer) t[2 * i]);
+        }
+        for (int i = 0; i < k; i++) {
+            int a = t[2 * i + 1];
+            int b = t[(2 * i + 2) % (2 * k)];
+            adjacency.get(a).add(b);
+            adjacency.get(b).add(a);
+        }
+        return adjacency;
+    }
+
+    private static boolean isHamiltonianCycle(List<List<Integer>> adjacency) {
+        int n = adjacency.size();
+        for (List<Integer> list : adjacency) {
+            if (list.size() != 2 || list.get(0).equals(list.get(1))) return false;
+        }
+        int previous = -1;
+        int current = 0;
+        int steps = 0;
+        do {
+            List<Integer> list = adjacency.get(current);
+            int next = list.get(0) != previous ? list.get(0) : list.get(1);
+            previous = current;
+            current = next;
+            steps++;
+        } while (current != 0 && steps <= n);
+        return steps == n;
+    }
+
+    /** As posições e a ordem são inversas uma da outra, e next/prev seguem a ordem. */
+    private static void assertConsistent(ArrayTour tour) {
+        int n = tour.size();
+        for (int p = 0; p < n; p++) {
+            int c = tour.cityAt(p);
+            assertEquals(p, tour.position(c));
+            assertEquals(tour.cityAt((p + 1) % n), tour.next(c));
+            assertEquals(tour.cityAt((p + n - 1) % n), tour.prev(c));
+        }
+    }
+
+    private static long key(int a, int b) {
+        return a < b ? ((long) a << 32) | b : ((long) b << 32) | a;
+    }
+
+    private static Set<Long> edges(ArrayTour tour) {
+        Set<Long> edges = new HashSet<>();
+        for (int c = 0; c < tour.size(); c++) {
+            edges.add(key(c, tour.next(c)));
+        }
+        return edges;
+    }
+
+    private static Set<Long> edges(List<List<Integer>> adjacency) {
+        Set<Long> edges = new HashSet<>();
+        for (int c = 0; c < adjacency.size(); c++) {
+            for (int d : adjacency.get(c)) {
+                edges.add(key(c, d));
+            }
+        }
+        return edges;
+    }
+}
@@ -0,0 +1,179 @@
+package com.grupo5.algorithms.utils;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Implementação vetorial (Vector API) de {@link DistanceKernels}.
+ *
+ * Fica no conjunto de fontes {@code vector}, o único compilado com o módulo
+ * {@code jdk.incubator.vector}, e é carregada por reflexão ({@link DistanceKernels}) só quando o
+ * módulo está presente; cada método processa o intervalo em blocos do tamanho preferido pelo
+ * processador e termina o resto de forma escalar.
+ */
+final class VectorDistanceKernels implements VectorKernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    VectorDistanceKernels() {
+    }
+
+    @Override
+    public int nearest(double[] x, double[] y, int from, int to, double px, double py) {
+        int best = -1;
+        double bestSq = Double.POSITIVE_INFINITY;
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += LANES) {
+            DoubleVector dx = DoubleVector.fromArray(SPECIES, x, i).sub(px);
+            DoubleVector dy = DoubleVector.fromArray(SPECIES, y, i).sub(py);
+            DoubleVector sq = dx.mul(dx).add(dy.mul(dy));
+            // Só se desce ao nível escalar quando o bloco contém um novo mínimo
+            if (sq.compare(VectorOperators.LT, bestSq).anyTrue()) {
+                double min = sq.reduceLanes(VectorOperators.MIN);
+                best = i + sq.compare(VectorOperators.EQ, min).firstTrue();
+                bestSq = min;
+            }
+        }
+        for (; i < to; i++) {
+            double dx = x[i] - px;
+            double dy = y[i] - py;
+            double sq = dx * dx + dy * dy;
+            if (sq < bestSq) {
+                bestSq = sq;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public void relaxMinSquared(double[] x, double[] y, int from, int to, double px, double py, double[] minSq) {
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += LANES) {
+            DoubleVector dx = DoubleVector.fromArray(SPECIES, x, i).sub(px);
+            DoubleVector dy = DoubleVector.fromArray(SPECIES, y, i).sub(py);
+            DoubleVector sq = dx.mul(dx).add(dy.mul(dy));
+            sq.min(DoubleVector.fromArray(SPECIES, minSq, i)).intoArray(minSq, i);
+        }
+        for (; i < to; i++) {
+            double dx = x[i] - px;
+            double dy = y[i] - py;
+            double sq = dx * dx + dy * dy;
+            if (sq < minSq[i]) minSq[i] = sq;
+        }
+    }
+
+    @Override
+    public void insertionCosts(double[] tx, double[] ty, int edges, double px, double py, double[] out) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(edges); i < bound; i += LANES) {
+            DoubleVector ax = DoubleVector.fromArray(SPECIES, tx, i);
+            DoubleVector ay = DoubleVector.fromArray(SPECIES, ty, i);
+            DoubleVector bx = DoubleVector.fromArray(SPECIES, tx, i + 1);
+            DoubleVector by = DoubleVector.fromArray(SPECIES, ty, i + 1);
+            distance(ax.sub(px), ay.sub(py))
+                    .add(distance(bx.sub(px), by.sub(py)))
+                    .sub(distance(ax.sub(bx), ay.sub(by)))
+                    .intoArray(out, i);
+        }
+        for (; i < edges; i++) {
+            out[i] = dist(tx[i], ty[i], px, py) + dist(px, py, tx[i + 1], ty[i + 1])
+                    - dist(tx[i], ty[i], tx[i + 1], ty[i + 1]);
+        }
+    }
+
+    @Override
+    public void edgeInsertionCosts(double[] x, double[] y, int from, int to,
+                                   double ax, double ay, double bx, double by, double[] out) {
+        double ab = dist(ax, ay, bx, by);
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += LANES) {
+            DoubleVector px = DoubleVector.fromArray(SPECIES, x, i);
+            DoubleVector py = DoubleVector.fromArray(SPECIES, y, i);
+            distance(px.sub(ax), py.sub(ay))
+                    .add(distance(px.sub(bx), py.sub(by)))
+                    .sub(ab)
+                    .intoArray(out, i);
+        }
+        for (; i < to; i++) {
+            out[i] = dist(ax, ay, x[i], y[i]) + dist(x[i], y[i], bx, by) - ab;
+        }
+    }
+
+    @Override
+    public void twoOptGains(double[] tx, double[] ty, int i, int from, int to, double[] out) {
+        double ax = tx[i - 1], ay = ty[i - 1];
+        double bx = tx[i], by = ty[i];
+        double ab = dist(ax, ay, bx, by);
+        int k = from;
+        for (int bound = from + SPECIES.loopBound(to - from); k < bound; k += LANES) {
+            DoubleVector cx = DoubleVector.fromArray(SPECIES, tx, k);
+            DoubleVector cy = DoubleVector.fromArray(SPECIES, ty, k);
+            DoubleVector dx = DoubleVector.fromArray(SPECIES, tx, k + 1);
+            DoubleVector dy = DoubleVector.fromArray(SPECIES, ty, k + 1);
+            DoubleVector.broadcast(SPECIES, ab)
+                    .add(distance(cx.sub(dx), cy.sub(dy)))
+                    .sub(distance(cx.sub(ax), cy.sub(ay)))
+                    .sub(distance(dx.sub(bx), dy.sub(by)))
+                    .intoArray(out, k);
+        }
+        for (; k < to; k++) {
+            out[k] = ab + dist(tx[k], ty[k], tx[k + 1], ty[k + 1])
+                    - dist(ax, ay, tx[k], ty[k]) - dist(bx, by, tx[k + 1], ty[k + 1]);
+        }
+    }
+
+    @Override
+    public int argMin(double[] v, int from, int to) {
+        int best = -1;
+        double min = Double.POSITIVE_INFINITY;
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += LANES) {
+            DoubleVector block = DoubleVector.fromArray(SPECIES, v, i);
+            if (block.compare(VectorOperators.LT, min).anyTrue()) {
+                min = block.reduceLanes(VectorOperators.MIN);
+                best = i + block.compare(VectorOperators.EQ, min).firstTrue();
+            }
+        }
+        for (; i < to; i++) {
+            if (v[i] < min) {
+                min = v[i];
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public int argMax(double[] v, int from, int to) {
+        int best = -1;
+        double max = Double.NEGATIVE_INFINITY;
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += LANES) {
+            DoubleVector block = DoubleVector.fromArray(SPECIES, v, i);
+            if (block.compare(VectorOperators.GT, max).anyTrue()) {
+                max = block.reduceLanes(VectorOperators.MAX);
+                best = i + block.compare(VectorOperators.EQ, max).firstTrue();
+            }
+        }
+        for (; i < to; i++) {
+            if (v[i] > max) {
+                max = v[i];
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private static DoubleVector distance(DoubleVector dx, DoubleVector dy) {
+        return dx.mul(dx).add(dy.mul(dy)).lanewise(VectorOperators.SQRT);
+    }
+
+    private static double dist(double ax, double ay, double bx, double by) {
+        double dx = ax - bx;
+        double dy = ay - by;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+}